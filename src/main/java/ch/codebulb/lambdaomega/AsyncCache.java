@@ -0,0 +1,272 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A loading cache whose loader returns a {@link Promise} rather than a value. Its entries are held by a {@link CacheMap}.<p/>
+ *
+ * Concurrent lookups of the same missing key share one in-flight {@link Promise}, so the loader is invoked only once per key.
+ * A failed load is not cached. If {@link CacheMap.Builder#refreshAfterWrite(long, java.util.concurrent.TimeUnit)} is set, an entry
+ * is reloaded in the background on the first lookup after the refresh interval while the lookup is still served the current value.
+ * {@link #getAll(Collection)} loads all missing keys with a single invocation of the bulk loader set with
+ * {@link #WithBulkLoader(Function)}.<p/>
+ *
+ * The loaders are never invoked while holding the cache's lock. This class is thread-safe.<p/>
+ *
+ * The constructor of this class is not visible; use the convenience {@link #asyncCache(Function, CacheMap.Builder)} method to create
+ * a new instance of this class.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class AsyncCache<K, V> {
+    private final Function<? super K, Promise<V>> loader;
+    private Function<? super List<K>, Promise<Map<K, V>>> bulkLoader;
+    private final CacheMap<K, Entry<V>> cache;
+    private final long refreshAfterWriteNanos;
+    private final LongSupplier ticker;
+
+    AsyncCache(Function<? super K, Promise<V>> loader, CacheMap.Builder builder) {
+        this.loader = loader;
+        this.cache = builder.build();
+        this.refreshAfterWriteNanos = builder.getRefreshAfterWriteNanos();
+        this.ticker = builder.getTicker();
+    }
+
+    /**
+     * Creates a new {@link AsyncCache} which loads missing values with the <code>loader</code> provided and holds them in a
+     * {@link CacheMap} built by the <code>builder</code> provided.
+     */
+    public static <K, V> AsyncCache<K, V> asyncCache(Function<? super K, Promise<V>> loader, CacheMap.Builder builder) {
+        return new AsyncCache<>(loader, builder);
+    }
+
+    /**
+     * Sets a loader used by {@link #getAll(Collection)} to load all missing keys at once. The {@link Map} it returns may
+     * omit keys which don't exist; these complete exceptionally with a {@link NoSuchElementException}.
+     */
+    public AsyncCache<K, V> WithBulkLoader(Function<? super List<K>, Promise<Map<K, V>>> bulkLoader) {
+        this.bulkLoader = bulkLoader;
+        return this;
+    }
+
+    /**
+     * Returns a {@link Promise} of the value for the <code>key</code> provided, loading it if it is not present.
+     */
+    public Promise<V> get(K key) {
+        Entry<V> entry;
+        boolean missing = false;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry == null) {
+                entry = insert(key);
+                missing = true;
+            }
+        }
+        if (missing) {
+            pipe(invoke(loader, key), entry.promise);
+        }
+        else {
+            refreshIfStale(key, entry);
+        }
+        return entry.promise;
+    }
+
+    /**
+     * @see #getAll(Collection)
+     */
+    public Promise<Map<K, V>> getAll(K... keys) {
+        return getAll(Arrays.asList(keys));
+    }
+
+    /**
+     * Returns a {@link Promise} of the values for the <code>keys</code> provided, in iteration order. The keys which are not present
+     * are loaded with a single invocation of the bulk loader if one is set, and individually otherwise.
+     */
+    public Promise<Map<K, V>> getAll(Collection<? extends K> keys) {
+        Map<K, Promise<V>> promises = new LinkedHashMap<>();
+        Map<K, Promise<V>> missing = new LinkedHashMap<>();
+        Map<K, Entry<V>> present = new LinkedHashMap<>();
+        synchronized (cache) {
+            for (K key : keys) {
+                if (promises.containsKey(key)) {
+                    continue;
+                }
+                Entry<V> entry = cache.get(key);
+                if (entry != null) {
+                    present.put(key, entry);
+                }
+                else {
+                    entry = insert(key);
+                    missing.put(key, entry.promise);
+                }
+                promises.put(key, entry.promise);
+            }
+        }
+        present.forEach(this::refreshIfStale);
+        if (!missing.isEmpty()) {
+            if (bulkLoader != null) {
+                invoke(bulkLoader, new ArrayList<>(missing.keySet())).completed((values, ex) -> {
+                    missing.forEach((key, promise) -> {
+                        if (ex != null) {
+                            promise.completeExceptionally(ex);
+                        }
+                        else if (values.containsKey(key)) {
+                            promise.complete(values.get(key));
+                        }
+                        else {
+                            promise.completeExceptionally(new NoSuchElementException("Bulk loader didn't return key " + key));
+                        }
+                    });
+                });
+            }
+            else {
+                missing.forEach((key, promise) -> pipe(invoke(loader, key), promise));
+            }
+        }
+        List<K> keyList = new ArrayList<>(promises.keySet());
+        Promise<V>[] all = promises.values().toArray(new Promise[promises.size()]);
+        return Promise.allOf(all).completed((List<V> values) -> {
+            Map<K, V> ret = new LinkedHashMap<>();
+            for (int i = 0; i < keyList.size(); i++) {
+                ret.put(keyList.get(i), values.get(i));
+            }
+            return ret;
+        });
+    }
+
+    /**
+     * Returns the {@link Promise} of the value for the <code>key</code> provided if it is present, or <code>null</code> otherwise.
+     */
+    public Promise<V> getIfPresent(K key) {
+        Entry<V> entry = cache.get(key);
+        return entry != null ? entry.promise : null;
+    }
+
+    /**
+     * Sets the value for the <code>key</code> provided, replacing any value or load in progress.
+     */
+    public void put(K key, V value) {
+        Promise<V> promise = new Promise<>();
+        promise.complete(value);
+        cache.put(key, new Entry<>(promise, ticker.getAsLong()));
+    }
+
+    /**
+     * Removes the value for the <code>key</code> provided.
+     */
+    public void invalidate(K key) {
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @see CacheMap#sketchLength()
+     */
+    int sketchLength() {
+        return cache.sketchLength();
+    }
+
+    /**
+     * @see CacheMap#frequency(Object)
+     */
+    int frequency(K key) {
+        return cache.frequency(key);
+    }
+
+    /**
+     * @see CacheMap#stats()
+     */
+    public CacheMap.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Inserts a new entry whose {@link Promise} the caller must complete. Must be invoked while holding the lock.
+     */
+    private Entry<V> insert(K key) {
+        Entry<V> entry = new Entry<>(new Promise<>(), ticker.getAsLong());
+        cache.put(key, entry);
+        // don't cache failures
+        entry.promise.completed((value, ex) -> {
+            if (ex != null) {
+                cache.remove(key, entry);
+            }
+        });
+        return entry;
+    }
+
+    /**
+     * Starts reloading the <code>entry</code> provided if it is older than the refresh interval.
+     */
+    private void refreshIfStale(K key, Entry<V> entry) {
+        if (refreshAfterWriteNanos <= 0 || !entry.promise.isDone() || entry.promise.isCompletedExceptionally()
+                || ticker.getAsLong() - entry.writeTime < refreshAfterWriteNanos) {
+            return;
+        }
+        synchronized (cache) {
+            if (entry.refreshing) {
+                return;
+            }
+            entry.refreshing = true;
+        }
+        invoke(loader, key).completed((value, ex) -> {
+            synchronized (cache) {
+                entry.refreshing = false;
+                if (ex == null) {
+                    Promise<V> promise = new Promise<>();
+                    promise.complete(value);
+                    cache.replace(key, entry, new Entry<>(promise, ticker.getAsLong()));
+                }
+            }
+        });
+    }
+
+    private static <T, R> Promise<R> invoke(Function<? super T, Promise<R>> function, T argument) {
+        try {
+            Promise<R> ret = function.apply(argument);
+            if (ret == null) {
+                throw new NullPointerException("Loader returned null for " + argument);
+            }
+            return ret;
+        }
+        catch (RuntimeException ex) {
+            Promise<R> ret = new Promise<>();
+            ret.completeExceptionally(ex);
+            return ret;
+        }
+    }
+
+    private static <T> void pipe(Promise<T> source, Promise<T> target) {
+        source.completed((value, ex) -> {
+            if (ex != null) {
+                target.completeExceptionally(ex);
+            }
+            else {
+                target.complete(value);
+            }
+        });
+    }
+
+    private static final class Entry<V> {
+        private final Promise<V> promise;
+        private final long writeTime;
+        private boolean refreshing;
+
+        private Entry(Promise<V> promise, long writeTime) {
+            this.promise = promise;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link LinkedHashMap} which additionally maintains a reverse index from each value to its keys, so that looking up the keys
+ * of a value is an O(1) operation. The index is updated on every modification, including those through the views.
+ *
+ * @see M#Bidirectional()
+ */
+class BidirectionalMap<K, V> extends AbstractMap<K, V> {
+    private final Map<K, V> forward = new LinkedHashMap<>();
+    private final Map<V, Set<K>> reverse = new HashMap<>();
+    private Set<Entry<K, V>> entrySet;
+
+    BidirectionalMap(Map<? extends K, ? extends V> map) {
+        putAll(map);
+    }
+
+    /**
+     * Returns the keys of the <code>value</code> provided in map iteration order; the set is empty if there are none.
+     */
+    Set<K> getKeys(Object value) {
+        Set<K> keys = reverse.get(value);
+        return keys == null ? Collections.emptySet() : Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Returns the first key of the <code>value</code> provided in map iteration order, or <code>null</code> if there is none.
+     */
+    K getKey(Object value) {
+        Set<K> keys = reverse.get(value);
+        return keys == null ? null : keys.iterator().next();
+    }
+
+    /**
+     * Removes all keys of the <code>value</code> provided.
+     */
+    void removeValue(Object value) {
+        Set<K> keys = reverse.remove(value);
+        if (keys != null) {
+            keys.forEach(forward::remove);
+        }
+    }
+
+    @Override
+    public int size() {
+        return forward.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return forward.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return reverse.containsKey(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return forward.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        boolean present = forward.containsKey(key);
+        V previous = forward.put(key, value);
+        if (present) {
+            reindex(key, previous, value);
+        }
+        else {
+            // a new key is the last one in map iteration order
+            reverse.computeIfAbsent(value, it -> new LinkedHashSet<>()).add(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!forward.containsKey(key)) {
+            return null;
+        }
+        V previous = forward.remove(key);
+        unindex(key, previous);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        forward.clear();
+        reverse.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Moves the <code>key</code> provided, which keeps its position in the map, from the keys of its <code>previous</code> value to
+     * the keys of its new <code>value</code>. These are rebuilt so that they stay in map iteration order.
+     */
+    private void reindex(K key, V previous, V value) {
+        if (Objects.equals(previous, value)) {
+            return;
+        }
+        unindex(key, previous);
+        Set<K> keys = reverse.get(value);
+        if (keys == null) {
+            reverse.put(value, new LinkedHashSet<>(Collections.singleton(key)));
+        }
+        else {
+            keys.clear();
+            forward.forEach((k, v) -> {
+                if (Objects.equals(v, value)) {
+                    keys.add(k);
+                }
+            });
+        }
+    }
+
+    private void unindex(Object key, V value) {
+        Set<K> keys = reverse.get(value);
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            reverse.remove(value);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Entry<K, V>> iterator = forward.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    Entry<K, V> entry = iterator.next();
+                    current = entry;
+                    return new SimpleEntry<K, V>(entry) {
+                        @Override
+                        public V setValue(V value) {
+                            V previous = entry.setValue(value);
+                            reindex(entry.getKey(), previous, value);
+                            super.setValue(value);
+                            return previous;
+                        }
+                    };
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    unindex(current.getKey(), current.getValue());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return forward.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return forward.entrySet().contains(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            BidirectionalMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            BidirectionalMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the <code>capacity</code> smallest of all elements offered in a max-heap, so that selecting the k smallest of n elements
+ * takes O(n log k) time and O(k) memory rather than sorting all elements. Elements which compare equal are ordered by the sequence
+ * in which they have been offered, so the result is the same as the one of a stable sort followed by taking the first k elements.
+ * Two heaps of consecutive parts of a stream are merged with {@link #merge(BoundedHeap)}.
+ *
+ * @see C#smallest(int, Comparator)
+ */
+final class BoundedHeap<T> {
+    private final int capacity;
+    private final Comparator<? super T> comparator;
+    private Object[] elements;
+    // the number of elements offered before every element, which breaks ties
+    private long[] sequences;
+    private int size;
+    private long offered;
+
+    BoundedHeap(int capacity, Comparator<? super T> comparator) {
+        this.capacity = capacity;
+        this.comparator = comparator;
+        int initialCapacity = Math.min(capacity, 16);
+        this.elements = new Object[initialCapacity];
+        this.sequences = new long[initialCapacity];
+    }
+
+    void offer(T element) {
+        offer(element, offered++);
+    }
+
+    /**
+     * Offers all elements of the <code>other</code> heap provided, which must have been offered after the elements of this heap.
+     */
+    BoundedHeap<T> merge(BoundedHeap<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.elements[i], offered + other.sequences[i]);
+        }
+        offered += other.offered;
+        return this;
+    }
+
+    /**
+     * Returns the elements kept in ascending order. This empties the heap.
+     */
+    List<T> toList() {
+        // heap sort: moves the biggest remaining element behind the heap
+        int count = size;
+        while (size > 1) {
+            swap(0, --size);
+            siftDown(0);
+        }
+        size = 0;
+        return new ArrayList<>(Arrays.asList((T[]) Arrays.copyOf(elements, count)));
+    }
+
+    private void offer(T element, long sequence) {
+        if (size < capacity) {
+            if (size == elements.length) {
+                int length = (int) Math.min(capacity, elements.length * 2L);
+                elements = Arrays.copyOf(elements, length);
+                sequences = Arrays.copyOf(sequences, length);
+            }
+            elements[size] = element;
+            sequences[size] = sequence;
+            siftUp(size++);
+        }
+        else if (capacity > 0 && compare(element, sequence, 0) < 0) {
+            elements[0] = element;
+            sequences[0] = sequence;
+            siftDown(0);
+        }
+    }
+
+    private int compare(Object element, long sequence, int index) {
+        int ret = comparator.compare((T) element, (T) elements[index]);
+        return ret != 0 ? ret : Long.compare(sequence, sequences[index]);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(elements[index], sequences[index], parent) <= 0) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int biggest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (compare(elements[child], sequences[child], biggest) > 0) {
+                    biggest = child;
+                }
+            }
+            if (biggest == index) {
+                return;
+            }
+            swap(index, biggest);
+            index = biggest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+        long sequence = sequences[i];
+        sequences[i] = sequences[j];
+        sequences[j] = sequence;
+    }
+}
@@ -6,21 +6,28 @@ import static ch.codebulb.lambdaomega.U.any;
 import ch.codebulb.lambdaomega.abstractions.OmegaObject;
 import ch.codebulb.lambdaomega.abstractions.ReadonlyIndexedI;
 import ch.codebulb.lambdaomega.abstractions.StreamableI;
+import java.util.AbstractList;
+import java.util.AbstractSet;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Properties;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -38,6 +45,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -54,6 +63,7 @@ import java.util.stream.StreamSupport;
 // TODO Complete implementation with more converters
 public abstract class C<T, K, V> extends OmegaObject implements StreamableI {
     private boolean parallel;
+    private boolean lazy;
     protected Function<K, V> defaultFunction;
     
     public abstract Collection<T> toCollection();
@@ -102,6 +112,50 @@ public abstract class C<T, K, V> extends OmegaObject implements StreamableI {
         return Sequential();
     }
     
+    /**
+     * Returns <code>true</code> if intermediate operations are recorded rather than executed immediately.
+     * 
+     * @see #Lazy()
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+    
+    /**
+     * Turns the wrapped data structure lazily evaluated: subsequent intermediate operations such as <code>Map</code>, <code>Filter</code>,
+     * <code>Reject</code>, <code>FindAll</code> or <code>Flatten</code> don't build a new collection, but they are recorded and fused into
+     * a single {@link Stream} pass which is only executed once a terminal operation is invoked.
+     * The collections returned by these operations are lazy as well.<p/>
+     * 
+     * Note that every terminal operation invoked on a lazy collection executes the recorded chain again
+     * unless the collection has been accessed in a non-streaming way (e.g. by {@link Collection#size()}), which materializes its content.
+     * The source is not copied, so changes to it are visible in a lazy collection until that collection is materialized.
+     */
+    public C<T, K, V> Lazy() {
+        lazy = true;
+        return this;
+    }
+    
+    /**
+     * Turns the wrapped data structure eagerly evaluated. This is the default.
+     * 
+     * @see #Lazy()
+     */
+    public C<T, K, V> Eager() {
+        lazy = false;
+        return this;
+    }
+    
+    /**
+     * Copies the streaming and evaluation mode of this collection to the <code>other</code> collection provided.
+     */
+    <N extends C<?, ?, ?>> N withModeOf(N other) {
+        C<?, ?, ?> target = other;
+        target.parallel = parallel;
+        target.lazy = lazy;
+        return other;
+    }
+    
     public <C> C to(Class<C> format) {
         return to(stream(), format);
     }
@@ -274,7 +328,22 @@ public abstract class C<T, K, V> extends OmegaObject implements StreamableI {
     }
     
     public static <T> Set<T> toSet(T... ts) {
-        return toStream(ts).collect(Collectors.toSet());
+        Set<T> ret = new HashSet<>(Math.max(16, ts.length * 4 / 3 + 1));
+        Collections.addAll(ret, ts);
+        return ret;
+    }
+    
+    /**
+     * Returns a {@link Collector} which collects the <code>n</code> smallest elements, as ordered by the <code>comparator</code> provided,
+     * into a {@link List} in ascending order; elements which compare equal keep their encounter order. It keeps a bounded heap of
+     * <code>n</code> elements rather than sorting all elements, which is O(N log n) for N elements. On a parallel stream, every chunk
+     * selects its own <code>n</code> smallest elements, which are then merged.
+     */
+    public static <T> Collector<T, ?, List<T>> smallest(int n, Comparator<? super T> comparator) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of elements must not be negative: " + n);
+        }
+        return Collector.of(() -> new BoundedHeap<T>(n, comparator), BoundedHeap::offer, BoundedHeap::merge, BoundedHeap::toList);
     }
     
     /**
@@ -292,4 +361,208 @@ public abstract class C<T, K, V> extends OmegaObject implements StreamableI {
     public static <T, R> List<R> map(Collection<T> collection, Function<T, R> function) {
         return C.toStream(collection).map(function).collect(Collectors.toList());
     }
+    
+    /**
+     * Returns the indices of the <code>keys</code> provided in ascending order of their keys; equal keys keep their original order.
+     * This is a radix sort which runs in linear time without boxing.
+     */
+    static int[] sortedIndices(long[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[keys.length];
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64 && keys.length > 1; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (long key : keys) {
+                counts[digit(key, shift) + 1]++;
+            }
+            if (counts[digit(keys[0], shift) + 1] == keys.length) {
+                // all keys share this digit
+                continue;
+            }
+            for (int i = 0; i < 256; i++) {
+                counts[i + 1] += counts[i];
+            }
+            for (int index : order) {
+                buffer[counts[digit(keys[index], shift)]++] = index;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+    
+    private static int digit(long key, int shift) {
+        // flip the sign bit so that negative keys come first
+        return (int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+    }
+    
+    /**
+     * Returns a <code>long</code> representation of the <code>value</code> provided whose natural order matches {@link Double#compare(double, double)}.
+     */
+    static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+    
+    /**
+     * Returns the power-of-two capacity of an open-addressing hash table which holds <code>expectedSize</code> entries
+     * without exceeding a load factor of 3/4.
+     */
+    static int hashCapacity(int expectedSize) {
+        long capacity = Math.max(4, (expectedSize * 4L + 2) / 3 + 1);
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) capacity - 1) << 1;
+    }
+    
+    /**
+     * Scrambles the bits of the <code>key</code> provided so that keys which differ in their upper bits only are spread over an
+     * open-addressing hash table.
+     */
+    static int mix(int key) {
+        int hash = key * 0x9e3779b9;
+        return hash ^ (hash >>> 16);
+    }
+    
+    /**
+     * @see #mix(int)
+     */
+    static int mix(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 32;
+        return (int) (hash ^ (hash >>> 16));
+    }
+    
+    /**
+     * A {@link List} whose content is defined by a recorded pipeline of intermediate operations.
+     * Streaming the list executes the fused pipeline; any other access materializes its result once.<p/>
+     * 
+     * The source collection is not copied: until the list is materialized, every execution of the pipeline reads the source as it is
+     * then, so changes to the source are visible; afterwards, they are not.
+     */
+    static class LazyList<T> extends AbstractList<T> implements RandomAccess {
+        private final Supplier<Stream<T>> pipeline;
+        private List<T> materialized;
+
+        LazyList(Supplier<Stream<T>> pipeline) {
+            this.pipeline = pipeline;
+        }
+        
+        private List<T> materialize() {
+            if (materialized == null) {
+                materialized = pipeline.get().collect(Collectors.toList());
+            }
+            return materialized;
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return materialized != null ? materialized.stream() : pipeline.get().sequential();
+        }
+
+        @Override
+        public Stream<T> parallelStream() {
+            return materialized != null ? materialized.parallelStream() : pipeline.get().parallel();
+        }
+
+        @Override
+        public T get(int index) {
+            return materialize().get(index);
+        }
+
+        @Override
+        public int size() {
+            return materialize().size();
+        }
+
+        @Override
+        public T set(int index, T element) {
+            return materialize().set(index, element);
+        }
+
+        @Override
+        public void add(int index, T element) {
+            materialize().add(index, element);
+        }
+
+        @Override
+        public T remove(int index) {
+            return materialize().remove(index);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return materialize().iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return materialize().spliterator();
+        }
+    }
+    
+    /**
+     * The {@link Set} counterpart of {@link LazyList}. Streaming the set executes the fused pipeline with duplicates removed.
+     * Like a {@link LazyList}, it reads the live source collection until it is materialized.
+     */
+    static class LazySet<T> extends AbstractSet<T> {
+        private final Supplier<Stream<T>> pipeline;
+        private Set<T> materialized;
+
+        LazySet(Supplier<Stream<T>> pipeline) {
+            this.pipeline = pipeline;
+        }
+        
+        private Set<T> materialize() {
+            if (materialized == null) {
+                materialized = pipeline.get().collect(Collectors.toCollection(CompactSet::new));
+            }
+            return materialized;
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return materialized != null ? materialized.stream() : pipeline.get().sequential().distinct();
+        }
+
+        @Override
+        public Stream<T> parallelStream() {
+            return materialized != null ? materialized.parallelStream() : pipeline.get().parallel().distinct();
+        }
+
+        @Override
+        public int size() {
+            return materialize().size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return materialize().contains(o);
+        }
+
+        @Override
+        public boolean add(T e) {
+            return materialize().add(e);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return materialize().remove(o);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return materialize().iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return materialize().spliterator();
+        }
+    }
 }
@@ -0,0 +1,1009 @@
+package ch.codebulb.lambdaomega;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded {@link Map} implementation which evicts entries when it grows beyond its maximum size or weight, and which expires entries
+ * after a fixed duration since their last write or access. Values may optionally be held by {@link SoftReference}s.<p/>
+ *
+ * Use it as the backing map of an {@link M} with {@link M#Cache(Builder)}; together with {@link M#WithDefault(java.util.function.Function)}, this turns
+ * an {@link M} into a loading cache: <code>m(loader).Cache(CacheMap.builder().maximumSize(10_000))</code><p/>
+ *
+ * The eviction policy is chosen with {@link Builder#eviction(Eviction)}. Hit, miss and eviction counts are available through
+ * {@link #stats()}. This map does not permit <code>null</code> keys or values. It is thread-safe; all operations synchronize on the map.
+ * Its iterators work on a snapshot of the entries.<p/>
+ *
+ * Use {@link #builder()} to create a new instance of this class.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class CacheMap<K, V> extends AbstractMap<K, V> {
+    /**
+     * The policy which decides which entry to evict once the map grows beyond its maximum size or weight.
+     */
+    public static enum Eviction {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least frequently used entry; ties are broken by evicting the least recently used entry.
+         */
+        LFU,
+        /**
+         * Window TinyLFU: new entries enter a small LRU window. Entries leaving the window are only admitted to the main segmented LRU
+         * space if they have been used more frequently than the entry they would evict, as estimated by a compact frequency sketch.
+         * This combines the recency-awareness of LRU with the scan-resistance of LFU. A map without a maximum size or weight never
+         * evicts entries, so it falls back to LRU.
+         */
+        TINY_LFU
+    }
+
+    private final long maximum;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final boolean softValues;
+    private final LongSupplier ticker;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final NodeList<K, V> writeOrder = NodeList.writeOrder();
+    private final NodeList<K, V> accessOrder = NodeList.accessOrder();
+    private final Policy<K, V> policy;
+    private final ReferenceQueue<V> collectedValues;
+    private long weightedSize;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private CacheMap(Builder builder) {
+        if (builder.maximumWeight >= 0) {
+            this.maximum = builder.maximumWeight;
+            this.weigher = builder.weigher;
+        }
+        else {
+            this.maximum = builder.maximumSize >= 0 ? builder.maximumSize : Long.MAX_VALUE;
+            this.weigher = (k, v) -> 1;
+        }
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.softValues = builder.softValues;
+        this.ticker = builder.ticker;
+        this.collectedValues = softValues ? new ReferenceQueue<>() : null;
+        switch (builder.eviction) {
+            case LFU:
+                policy = new LfuPolicy<>();
+                break;
+            case TINY_LFU:
+                // an unbounded map never evicts, so it doesn't need to estimate frequencies for admission
+                policy = maximum == Long.MAX_VALUE ? new LruPolicy<>() : new TinyLfuPolicy<>(maximum);
+                break;
+            default:
+                policy = new LruPolicy<>();
+        }
+    }
+
+    /**
+     * Returns the length of the table of the frequency sketch, or 0 if the eviction policy doesn't use one; visible for testing.
+     */
+    synchronized int sketchLength() {
+        return policy instanceof TinyLfuPolicy ? ((TinyLfuPolicy<K, V>) policy).sketch.table.length : 0;
+    }
+
+    /**
+     * Returns how often the <code>key</code> provided has been used as estimated by the frequency sketch, or 0 if the eviction
+     * policy doesn't use one; visible for testing.
+     */
+    synchronized int frequency(Object key) {
+        return policy instanceof TinyLfuPolicy ? ((TinyLfuPolicy<K, V>) policy).sketch.frequency(key) : 0;
+    }
+
+    /**
+     * Starts creating a new {@link CacheMap}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of this map.
+     */
+    public synchronized Stats stats() {
+        return new Stats(hitCount, missCount, evictionCount);
+    }
+
+    @Override
+    public synchronized V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount++;
+            policy.onMiss(key);
+            return null;
+        }
+        long now = ticker.getAsLong();
+        V value = node.getValue();
+        if (value == null || isExpired(node, now)) {
+            removeNode(node, true);
+            missCount++;
+            policy.onMiss(key);
+            return null;
+        }
+        hitCount++;
+        node.accessTime = now;
+        if (expireAfterAccessNanos > 0) {
+            accessOrder.moveToLast(node);
+        }
+        policy.onAccess(node);
+        return value;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        Node<K, V> node = data.get(key);
+        return node != null && node.getValue() != null && !isExpired(node, ticker.getAsLong());
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("CacheMap does not permit null keys or values.");
+        }
+        cleanUp();
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        long now = ticker.getAsLong();
+        Node<K, V> node = data.get(key);
+        V oldValue = null;
+        if (node != null) {
+            oldValue = node.getValue();
+            if (oldValue == null || isExpired(node, now)) {
+                removeNode(node, true);
+                oldValue = null;
+                node = null;
+            }
+        }
+        if (node == null) {
+            node = new Node<>(key, weight);
+            node.setValue(value, collectedValues, softValues);
+            node.writeTime = now;
+            node.accessTime = now;
+            data.put(key, node);
+            writeOrder.addLast(node);
+            accessOrder.addLast(node);
+            weightedSize += weight;
+            policy.onInsert(node);
+        }
+        else {
+            int oldWeight = node.weight;
+            node.setValue(value, collectedValues, softValues);
+            node.weight = weight;
+            node.writeTime = now;
+            node.accessTime = now;
+            writeOrder.moveToLast(node);
+            accessOrder.moveToLast(node);
+            weightedSize += weight - oldWeight;
+            policy.onUpdate(node, oldWeight);
+        }
+        while (weightedSize > maximum) {
+            removeNode(policy.evict(), true);
+        }
+        return oldValue;
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        V value = node.getValue();
+        boolean alive = value != null && !isExpired(node, ticker.getAsLong());
+        removeNode(node, !alive);
+        return alive ? value : null;
+    }
+
+    /**
+     * Unlike {@link #get(Object)}, this doesn't count as a lookup.
+     */
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        Node<K, V> node = data.get(key);
+        if (node == null || !Objects.equals(node.getValue(), value) || isExpired(node, ticker.getAsLong())) {
+            return false;
+        }
+        removeNode(node, false);
+        return true;
+    }
+
+    /**
+     * Unlike {@link #get(Object)}, this doesn't count as a lookup.
+     */
+    @Override
+    public synchronized boolean replace(K key, V oldValue, V newValue) {
+        Node<K, V> node = data.get(key);
+        if (node == null || !Objects.equals(node.getValue(), oldValue) || isExpired(node, ticker.getAsLong())) {
+            return false;
+        }
+        put(key, newValue);
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        new ArrayList<>(data.values()).forEach(it -> removeNode(it, false));
+    }
+
+    @Override
+    public synchronized int size() {
+        cleanUp();
+        return data.size();
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                Iterator<Entry<K, V>> snapshot = snapshot().iterator();
+                return new Iterator<Entry<K, V>>() {
+                    private Entry<K, V> current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return snapshot.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        current = snapshot.next();
+                        return current;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (current == null) {
+                            throw new IllegalStateException();
+                        }
+                        CacheMap.this.remove(current.getKey());
+                        current = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return CacheMap.this.size();
+            }
+        };
+    }
+
+    private synchronized List<Entry<K, V>> snapshot() {
+        cleanUp();
+        List<Entry<K, V>> ret = new ArrayList<>(data.size());
+        for (Node<K, V> node = writeOrder.head; node != null; node = node.writeNext) {
+            V value = node.getValue();
+            if (value != null) {
+                ret.add(new SimpleImmutableEntry<>(node.key, value));
+            }
+        }
+        return ret;
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    /**
+     * Removes the entries which have expired or whose values have been garbage-collected.
+     */
+    private void cleanUp() {
+        if (softValues) {
+            for (Object ref = collectedValues.poll(); ref != null; ref = collectedValues.poll()) {
+                Node<K, V> node = data.get(((SoftValue<K, V>) ref).key);
+                if (node != null && node.value == ref) {
+                    removeNode(node, true);
+                }
+            }
+        }
+        long now = ticker.getAsLong();
+        if (expireAfterWriteNanos > 0) {
+            while (writeOrder.head != null && isExpired(writeOrder.head, now)) {
+                removeNode(writeOrder.head, true);
+            }
+        }
+        if (expireAfterAccessNanos > 0) {
+            while (accessOrder.head != null && isExpired(accessOrder.head, now)) {
+                removeNode(accessOrder.head, true);
+            }
+        }
+    }
+
+    private void removeNode(Node<K, V> node, boolean evicted) {
+        data.remove(node.key);
+        writeOrder.remove(node);
+        accessOrder.remove(node);
+        weightedSize -= node.weight;
+        policy.onRemove(node);
+        if (evicted) {
+            evictionCount++;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the statistics of a {@link CacheMap}.
+     */
+    public static final class Stats {
+        /**
+         * The number of lookups which found a value.
+         */
+        public final long hitCount;
+        /**
+         * The number of lookups which didn't find a value.
+         */
+        public final long missCount;
+        /**
+         * The number of entries which have been removed because of the size or weight limit, because they have expired, or because their
+         * value has been garbage-collected.
+         */
+        public final long evictionCount;
+
+        private Stats(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long requestCount() {
+            return hitCount + missCount;
+        }
+
+        /**
+         * Returns the ratio of lookups which found a value, or 1 if there haven't been any lookups.
+         */
+        public double hitRate() {
+            long requestCount = requestCount();
+            return requestCount == 0 ? 1 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + "}";
+        }
+    }
+
+    /**
+     * A builder for a {@link CacheMap}. Use {@link CacheMap#builder()} to create an instance of this class.
+     */
+    public static final class Builder {
+        private long maximumSize = -1;
+        private long maximumWeight = -1;
+        private ToIntBiFunction weigher;
+        private Eviction eviction = Eviction.TINY_LFU;
+        private long expireAfterWriteNanos;
+        private long expireAfterAccessNanos;
+        private long refreshAfterWriteNanos;
+        private boolean softValues;
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder() {}
+
+        /**
+         * Limits the number of entries.
+         */
+        public Builder maximumSize(long maximumSize) {
+            checkArgument(maximumSize >= 0, "Maximum size must not be negative: " + maximumSize);
+            checkState(maximumWeight < 0, "Maximum weight has already been set.");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Limits the sum of the weights of all entries, as calculated by the <code>weigher</code> provided.
+         */
+        public <K, V> Builder maximumWeight(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+            checkArgument(maximumWeight >= 0, "Maximum weight must not be negative: " + maximumWeight);
+            checkState(maximumSize < 0, "Maximum size has already been set.");
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the eviction policy. The default is {@link Eviction#TINY_LFU}.
+         */
+        public Builder eviction(Eviction eviction) {
+            this.eviction = eviction;
+            return this;
+        }
+
+        /**
+         * Expires an entry once the <code>duration</code> provided has elapsed since it has been written (time-to-live).
+         */
+        public Builder expireAfterWrite(long duration, TimeUnit unit) {
+            checkArgument(duration > 0, "Duration must be positive: " + duration);
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Expires an entry once the <code>duration</code> provided has elapsed since it has been written or read (time-to-idle).
+         */
+        public Builder expireAfterAccess(long duration, TimeUnit unit) {
+            checkArgument(duration > 0, "Duration must be positive: " + duration);
+            this.expireAfterAccessNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Reloads an entry in the background on the first read after the <code>duration</code> provided has elapsed since it has been
+         * written, while still serving the current value. Only {@link AsyncCache} supports refreshing; it is ignored otherwise.
+         */
+        public Builder refreshAfterWrite(long duration, TimeUnit unit) {
+            checkArgument(duration > 0, "Duration must be positive: " + duration);
+            this.refreshAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Holds the values by {@link SoftReference}s so that they may be garbage-collected when memory is short.
+         */
+        public Builder softValues() {
+            this.softValues = true;
+            return this;
+        }
+
+        /**
+         * Sets the source of the current time in nanoseconds used for expiry. The default is {@link System#nanoTime()}.
+         */
+        public Builder ticker(LongSupplier ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        public <K, V> CacheMap<K, V> build() {
+            return new CacheMap<>(this);
+        }
+
+        long getRefreshAfterWriteNanos() {
+            return refreshAfterWriteNanos;
+        }
+
+        LongSupplier getTicker() {
+            return ticker;
+        }
+
+        private static void checkArgument(boolean expression, String message) {
+            if (!expression) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+
+        private static void checkState(boolean expression, String message) {
+            if (!expression) {
+                throw new IllegalStateException(message);
+            }
+        }
+    }
+
+    private static final class SoftValue<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private SoftValue(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        // the value, or a SoftValue
+        private Object value;
+        private int weight;
+        private long writeTime;
+        private long accessTime;
+
+        private Node<K, V> writePrev, writeNext;
+        private Node<K, V> accessPrev, accessNext;
+        // used by the eviction policy
+        private Node<K, V> policyPrev, policyNext;
+        private int region;
+        private long frequency;
+        private long tick;
+
+        private Node(K key, int weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+
+        private V getValue() {
+            return value instanceof SoftValue ? ((SoftValue<K, V>) value).get() : (V) value;
+        }
+
+        private void setValue(V value, ReferenceQueue<V> queue, boolean soft) {
+            this.value = soft ? new SoftValue<>(key, value, queue) : value;
+        }
+    }
+
+    /**
+     * An intrusive doubly-linked list of {@link Node}s, ordered from the eldest (<code>head</code>) to the youngest node.
+     * Only the lists of the eviction policy keep the total weight of their nodes.
+     */
+    private abstract static class NodeList<K, V> {
+        private final boolean weighted;
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private long weight;
+
+        private NodeList(boolean weighted) {
+            this.weighted = weighted;
+        }
+
+        abstract Node<K, V> prev(Node<K, V> node);
+
+        abstract Node<K, V> next(Node<K, V> node);
+
+        abstract void link(Node<K, V> node, Node<K, V> prev, Node<K, V> next);
+
+        abstract void setNext(Node<K, V> node, Node<K, V> next);
+
+        abstract void setPrev(Node<K, V> node, Node<K, V> prev);
+
+        void addLast(Node<K, V> node) {
+            link(node, tail, null);
+            if (tail == null) {
+                head = node;
+            }
+            else {
+                setNext(tail, node);
+            }
+            tail = node;
+            if (weighted) {
+                weight += node.weight;
+            }
+        }
+
+        void remove(Node<K, V> node) {
+            Node<K, V> prev = prev(node);
+            Node<K, V> next = next(node);
+            if (prev == null && next == null && head != node) {
+                // not linked
+                return;
+            }
+            if (prev == null) {
+                head = next;
+            }
+            else {
+                setNext(prev, next);
+            }
+            if (next == null) {
+                tail = prev;
+            }
+            else {
+                setPrev(next, prev);
+            }
+            link(node, null, null);
+            if (weighted) {
+                weight -= node.weight;
+            }
+        }
+
+        /**
+         * Accounts for the changed weight of the <code>node</code> provided, which is linked into this list.
+         */
+        void reweigh(Node<K, V> node, int oldWeight) {
+            if (weighted) {
+                weight += node.weight - oldWeight;
+            }
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        static <K, V> NodeList<K, V> writeOrder() {
+            return new NodeList<K, V>(false) {
+                @Override
+                Node<K, V> prev(Node<K, V> node) {
+                    return node.writePrev;
+                }
+
+                @Override
+                Node<K, V> next(Node<K, V> node) {
+                    return node.writeNext;
+                }
+
+                @Override
+                void link(Node<K, V> node, Node<K, V> prev, Node<K, V> next) {
+                    node.writePrev = prev;
+                    node.writeNext = next;
+                }
+
+                @Override
+                void setNext(Node<K, V> node, Node<K, V> next) {
+                    node.writeNext = next;
+                }
+
+                @Override
+                void setPrev(Node<K, V> node, Node<K, V> prev) {
+                    node.writePrev = prev;
+                }
+            };
+        }
+
+        static <K, V> NodeList<K, V> accessOrder() {
+            return new NodeList<K, V>(false) {
+                @Override
+                Node<K, V> prev(Node<K, V> node) {
+                    return node.accessPrev;
+                }
+
+                @Override
+                Node<K, V> next(Node<K, V> node) {
+                    return node.accessNext;
+                }
+
+                @Override
+                void link(Node<K, V> node, Node<K, V> prev, Node<K, V> next) {
+                    node.accessPrev = prev;
+                    node.accessNext = next;
+                }
+
+                @Override
+                void setNext(Node<K, V> node, Node<K, V> next) {
+                    node.accessNext = next;
+                }
+
+                @Override
+                void setPrev(Node<K, V> node, Node<K, V> prev) {
+                    node.accessPrev = prev;
+                }
+            };
+        }
+
+        static <K, V> NodeList<K, V> policyOrder() {
+            return new NodeList<K, V>(true) {
+                @Override
+                Node<K, V> prev(Node<K, V> node) {
+                    return node.policyPrev;
+                }
+
+                @Override
+                Node<K, V> next(Node<K, V> node) {
+                    return node.policyNext;
+                }
+
+                @Override
+                void link(Node<K, V> node, Node<K, V> prev, Node<K, V> next) {
+                    node.policyPrev = prev;
+                    node.policyNext = next;
+                }
+
+                @Override
+                void setNext(Node<K, V> node, Node<K, V> next) {
+                    node.policyNext = next;
+                }
+
+                @Override
+                void setPrev(Node<K, V> node, Node<K, V> prev) {
+                    node.policyPrev = prev;
+                }
+            };
+        }
+    }
+
+    private abstract static class Policy<K, V> {
+        void onMiss(Object key) {}
+
+        abstract void onInsert(Node<K, V> node);
+
+        abstract void onAccess(Node<K, V> node);
+
+        abstract void onUpdate(Node<K, V> node, int oldWeight);
+
+        abstract void onRemove(Node<K, V> node);
+
+        /**
+         * Returns the node to evict next.
+         */
+        abstract Node<K, V> evict();
+    }
+
+    private static final class LruPolicy<K, V> extends Policy<K, V> {
+        private final NodeList<K, V> order = NodeList.policyOrder();
+
+        @Override
+        void onInsert(Node<K, V> node) {
+            order.addLast(node);
+        }
+
+        @Override
+        void onAccess(Node<K, V> node) {
+            order.moveToLast(node);
+        }
+
+        @Override
+        void onUpdate(Node<K, V> node, int oldWeight) {
+            order.reweigh(node, oldWeight);
+            order.moveToLast(node);
+        }
+
+        @Override
+        void onRemove(Node<K, V> node) {
+            order.remove(node);
+        }
+
+        @Override
+        Node<K, V> evict() {
+            return order.head;
+        }
+    }
+
+    private static final class LfuPolicy<K, V> extends Policy<K, V> {
+        private final TreeSet<Node<K, V>> order = new TreeSet<>(
+                Comparator.<Node<K, V>> comparingLong(it -> it.frequency).thenComparingLong(it -> it.tick));
+        private long ticks;
+        private Node<K, V> latest;
+
+        @Override
+        void onInsert(Node<K, V> node) {
+            latest = node;
+            node.frequency = 1;
+            node.tick = ticks++;
+            order.add(node);
+        }
+
+        @Override
+        void onAccess(Node<K, V> node) {
+            order.remove(node);
+            node.frequency++;
+            node.tick = ticks++;
+            order.add(node);
+        }
+
+        @Override
+        void onUpdate(Node<K, V> node, int oldWeight) {
+            onAccess(node);
+        }
+
+        @Override
+        void onRemove(Node<K, V> node) {
+            order.remove(node);
+            if (latest == node) {
+                latest = null;
+            }
+        }
+
+        @Override
+        Node<K, V> evict() {
+            // don't evict the entry which has just been inserted, it didn't have a chance to be used yet
+            Node<K, V> ret = order.first();
+            return ret == latest && order.size() > 1 ? order.higher(ret) : ret;
+        }
+    }
+
+    private static final class TinyLfuPolicy<K, V> extends Policy<K, V> {
+        private static final int WINDOW = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTED = 2;
+
+        private final NodeList<K, V> window = NodeList.policyOrder();
+        private final NodeList<K, V> probation = NodeList.policyOrder();
+        private final NodeList<K, V> protectedSegment = NodeList.policyOrder();
+        private final long windowMaximum;
+        private final long mainMaximum;
+        private final long protectedMaximum;
+        private final FrequencySketch sketch = new FrequencySketch();
+        private long count;
+        private Object lastMiss;
+
+        private TinyLfuPolicy(long maximum) {
+            this.windowMaximum = Math.max(1, maximum / 100);
+            this.mainMaximum = Math.max(0, maximum - windowMaximum);
+            this.protectedMaximum = mainMaximum * 8 / 10;
+        }
+
+        private NodeList<K, V> segment(Node<K, V> node) {
+            switch (node.region) {
+                case PROBATION:
+                    return probation;
+                case PROTECTED:
+                    return protectedSegment;
+                default:
+                    return window;
+            }
+        }
+
+        @Override
+        void onMiss(Object key) {
+            sketch.increment(key);
+            lastMiss = key;
+        }
+
+        @Override
+        void onInsert(Node<K, V> node) {
+            // the sketch is sized by the number of entries, not by their weight
+            sketch.ensureCapacity(++count);
+            // a loaded value is inserted right after its miss, which has already been counted
+            if (!node.key.equals(lastMiss)) {
+                sketch.increment(node.key);
+            }
+            lastMiss = null;
+            node.region = WINDOW;
+            window.addLast(node);
+            // move the entries leaving the window to the main space as long as it has room
+            while (window.weight > windowMaximum && window.head != node
+                    && probation.weight + protectedSegment.weight + window.head.weight <= mainMaximum) {
+                Node<K, V> candidate = window.head;
+                window.remove(candidate);
+                candidate.region = PROBATION;
+                probation.addLast(candidate);
+            }
+        }
+
+        @Override
+        void onAccess(Node<K, V> node) {
+            sketch.increment(node.key);
+            if (node.region == PROBATION) {
+                probation.remove(node);
+                node.region = PROTECTED;
+                protectedSegment.addLast(node);
+                while (protectedSegment.weight > protectedMaximum && protectedSegment.head != node) {
+                    Node<K, V> demoted = protectedSegment.head;
+                    protectedSegment.remove(demoted);
+                    demoted.region = PROBATION;
+                    probation.addLast(demoted);
+                }
+            }
+            else {
+                segment(node).moveToLast(node);
+            }
+        }
+
+        @Override
+        void onUpdate(Node<K, V> node, int oldWeight) {
+            segment(node).reweigh(node, oldWeight);
+            onAccess(node);
+        }
+
+        @Override
+        void onRemove(Node<K, V> node) {
+            count--;
+            segment(node).remove(node);
+        }
+
+        @Override
+        Node<K, V> evict() {
+            Node<K, V> victim = probation.head != null ? probation.head : protectedSegment.head;
+            if (window.weight > windowMaximum || victim == null) {
+                Node<K, V> candidate = window.head;
+                if (victim == null || candidate == null) {
+                    return candidate != null ? candidate : victim;
+                }
+                // admit the candidate only if it is used more frequently than the victim
+                if (sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                    return candidate;
+                }
+                // the admitted candidate takes the victim's place, so it isn't compared again by the next eviction
+                window.remove(candidate);
+                candidate.region = PROBATION;
+                probation.addLast(candidate);
+                return victim;
+            }
+            return victim;
+        }
+    }
+
+    /**
+     * A count-min sketch with 4-bit counters estimating how often a key has been used recently. All counters are halved periodically
+     * so that the history ages. The sketch starts small and grows with the number of entries of the map.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private static final int MINIMUM_LENGTH = 16;
+        private static final int MAXIMUM_LENGTH = 1 << 24;
+
+        private long[] table;
+        private int tableMask;
+        private int sampleSize;
+        private int size;
+
+        private FrequencySketch() {
+            resize(MINIMUM_LENGTH);
+        }
+
+        /**
+         * Grows the sketch to hold the frequencies of at least <code>entries</code> keys. This discards the frequencies counted so far.
+         */
+        private void ensureCapacity(long entries) {
+            if (entries > table.length && table.length < MAXIMUM_LENGTH) {
+                resize((int) Math.min(Long.highestOneBit(entries - 1) << 1, MAXIMUM_LENGTH));
+            }
+        }
+
+        private void resize(int length) {
+            table = new long[length];
+            tableMask = length - 1;
+            sampleSize = 10 * length;
+            size = 0;
+        }
+
+        private int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void increment(Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xfL << offset;
+                if ((table[index] & mask) != mask) {
+                    table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++size == sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size /= 2;
+        }
+
+        private int indexOf(int hash, int i) {
+            long ret = (hash + SEEDS[i]) * SEEDS[i];
+            ret += ret >>> 32;
+            return (int) ret & tableMask;
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
@@ -0,0 +1,613 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * An insertion-ordered hash map which keeps its entries in dense parallel arrays of keys, values and hashes, in insertion order,
+ * and resolves keys with a separate open-addressing <code>int[]</code> index into these arrays. It doesn't allocate a node per entry,
+ * so it takes about half the memory of a {@link java.util.LinkedHashMap}, and iterating it is a linear scan over arrays.<p/>
+ *
+ * Up to 8 entries, there is no index; a key is found by scanning the cached hashes, and the arrays are exactly as long as needed.
+ * An empty map doesn't allocate any arrays. Removing a key leaves a gap in the entry arrays which is closed when the arrays are full
+ * and get rebuilt. Null keys and values are permitted. Its iterators and spliterators are fail-fast. This class is not thread-safe.
+ *
+ * @see M#m()
+ * @see CompactSet
+ */
+class CompactMap<K, V> extends AbstractMap<K, V> {
+    // marks the key of a removed entry
+    private static final Object REMOVED = new Object();
+    // index slots hold the entry position + 1; 0 marks a free slot
+    private static final int FREE = 0;
+    private static final int DUMMY = -1;
+    // up to this many entry positions, keys are found by a linear scan
+    private static final int MAX_LINEAR = 8;
+    private static final Object[] NO_OBJECTS = {};
+    private static final int[] NO_HASHES = {};
+
+    private final boolean withValues;
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // null as long as there are no more than MAX_LINEAR entry positions
+    private int[] index;
+    private int mask;
+    // the number of entry positions in use, including removed ones
+    private int used;
+    private int size;
+    private int modCount;
+    private Set<Entry<K, V>> entrySet;
+    private Set<K> keySet;
+    private Collection<V> valueCollection;
+
+    CompactMap() {
+        this(0);
+    }
+
+    CompactMap(int expectedSize) {
+        this(expectedSize, true);
+    }
+
+    CompactMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Creates a map which doesn't store values if <code>withValues</code> is <code>false</code>; it is used as a set of keys.
+     */
+    CompactMap(int expectedSize, boolean withValues) {
+        this.withValues = withValues;
+        allocate(expectedSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        int entry = find(key);
+        return entry >= 0 ? value(entry) : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int entry = find(key);
+        return entry >= 0 ? value(entry) : defaultValue;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int entry = find(key, hash);
+        if (entry >= 0) {
+            V previous = value(entry);
+            values[entry] = value;
+            return previous;
+        }
+        append(key, hash, value);
+        return null;
+    }
+
+    /**
+     * Adds the <code>key</code> provided if it is not present yet and returns whether it has been added.
+     */
+    boolean add(K key) {
+        int hash = hash(key);
+        if (find(key, hash) >= 0) {
+            return false;
+        }
+        append(key, hash, null);
+        return true;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int entry = find(key);
+        if (entry < 0) {
+            return null;
+        }
+        V previous = value(entry);
+        removeAt(entry);
+        return previous;
+    }
+
+    /**
+     * Removes the <code>key</code> provided and returns whether it has been present.
+     */
+    boolean removeKey(Object key) {
+        int size = this.size;
+        remove(key);
+        return this.size != size;
+    }
+
+    @Override
+    public void clear() {
+        allocate(0);
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int modCount = this.modCount;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                action.accept((K) keys[i], value(i));
+            }
+        }
+        if (modCount != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        int modCount = this.modCount;
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != REMOVED) {
+                values[i] = function.apply((K) keys[i], value(i));
+            }
+        }
+        if (modCount != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values() {
+        if (valueCollection == null) {
+            valueCollection = new Values();
+        }
+        return valueCollection;
+    }
+
+    private static int hash(Object key) {
+        return C.mix(Objects.hashCode(key));
+    }
+
+    private V value(int entry) {
+        return withValues ? (V) values[entry] : null;
+    }
+
+    /**
+     * Returns the position of the entry of the <code>key</code> provided, or -1 if it is not present.
+     */
+    private int find(Object key) {
+        return find(key, hash(key));
+    }
+
+    private int find(Object key, int hash) {
+        if (index == null) {
+            for (int i = 0; i < used; i++) {
+                if (hashes[i] == hash && Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int slot = hash & mask;
+        while (true) {
+            int position = index[slot];
+            if (position == FREE) {
+                return -1;
+            }
+            if (position != DUMMY) {
+                int entry = position - 1;
+                if (hashes[entry] == hash && Objects.equals(keys[entry], key)) {
+                    return entry;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void append(K key, int hash, V value) {
+        if (used == keys.length) {
+            // compact in place if at least half of the entries have been removed, grow otherwise
+            rebuild(used > 0 && size <= used / 2 ? used : index == null ? Math.max(2, used * 2) : index.length / 2 * 3);
+        }
+        keys[used] = key;
+        hashes[used] = hash;
+        if (withValues) {
+            values[used] = value;
+        }
+        used++;
+        if (index != null) {
+            index[freeSlot(hash)] = used;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the entry at the position provided.
+     */
+    private void removeAt(int entry) {
+        keys[entry] = REMOVED;
+        if (withValues) {
+            values[entry] = null;
+        }
+        if (index != null) {
+            int slot = hashes[entry] & mask;
+            while (index[slot] != entry + 1) {
+                slot = (slot + 1) & mask;
+            }
+            // the slot stays occupied so that the probe sequences running through it are not cut off
+            index[slot] = DUMMY;
+        }
+        else {
+            // without an index, removed positions at the end can simply be reused
+            while (used > 0 && keys[used - 1] == REMOVED) {
+                keys[--used] = null;
+            }
+        }
+        size--;
+        modCount++;
+    }
+
+    private int freeSlot(int hash) {
+        int slot = hash & mask;
+        while (index[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Allocates entry arrays of the <code>capacity</code> provided and, if they are too long for a linear scan, an index.
+     */
+    private void allocate(int capacity) {
+        keys = capacity == 0 ? NO_OBJECTS : new Object[capacity];
+        values = !withValues ? null : capacity == 0 ? NO_OBJECTS : new Object[capacity];
+        hashes = capacity == 0 ? NO_HASHES : new int[capacity];
+        if (capacity <= MAX_LINEAR) {
+            index = null;
+        }
+        else {
+            // the smallest power of two which holds the entries at a load factor of at most 3/4
+            index = new int[Integer.highestOneBit((capacity * 4 + 2) / 3 - 1) << 1];
+            mask = index.length - 1;
+        }
+    }
+
+    /**
+     * Moves the entries into arrays of the <code>capacity</code> provided, dropping the removed entries.
+     */
+    private void rebuild(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+        allocate(capacity);
+        used = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] == REMOVED) {
+                continue;
+            }
+            keys[used] = oldKeys[i];
+            hashes[used] = oldHashes[i];
+            if (withValues) {
+                values[used] = oldValues[i];
+            }
+            used++;
+            if (index != null) {
+                index[freeSlot(oldHashes[i])] = used;
+            }
+        }
+    }
+
+    /**
+     * Iterates the entry positions in insertion order.
+     */
+    private abstract class Itr<T> implements Iterator<T> {
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (next < used && keys[next] == REMOVED) {
+                next++;
+            }
+            return next < used;
+        }
+
+        int nextEntry() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // removing doesn't move any entry, so the position of the next one stays valid
+            removeAt(current);
+            current = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private Entry<K, V> entry(int position) {
+        return new SimpleEntry<K, V>((K) keys[position], value(position)) {
+            @Override
+            public V setValue(V value) {
+                if (withValues && keys[position] != REMOVED) {
+                    values[position] = value;
+                }
+                return super.setValue(value);
+            }
+        };
+    }
+
+    /**
+     * Splits the entry positions in insertion order by halving their range. It binds to the positions in use when it is first
+     * traversed, split or sized. It is {@link Spliterator#SIZED} only as long as it hasn't been split or traversed, because the
+     * range may contain removed entries.
+     */
+    private final class Spl<T> implements Spliterator<T> {
+        private final IntFunction<T> element;
+        private final int characteristics;
+        private int origin;
+        // -1 until bound
+        private int fence;
+        private int expectedModCount;
+        private boolean whole;
+
+        Spl(IntFunction<T> element, int characteristics) {
+            this(element, characteristics, 0, -1, 0);
+            this.whole = true;
+        }
+
+        private Spl(IntFunction<T> element, int characteristics, int origin, int fence, int expectedModCount) {
+            this.element = element;
+            this.characteristics = characteristics;
+            this.origin = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = used;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = fence();
+            int mid = (origin + hi) >>> 1;
+            if (origin >= mid) {
+                return null;
+            }
+            whole = false;
+            Spl<T> prefix = new Spl<>(element, characteristics, origin, mid, expectedModCount);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = fence();
+            whole = false;
+            while (origin < hi) {
+                checkForComodification();
+                int entry = origin++;
+                if (keys[entry] != REMOVED) {
+                    action.accept(element.apply(entry));
+                    checkForComodification();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = fence();
+            whole = false;
+            for (; origin < hi; origin++) {
+                checkForComodification();
+                if (keys[origin] != REMOVED) {
+                    action.accept(element.apply(origin));
+                }
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            int hi = fence();
+            return whole ? size : hi - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | characteristics | (whole ? Spliterator.SIZED : 0);
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Itr<Entry<K, V>>() {
+                @Override
+                public Entry<K, V> next() {
+                    return entry(nextEntry());
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> spliterator() {
+            return new Spl<>(CompactMap.this::entry, Spliterator.DISTINCT);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            int position = find(entry.getKey());
+            return position >= 0 && Objects.equals(value(position), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            CompactMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return new Itr<K>() {
+                @Override
+                public K next() {
+                    return (K) keys[nextEntry()];
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return new Spl<>(entry -> (K) keys[entry], Spliterator.DISTINCT);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return removeKey(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+        @Override
+        public Iterator<V> iterator() {
+            return new Itr<V>() {
+                @Override
+                public V next() {
+                    return value(nextEntry());
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return new Spl<>(CompactMap.this::value, 0);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * An insertion-ordered hash set backed by a {@link CompactMap} which doesn't store values. It takes considerably less memory than
+ * a {@link java.util.LinkedHashSet}. Null elements are permitted. This class is not thread-safe.
+ *
+ * @see S#s()
+ */
+class CompactSet<T> extends AbstractSet<T> {
+    private final CompactMap<T, ?> map;
+
+    CompactSet() {
+        this(0);
+    }
+
+    CompactSet(int expectedSize) {
+        this.map = new CompactMap<>(expectedSize, false);
+    }
+
+    CompactSet(Collection<? extends T> collection) {
+        this(collection.size());
+        addAll(collection);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public boolean add(T e) {
+        return map.add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return map.removeKey(o);
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return map.keySet().spliterator();
+    }
+}
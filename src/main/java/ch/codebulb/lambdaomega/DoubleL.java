@@ -0,0 +1,517 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import ch.codebulb.lambdaomega.abstractions.StreamableI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+/**
+ * The "DoubleL" stands for "double list". An implementation of a wrapper API for a growable <code>double[]</code> array which provides
+ * sequential access and indexed access like {@link L}, but without boxing its elements.<p/>
+ * 
+ * The constructor of this class is not visible; use one of the convenience {@link #dl(double...)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ */
+public class DoubleL extends OmegaObject implements StreamableI {
+    private double[] values;
+    private int size;
+    private boolean parallel;
+    
+    DoubleL(double[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+    
+    /**
+     * Creates a new {@link DoubleL}.
+     */
+    public static DoubleL dl(double... values) {
+        return new DoubleL(values.clone(), values.length);
+    }
+    
+    /**
+     * Turns the stream provided into an {@link DoubleL}.
+     * 
+     * @see #dl(double...)
+     */
+    public static DoubleL dl(DoubleStream stream) {
+        double[] values = stream.toArray();
+        return new DoubleL(values, values.length);
+    }
+    
+    /**
+     * Turns the collection provided into an {@link DoubleL}.
+     * 
+     * @see #dl(double...)
+     */
+    public static DoubleL dl(Collection<Double> collection) {
+        return dl(collection.stream().mapToDouble(it -> it));
+    }
+    
+    /**
+     * Turns the {@link SequentialI} (e.g. an {@link L}) provided into an {@link DoubleL}.
+     * 
+     * @see #dl(double...)
+     */
+    public static DoubleL dl(SequentialI<Double> collection) {
+        return dl(collection.toCollection());
+    }
+    
+    /**
+     * Creates an {@link DoubleL} by invoking the <code>generator</code> function provided <i><code>times</code></i> times with the current index.
+     */
+    public static DoubleL dl(int times, IntToDoubleFunction generator) {
+        double[] values = new double[times];
+        for (int i = 0; i < times; i++) {
+            values[i] = generator.applyAsDouble(i);
+        }
+        return new DoubleL(values, times);
+    }
+    
+    /**
+     * Depending on {@link #isParallel()}, returns a parallel or a sequential {@link DoubleStream}.
+     */
+    public DoubleStream stream() {
+        DoubleStream stream = Arrays.stream(values, 0, size);
+        return isParallel() ? stream.parallel() : stream;
+    }
+    
+    /**
+     * Returns a copy of the elements as a <code>double[]</code> array.
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Returns a copy of the elements as a {@link List} of boxed values.
+     */
+    public List<Double> toList() {
+        return Arrays.stream(values, 0, size).boxed().collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns a copy of the elements as an {@link L} of boxed values.
+     */
+    public L<Double> toL() {
+        return new L<>(toList(), false);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns the element at the <code>index</code> provided.
+     */
+    public double get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+    
+    /**
+     * @see #get(int)
+     */
+    public double g(int index) {
+        return get(index);
+    }
+    
+    /**
+     * Returns the elements at the <code>indices</code> provided.
+     */
+    public DoubleL Get(int... indices) {
+        double[] ret = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ret[i] = get(indices[i]);
+        }
+        return new DoubleL(ret, ret.length);
+    }
+    
+    /**
+     * Replaces the element at the <code>index</code> provided and returns the previous element.
+     */
+    public double set(int index, double value) {
+        checkIndex(index);
+        double previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+    
+    /**
+     * @see #set(int, double)
+     */
+    public DoubleL Set(int index, double value) {
+        set(index, value);
+        return this;
+    }
+    
+    /**
+     * @see #set(int, double)
+     */
+    public DoubleL s(int index, double value) {
+        return Set(index, value);
+    }
+    
+    /**
+     * Appends the <code>values</code> provided.
+     */
+    public DoubleL Add(double... values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+        return this;
+    }
+    
+    /**
+     * @see #Add(double...)
+     */
+    public DoubleL a(double... values) {
+        return Add(values);
+    }
+    
+    /**
+     * Appends all elements of the <code>lists</code> provided.
+     */
+    public DoubleL AddAll(DoubleL... lists) {
+        for (DoubleL list : lists) {
+            ensureCapacity(size + list.size);
+            System.arraycopy(list.values, 0, values, size, list.size);
+            size += list.size;
+        }
+        return this;
+    }
+    
+    /**
+     * @see #AddAll(DoubleL...)
+     */
+    public DoubleL A(DoubleL... lists) {
+        return AddAll(lists);
+    }
+    
+    /**
+     * Removes all elements.
+     */
+    public DoubleL Clear() {
+        size = 0;
+        return this;
+    }
+    
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+    
+    /**
+     * Returns the index of the first occurrence of the <code>value</code> provided, or -1 if there is no such element.
+     */
+    public int indexOf(double value) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(values[i], value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @see DoubleStream#forEach(DoubleConsumer)
+     */
+    public void forEach(DoubleConsumer action) {
+        stream().forEach(action);
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (double) &rarr; double</i> as a <code>double[]</code> array.
+     */
+    public double[] map(DoubleUnaryOperator function) {
+        return stream().map(function).toArray();
+    }
+    
+    /**
+     * @see #map(DoubleUnaryOperator)
+     */
+    public DoubleL Map(DoubleUnaryOperator function) {
+        return withModeOf(dl(stream().map(function)));
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (double) &rarr; R</i> as a {@link List}.
+     */
+    public <R> List<R> mapToObj(DoubleFunction<R> function) {
+        return stream().mapToObj(function).collect(Collectors.toList());
+    }
+    
+    /**
+     * @see #mapToObj(DoubleFunction)
+     */
+    public <R> L<R> MapToObj(DoubleFunction<R> function) {
+        return new L<>(mapToObj(function), false);
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>true</code> as a <code>double[]</code> array.
+     */
+    public double[] filter(DoublePredicate predicate) {
+        return stream().filter(predicate).toArray();
+    }
+    
+    /**
+     * @see #filter(DoublePredicate)
+     */
+    public DoubleL Filter(DoublePredicate predicate) {
+        return withModeOf(dl(stream().filter(predicate)));
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>false</code> as a <code>double[]</code> array.
+     */
+    public double[] reject(DoublePredicate predicate) {
+        return filter(predicate.negate());
+    }
+    
+    /**
+     * @see #reject(DoublePredicate)
+     */
+    public DoubleL Reject(DoublePredicate predicate) {
+        return Filter(predicate.negate());
+    }
+    
+    /**
+     * @see DoubleStream#reduce(double, DoubleBinaryOperator)
+     */
+    public double reduce(double identity, DoubleBinaryOperator accumulator) {
+        return stream().reduce(identity, accumulator);
+    }
+    
+    /**
+     * Returns the number of elements for which the <code>predicate</code> provided returns <code>true</code>.
+     */
+    public int count(DoublePredicate predicate) {
+        return (int) stream().filter(predicate).count();
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for every element.
+     */
+    public boolean every(DoublePredicate predicate) {
+        return stream().allMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for at least one element.
+     */
+    public boolean some(DoublePredicate predicate) {
+        return stream().anyMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for none of the elements.
+     */
+    public boolean none(DoublePredicate predicate) {
+        return stream().noneMatch(predicate);
+    }
+    
+    /**
+     * Returns the sum of all elements.
+     */
+    public double sum() {
+        return stream().sum();
+    }
+    
+    /**
+     * Returns the minimum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public double min() {
+        return stream().min().getAsDouble();
+    }
+    
+    /**
+     * Returns the maximum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public double max() {
+        return stream().max().getAsDouble();
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> as a <code>double[]</code> array.
+     */
+    public double[] sortAsc() {
+        double[] ret = toArray();
+        if (isParallel()) {
+            Arrays.parallelSort(ret);
+        }
+        else {
+            Arrays.sort(ret);
+        }
+        return ret;
+    }
+    
+    /**
+     * @see #sortAsc()
+     */
+    public DoubleL SortAsc() {
+        return withModeOf(dl(sortAsc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> as a <code>double[]</code> array.
+     */
+    public double[] sortDesc() {
+        return sortDescBy(it -> it);
+    }
+    
+    /**
+     * @see #sortDesc()
+     */
+    public DoubleL SortDesc() {
+        return withModeOf(dl(sortDesc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>double[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public double[] sortAscBy(DoubleUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, true);
+    }
+    
+    /**
+     * @see #sortAscBy(DoubleUnaryOperator)
+     */
+    public DoubleL SortAscBy(DoubleUnaryOperator keyExtractor) {
+        return withModeOf(dl(sortAscBy(keyExtractor)));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>double[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public double[] sortDescBy(DoubleUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, false);
+    }
+    
+    /**
+     * @see #sortDescBy(DoubleUnaryOperator)
+     */
+    public DoubleL SortDescBy(DoubleUnaryOperator keyExtractor) {
+        return withModeOf(dl(sortDescBy(keyExtractor)));
+    }
+    
+    private double[] sortBy(DoubleUnaryOperator keyExtractor, boolean ascending) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long key = C.sortableBits(keyExtractor.applyAsDouble(values[i]));
+            keys[i] = ascending ? key : ~key;
+        }
+        int[] order = C.sortedIndices(keys);
+        double[] ret = new double[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = values[order[i]];
+        }
+        return ret;
+    }
+    
+    @Override
+    public boolean isParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Turns the wrapped data structure parallel streamed.
+     */
+    public DoubleL Parallel() {
+        parallel = true;
+        return this;
+    }
+    
+    /**
+     * @see #Parallel()
+     */
+    public DoubleL Par() {
+        return Parallel();
+    }
+    
+    /**
+     * Turns the wrapped data structure sequentially streamed.
+     */
+    public DoubleL Sequential() {
+        parallel = false;
+        return this;
+    }
+    
+    /**
+     * @see #Sequential()
+     */
+    public DoubleL Seq() {
+        return Sequential();
+    }
+    
+    private DoubleL withModeOf(DoubleL other) {
+        other.parallel = parallel;
+        return other;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Double.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final DoubleL other = (DoubleL) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(this.values[i], other.values[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleL" + Arrays.toString(toArray());
+    }
+}
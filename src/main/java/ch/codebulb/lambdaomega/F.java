@@ -8,6 +8,7 @@ import ch.codebulb.lambdaomega.abstractions.functions.LongBiFunction;
 import ch.codebulb.lambdaomega.abstractions.FunctionalI;
 import ch.codebulb.lambdaomega.abstractions.OmegaObject;
 import ch.codebulb.lambdaomega.abstractions.ReadonlyIndexedI;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.BiConsumer;
@@ -1075,29 +1076,20 @@ public class F<T, T1 extends T, T2 extends T, R> extends OmegaObject implements
     
     /**
      * Returns an <i>ascending</i> {@link Comparator} built from subsequently applying the <code>keyExtractors</code> provided.
+     * 
+     * @see KeyComparator
      */
     public static <T> Comparator<T> compareAsc(Function<? super T, Comparable>... keyExtractors) {
-        return compareAsc(C.toList(keyExtractors));
+        return F.<T>compareAsc(C.toList(keyExtractors));
     }
     
     /**
      * @see #compareAsc(Function...)
      */
     public static <T> Comparator<T> compareAsc(List<Function<? super T, Comparable>> keyExtractors) {
-        Comparator comparator = null;
-        for (Function<? super T, Comparable> keyExtractor : keyExtractors) {
-            if (comparator == null) {
-                comparator = Comparator.comparing(keyExtractor);
-            }
-            else {
-                comparator = comparator.thenComparing(keyExtractor);
-            }
-        }
-        
-        if (comparator == null) {
-            return (Comparator<T>)Comparator.naturalOrder();
-        }
-        return comparator;
+        boolean[] ascending = new boolean[keyExtractors.size()];
+        Arrays.fill(ascending, true);
+        return new KeyComparator<>(keyExtractors.toArray(new Function[keyExtractors.size()]), ascending);
     }
     
     /**
@@ -1105,28 +1097,19 @@ public class F<T, T1 extends T, T2 extends T, R> extends OmegaObject implements
      * Every keyExtractor is a function <i>f: (T) &rarr; {@link V2}&lt;f1, Boolean&gt;</i> where the return type is 
      * a {@link V2}; its 1st element is the actual keyExtractor function <i>f1</i>, its 2nd element is a Boolean specifying the sort order for that specific
      * keyExtractor: <code>true</code> for <i>ascending</i>.
+     * <p/>
+     * Every keyExtractor is invoked only once, with a <code>null</code> argument, so its result must not depend on the argument.
+     * 
+     * @see KeyComparator
      */
     public static <T> Comparator<T> compare(Function<? super T, V2<Function<? super T, Comparable>, Boolean>>... keyExtractors) {
-        Comparator<T> comparator = null;
-        Comparator modificator = null;
-        for (Function<? super T, V2<Function<? super T, Comparable>, Boolean>> keyExtractor : keyExtractors) {
-            if (!keyExtractor.apply(null).get1()) {
-                modificator = Comparator.reverseOrder();
-            }
-            else {
-                modificator = Comparator.naturalOrder();
-            }
-            if (comparator == null) {
-                comparator = Comparator.comparing((T it) -> keyExtractor.apply(it).get0().apply(it), modificator);
-            }
-            else {
-                comparator = comparator.thenComparing((T it) -> keyExtractor.apply(it).get0().apply(it), modificator);
-            }
-        }
-        
-        if (comparator == null) {
-            return (Comparator<T>)Comparator.naturalOrder();
+        Function<? super T, Comparable>[] functions = new Function[keyExtractors.length];
+        boolean[] ascending = new boolean[keyExtractors.length];
+        for (int i = 0; i < keyExtractors.length; i++) {
+            V2<Function<? super T, Comparable>, Boolean> keyExtractor = keyExtractors[i].apply(null);
+            functions[i] = keyExtractor.get0();
+            ascending[i] = keyExtractor.get1();
         }
-        return comparator;
+        return new KeyComparator<>(functions, ascending);
     }
 }
@@ -0,0 +1,53 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable snapshot of a {@link List} whose hash code is computed once. All mutators throw an {@link UnsupportedOperationException}.
+ * Its fields are final, so it may be shared between threads without synchronization; the elements should be immutable as well.
+ * This does not extend to the {@link L} which wraps it: its {@link C#Par()} / {@link C#Lazy()} mode is set after construction.
+ *
+ * @see L#Freeze()
+ */
+final class FrozenList<T> extends AbstractList<T> implements RandomAccess {
+    private final Object[] elements;
+    private final int hash;
+
+    FrozenList(Collection<? extends T> collection) {
+        this.elements = collection.toArray();
+        this.hash = Arrays.hashCode(elements);
+    }
+
+    @Override
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof FrozenList) {
+            FrozenList<?> other = (FrozenList<?>) o;
+            return hash == other.hash && Arrays.equals(elements, other.elements);
+        }
+        return super.equals(o);
+    }
+}
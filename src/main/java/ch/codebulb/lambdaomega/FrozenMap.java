@@ -0,0 +1,126 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable snapshot of a {@link Map} which keeps the iteration order of the original map and looks up its keys with a
+ * {@link PerfectHash}. Its hash code is computed once. All mutators throw an {@link UnsupportedOperationException}.
+ * Its fields are final, so it may be shared between threads without synchronization; the keys and values should be immutable as well.
+ * This does not extend to the {@link M} which wraps it: its {@link C#Par()} / {@link C#Lazy()} mode is set after construction.
+ *
+ * @see M#Freeze()
+ */
+final class FrozenMap<K, V> extends AbstractMap<K, V> {
+    private final Object[] keys;
+    private final Object[] values;
+    private final PerfectHash perfectHash;
+    private final int hash;
+    private final Set<Entry<K, V>> entrySet = new EntrySet();
+
+    FrozenMap(Map<? extends K, ? extends V> map) {
+        keys = new Object[map.size()];
+        values = new Object[map.size()];
+        int index = 0;
+        int hash = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[index] = entry.getKey();
+            values[index++] = entry.getValue();
+            hash += Objects.hashCode(entry.getKey()) ^ Objects.hashCode(entry.getValue());
+        }
+        this.perfectHash = new PerfectHash(keys);
+        this.hash = hash;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = perfectHash.indexOf(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int index = perfectHash.indexOf(key);
+        return index >= 0 ? (V) values[index] : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return perfectHash.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof FrozenMap && hash != ((FrozenMap<?, ?>) o).hash) {
+            return false;
+        }
+        return super.equals(o);
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<Entry<K, V>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < keys.length;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<K, V> ret = new SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                    index++;
+                    return ret;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            int index = perfectHash.indexOf(entry.getKey());
+            return index >= 0 && Objects.equals(values[index], entry.getValue());
+        }
+    }
+}
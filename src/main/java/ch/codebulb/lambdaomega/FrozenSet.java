@@ -0,0 +1,64 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of a {@link Set} which keeps the iteration order of the original set and looks up its elements with a
+ * {@link PerfectHash}. Its hash code is computed once. All mutators throw an {@link UnsupportedOperationException}.
+ * Its fields are final, so it may be shared between threads without synchronization; the elements should be immutable as well.
+ * This does not extend to the {@link S} which wraps it: its {@link C#Par()} / {@link C#Lazy()} mode is set after construction.
+ *
+ * @see S#Freeze()
+ */
+final class FrozenSet<T> extends AbstractSet<T> {
+    private final Object[] elements;
+    private final PerfectHash perfectHash;
+    private final int hash;
+
+    FrozenSet(Collection<? extends T> set) {
+        this.elements = set.toArray();
+        this.perfectHash = new PerfectHash(elements);
+        int hash = 0;
+        for (Object element : elements) {
+            hash += element != null ? element.hashCode() : 0;
+        }
+        this.hash = hash;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return perfectHash.indexOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return (Iterator<T>) Arrays.asList(elements).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof FrozenSet && hash != ((FrozenSet<?>) o).hash) {
+            return false;
+        }
+        return super.equals(o);
+    }
+}
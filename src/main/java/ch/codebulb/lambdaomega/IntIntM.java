@@ -0,0 +1,436 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.functions.IntIntConsumer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The "IntIntM" stands for "int to int map". An implementation of a wrapper API for a map from primitive <code>int</code> keys
+ * to primitive <code>int</code> values which provides indexed access like {@link M}, but without boxing its keys or values.<p/>
+ *
+ * Like {@link IntM}, it is an open-addressing hash table with linear probing; it stores its keys and its values in two
+ * <code>int[]</code> arrays. The iteration order is undefined.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #iim(int, int)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ */
+public class IntIntM extends OmegaObject {
+    // the key 0 marks a free slot; it is stored apart from the table
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int maxFill;
+    private boolean containsZeroKey;
+    private int zeroValue;
+    private IntUnaryOperator defaultFunction;
+
+    IntIntM(int expectedSize) {
+        allocate(C.hashCapacity(expectedSize));
+    }
+
+    /**
+     * Creates an empty {@link IntIntM}.
+     *
+     * @see #iim(int, int)
+     */
+    public static IntIntM iim() {
+        return new IntIntM(0);
+    }
+
+    /**
+     * Creates an empty {@link IntIntM} which holds <code>expectedSize</code> entries without growing.
+     *
+     * @see #iim(int, int)
+     */
+    public static IntIntM iim(int expectedSize) {
+        return new IntIntM(expectedSize);
+    }
+
+    /**
+     * Creates a new {@link IntIntM} with the entry provided.
+     */
+    public static IntIntM iim(int key, int value) {
+        return iim().i(key, value);
+    }
+
+    /**
+     * Creates an empty {@link IntIntM} ({@link #iim()}) with subsequent {@link #WithDefault(IntUnaryOperator)} invocation.
+     */
+    public static IntIntM iim(IntUnaryOperator defaultValue) {
+        return iim().WithDefault(defaultValue);
+    }
+
+    /**
+     * Turns the map provided into an {@link IntIntM}.
+     *
+     * @see #iim(int, int)
+     */
+    public static IntIntM iim(Map<Integer, Integer> map) {
+        IntIntM ret = new IntIntM(map.size());
+        map.forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? containsZeroKey : slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided. If there is none, but there is a default function set with
+     * {@link #WithDefault(IntUnaryOperator)}, the value it returns is put into the map and returned.
+     *
+     * @throws NoSuchElementException if the <code>key</code> is not present and there is no default function
+     */
+    public int get(int key) {
+        if (key == 0) {
+            if (containsZeroKey) {
+                return zeroValue;
+            }
+        }
+        else {
+            int slot = slot(key);
+            if (slot >= 0) {
+                return values[slot];
+            }
+        }
+        if (defaultFunction == null) {
+            throw new NoSuchElementException("Key not present: " + key);
+        }
+        int ret = defaultFunction.applyAsInt(key);
+        put(key, ret);
+        return ret;
+    }
+
+    /**
+     * @see #get(int)
+     */
+    public int g(int key) {
+        return get(key);
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided, or the <code>defaultValue</code> provided if there is none.
+     * This ignores the default function.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Associates the <code>value</code> provided with the <code>key</code> provided.
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        insertAt(-slot - 1, key, value);
+    }
+
+    /**
+     * @see #put(int, int)
+     */
+    public IntIntM Put(int key, int value) {
+        put(key, value);
+        return this;
+    }
+
+    /**
+     * @see #put(int, int)
+     */
+    public IntIntM p(int key, int value) {
+        return Put(key, value);
+    }
+
+    /**
+     * Adds the <code>increment</code> provided to the value of the <code>key</code> provided, starting from 0 if it is not present,
+     * and returns the new value. This comes in handy to count occurrences.
+     */
+    public int addTo(int key, int increment) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            return zeroValue += increment;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            return values[slot] += increment;
+        }
+        insertAt(-slot - 1, key, increment);
+        return increment;
+    }
+
+    /**
+     * Invokes {@link #put(int, int)}, but only if the <code>key</code> provided is not already present;
+     * throws an {@link IndexAlreadyPresentException} otherwise.
+     */
+    public IntIntM Insert(int key, int value) {
+        if (containsKey(key)) {
+            throw new IndexAlreadyPresentException(key, get(key));
+        }
+        return Put(key, value);
+    }
+
+    /**
+     * @see #Insert(int, int)
+     */
+    public IntIntM i(int key, int value) {
+        return Insert(key, value);
+    }
+
+    /**
+     * Removes the <code>key</code> provided and returns whether it has been present.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return false;
+            }
+            containsZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return false;
+        }
+        shiftKeys(slot);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes the <code>keys</code> provided.
+     */
+    public IntIntM DeleteKey(int... keys) {
+        for (int key : keys) {
+            remove(key);
+        }
+        return this;
+    }
+
+    /**
+     * @see #DeleteKey(int...)
+     */
+    public IntIntM d(int... keys) {
+        return DeleteKey(keys);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public IntIntM Clear() {
+        allocate(C.hashCapacity(0));
+        size = 0;
+        containsZeroKey = false;
+        zeroValue = 0;
+        return this;
+    }
+
+    /**
+     * Sets the function which provides the value returned by {@link #get(int)} for a key which is not present.
+     */
+    public IntIntM WithDefault(IntUnaryOperator defaultValue) {
+        this.defaultFunction = defaultValue;
+        return this;
+    }
+
+    /**
+     * Invokes the <code>action</code> provided for every entry, without boxing.
+     */
+    public void forEach(IntIntConsumer action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys as an {@link IntL}.
+     */
+    public IntL keys() {
+        int[] ret = new int[size];
+        // the zero key, if any, comes first
+        int index = containsZeroKey ? 1 : 0;
+        for (int key : keys) {
+            if (key != 0) {
+                ret[index++] = key;
+            }
+        }
+        return new IntL(ret, size);
+    }
+
+    /**
+     * Returns the values as an {@link IntL}, in the same order as {@link #keys()}.
+     */
+    public IntL values() {
+        int[] ret = new int[size];
+        int index = 0;
+        if (containsZeroKey) {
+            ret[index++] = zeroValue;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                ret[index++] = values[i];
+            }
+        }
+        return new IntL(ret, size);
+    }
+
+    /**
+     * Returns a copy of the entries as a {@link Map} of boxed keys and values.
+     */
+    public Map<Integer, Integer> toMap() {
+        Map<Integer, Integer> ret = new LinkedHashMap<>();
+        forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the entries as an {@link M} of boxed keys and values.
+     */
+    public M<Integer, Integer> toM() {
+        return M.m(toMap());
+    }
+
+    /**
+     * Returns the index of the slot of the <code>key</code> provided, or <code>-(insertion point) - 1</code> if it is not present.
+     */
+    private int slot(int key) {
+        int slot = C.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void insertAt(int slot, int key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if ((containsZeroKey ? size - 1 : size) > maxFill) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    /**
+     * Closes the gap at the <code>slot</code> provided by shifting back the following keys of the same probe sequence.
+     */
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            int key;
+            while (true) {
+                key = keys[slot];
+                if (key == 0) {
+                    keys[last] = 0;
+                    return;
+                }
+                int home = C.mix(key) & mask;
+                // move the key unless its home slot lies cyclically in (last, slot]
+                if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[slot];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        maxFill = capacity / 4 * 3;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = -slot(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsZeroKey ? zeroValue : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += keys[i] ^ values[i];
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final IntIntM other = (IntIntM) obj;
+        if (this.size != other.size || this.containsZeroKey != other.containsZeroKey || this.zeroValue != other.zeroValue) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int slot = other.slot(keys[i]);
+                if (slot < 0 || values[i] != other.values[slot]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "IntIntM" + toMap().toString();
+    }
+}
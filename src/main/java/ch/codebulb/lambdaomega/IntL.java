@@ -0,0 +1,516 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import ch.codebulb.lambdaomega.abstractions.StreamableI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The "IntL" stands for "int list". An implementation of a wrapper API for a growable <code>int[]</code> array which provides
+ * sequential access and indexed access like {@link L}, but without boxing its elements.<p/>
+ * 
+ * The constructor of this class is not visible; use one of the convenience {@link #il(int...)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ */
+public class IntL extends OmegaObject implements StreamableI {
+    private int[] values;
+    private int size;
+    private boolean parallel;
+    
+    IntL(int[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+    
+    /**
+     * Creates a new {@link IntL}.
+     */
+    public static IntL il(int... values) {
+        return new IntL(values.clone(), values.length);
+    }
+    
+    /**
+     * Turns the stream provided into an {@link IntL}.
+     * 
+     * @see #il(int...)
+     */
+    public static IntL il(IntStream stream) {
+        int[] values = stream.toArray();
+        return new IntL(values, values.length);
+    }
+    
+    /**
+     * Turns the collection provided into an {@link IntL}.
+     * 
+     * @see #il(int...)
+     */
+    public static IntL il(Collection<Integer> collection) {
+        return il(collection.stream().mapToInt(it -> it));
+    }
+    
+    /**
+     * Turns the {@link SequentialI} (e.g. an {@link L}) provided into an {@link IntL}.
+     * 
+     * @see #il(int...)
+     */
+    public static IntL il(SequentialI<Integer> collection) {
+        return il(collection.toCollection());
+    }
+    
+    /**
+     * Creates an {@link IntL} by invoking the <code>generator</code> function provided <i><code>times</code></i> times with the current index.
+     */
+    public static IntL il(int times, IntUnaryOperator generator) {
+        int[] values = new int[times];
+        for (int i = 0; i < times; i++) {
+            values[i] = generator.applyAsInt(i);
+        }
+        return new IntL(values, times);
+    }
+    
+    /**
+     * Depending on {@link #isParallel()}, returns a parallel or a sequential {@link IntStream}.
+     */
+    public IntStream stream() {
+        IntStream stream = Arrays.stream(values, 0, size);
+        return isParallel() ? stream.parallel() : stream;
+    }
+    
+    /**
+     * Returns a copy of the elements as a <code>int[]</code> array.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Returns a copy of the elements as a {@link List} of boxed values.
+     */
+    public List<Integer> toList() {
+        return Arrays.stream(values, 0, size).boxed().collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns a copy of the elements as an {@link L} of boxed values.
+     */
+    public L<Integer> toL() {
+        return new L<>(toList(), false);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns the element at the <code>index</code> provided.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+    
+    /**
+     * @see #get(int)
+     */
+    public int g(int index) {
+        return get(index);
+    }
+    
+    /**
+     * Returns the elements at the <code>indices</code> provided.
+     */
+    public IntL Get(int... indices) {
+        int[] ret = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ret[i] = get(indices[i]);
+        }
+        return new IntL(ret, ret.length);
+    }
+    
+    /**
+     * Replaces the element at the <code>index</code> provided and returns the previous element.
+     */
+    public int set(int index, int value) {
+        checkIndex(index);
+        int previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+    
+    /**
+     * @see #set(int, int)
+     */
+    public IntL Set(int index, int value) {
+        set(index, value);
+        return this;
+    }
+    
+    /**
+     * @see #set(int, int)
+     */
+    public IntL s(int index, int value) {
+        return Set(index, value);
+    }
+    
+    /**
+     * Appends the <code>values</code> provided.
+     */
+    public IntL Add(int... values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+        return this;
+    }
+    
+    /**
+     * @see #Add(int...)
+     */
+    public IntL a(int... values) {
+        return Add(values);
+    }
+    
+    /**
+     * Appends all elements of the <code>lists</code> provided.
+     */
+    public IntL AddAll(IntL... lists) {
+        for (IntL list : lists) {
+            ensureCapacity(size + list.size);
+            System.arraycopy(list.values, 0, values, size, list.size);
+            size += list.size;
+        }
+        return this;
+    }
+    
+    /**
+     * @see #AddAll(IntL...)
+     */
+    public IntL A(IntL... lists) {
+        return AddAll(lists);
+    }
+    
+    /**
+     * Removes all elements.
+     */
+    public IntL Clear() {
+        size = 0;
+        return this;
+    }
+    
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+    
+    /**
+     * Returns the index of the first occurrence of the <code>value</code> provided, or -1 if there is no such element.
+     */
+    public int indexOf(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @see IntStream#forEach(IntConsumer)
+     */
+    public void forEach(IntConsumer action) {
+        stream().forEach(action);
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (int) &rarr; int</i> as a <code>int[]</code> array.
+     */
+    public int[] map(IntUnaryOperator function) {
+        return stream().map(function).toArray();
+    }
+    
+    /**
+     * @see #map(IntUnaryOperator)
+     */
+    public IntL Map(IntUnaryOperator function) {
+        return withModeOf(il(stream().map(function)));
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (int) &rarr; R</i> as a {@link List}.
+     */
+    public <R> List<R> mapToObj(IntFunction<R> function) {
+        return stream().mapToObj(function).collect(Collectors.toList());
+    }
+    
+    /**
+     * @see #mapToObj(IntFunction)
+     */
+    public <R> L<R> MapToObj(IntFunction<R> function) {
+        return new L<>(mapToObj(function), false);
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>true</code> as a <code>int[]</code> array.
+     */
+    public int[] filter(IntPredicate predicate) {
+        return stream().filter(predicate).toArray();
+    }
+    
+    /**
+     * @see #filter(IntPredicate)
+     */
+    public IntL Filter(IntPredicate predicate) {
+        return withModeOf(il(stream().filter(predicate)));
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>false</code> as a <code>int[]</code> array.
+     */
+    public int[] reject(IntPredicate predicate) {
+        return filter(predicate.negate());
+    }
+    
+    /**
+     * @see #reject(IntPredicate)
+     */
+    public IntL Reject(IntPredicate predicate) {
+        return Filter(predicate.negate());
+    }
+    
+    /**
+     * @see IntStream#reduce(int, IntBinaryOperator)
+     */
+    public int reduce(int identity, IntBinaryOperator accumulator) {
+        return stream().reduce(identity, accumulator);
+    }
+    
+    /**
+     * Returns the number of elements for which the <code>predicate</code> provided returns <code>true</code>.
+     */
+    public int count(IntPredicate predicate) {
+        return (int) stream().filter(predicate).count();
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for every element.
+     */
+    public boolean every(IntPredicate predicate) {
+        return stream().allMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for at least one element.
+     */
+    public boolean some(IntPredicate predicate) {
+        return stream().anyMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for none of the elements.
+     */
+    public boolean none(IntPredicate predicate) {
+        return stream().noneMatch(predicate);
+    }
+    
+    /**
+     * Returns the sum of all elements as a <code>long</code> to prevent an overflow.
+     */
+    public long sum() {
+        return stream().asLongStream().sum();
+    }
+    
+    /**
+     * Returns the minimum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int min() {
+        return stream().min().getAsInt();
+    }
+    
+    /**
+     * Returns the maximum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public int max() {
+        return stream().max().getAsInt();
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> as a <code>int[]</code> array.
+     */
+    public int[] sortAsc() {
+        int[] ret = toArray();
+        if (isParallel()) {
+            Arrays.parallelSort(ret);
+        }
+        else {
+            Arrays.sort(ret);
+        }
+        return ret;
+    }
+    
+    /**
+     * @see #sortAsc()
+     */
+    public IntL SortAsc() {
+        return withModeOf(il(sortAsc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> as a <code>int[]</code> array.
+     */
+    public int[] sortDesc() {
+        return sortDescBy(it -> it);
+    }
+    
+    /**
+     * @see #sortDesc()
+     */
+    public IntL SortDesc() {
+        return withModeOf(il(sortDesc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>int[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public int[] sortAscBy(IntUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, true);
+    }
+    
+    /**
+     * @see #sortAscBy(IntUnaryOperator)
+     */
+    public IntL SortAscBy(IntUnaryOperator keyExtractor) {
+        return withModeOf(il(sortAscBy(keyExtractor)));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>int[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public int[] sortDescBy(IntUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, false);
+    }
+    
+    /**
+     * @see #sortDescBy(IntUnaryOperator)
+     */
+    public IntL SortDescBy(IntUnaryOperator keyExtractor) {
+        return withModeOf(il(sortDescBy(keyExtractor)));
+    }
+    
+    private int[] sortBy(IntUnaryOperator keyExtractor, boolean ascending) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long key = keyExtractor.applyAsInt(values[i]);
+            keys[i] = ascending ? key : ~key;
+        }
+        int[] order = C.sortedIndices(keys);
+        int[] ret = new int[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = values[order[i]];
+        }
+        return ret;
+    }
+    
+    @Override
+    public boolean isParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Turns the wrapped data structure parallel streamed.
+     */
+    public IntL Parallel() {
+        parallel = true;
+        return this;
+    }
+    
+    /**
+     * @see #Parallel()
+     */
+    public IntL Par() {
+        return Parallel();
+    }
+    
+    /**
+     * Turns the wrapped data structure sequentially streamed.
+     */
+    public IntL Sequential() {
+        parallel = false;
+        return this;
+    }
+    
+    /**
+     * @see #Sequential()
+     */
+    public IntL Seq() {
+        return Sequential();
+    }
+    
+    private IntL withModeOf(IntL other) {
+        other.parallel = parallel;
+        return other;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Integer.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final IntL other = (IntL) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (this.values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "IntL" + Arrays.toString(toArray());
+    }
+}
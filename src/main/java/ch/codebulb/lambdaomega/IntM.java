@@ -0,0 +1,419 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.functions.IntObjConsumer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * The "IntM" stands for "int map". An implementation of a wrapper API for a map from primitive <code>int</code> keys to values
+ * which provides indexed access like {@link M}, but without boxing its keys.<p/>
+ *
+ * It is an open-addressing hash table with linear probing which stores its keys in an <code>int[]</code> array and its values
+ * in an <code>Object[]</code> array, thus it doesn't allocate an entry object per key. Removing a key shifts the following
+ * keys back rather than leaving a tombstone. The iteration order is undefined.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #im(int, Object)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ *
+ * @param <V> the value type
+ */
+public class IntM<V> extends OmegaObject {
+    // the key 0 marks a free slot; it is stored apart from the table
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int maxFill;
+    private boolean containsZeroKey;
+    private V zeroValue;
+    private IntFunction<V> defaultFunction;
+
+    IntM(int expectedSize) {
+        allocate(C.hashCapacity(expectedSize));
+    }
+
+    /**
+     * Creates an empty {@link IntM}.
+     *
+     * @see #im(int, Object)
+     */
+    public static <V> IntM<V> im() {
+        return new IntM<>(0);
+    }
+
+    /**
+     * Creates an empty {@link IntM} which holds <code>expectedSize</code> entries without growing.
+     *
+     * @see #im(int, Object)
+     */
+    public static <V> IntM<V> im(int expectedSize) {
+        return new IntM<>(expectedSize);
+    }
+
+    /**
+     * Creates a new {@link IntM} with the entry provided.
+     */
+    public static <V> IntM<V> im(int key, V value) {
+        return IntM.<V> im().i(key, value);
+    }
+
+    /**
+     * Creates an empty {@link IntM} ({@link #im()}) with subsequent {@link #WithDefault(IntFunction)} invocation.
+     */
+    public static <V> IntM<V> im(IntFunction<V> defaultValue) {
+        return IntM.<V> im().WithDefault(defaultValue);
+    }
+
+    /**
+     * Turns the map provided into an {@link IntM}.
+     *
+     * @see #im(int, Object)
+     */
+    public static <V> IntM<V> im(Map<Integer, ? extends V> map) {
+        IntM<V> ret = new IntM<>(map.size());
+        map.forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? containsZeroKey : slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided. If there is none, but there is a default function set with
+     * {@link #WithDefault(IntFunction)}, the value it returns is put into the map and returned; otherwise, <code>null</code> is returned.
+     */
+    public V get(int key) {
+        if (key == 0) {
+            if (containsZeroKey) {
+                return zeroValue;
+            }
+        }
+        else {
+            int slot = slot(key);
+            if (slot >= 0) {
+                return (V) values[slot];
+            }
+        }
+        if (defaultFunction == null) {
+            return null;
+        }
+        V ret = defaultFunction.apply(key);
+        put(key, ret);
+        return ret;
+    }
+
+    /**
+     * @see #get(int)
+     */
+    public V g(int key) {
+        return get(key);
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided, or the <code>defaultValue</code> provided if there is none.
+     * This ignores the default function.
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * Associates the <code>value</code> provided with the <code>key</code> provided and returns the previous value, or <code>null</code>.
+     */
+    public V put(int key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        slot = -slot - 1;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (tableSize() > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @see #put(int, Object)
+     */
+    public IntM<V> Put(int key, V value) {
+        put(key, value);
+        return this;
+    }
+
+    /**
+     * @see #put(int, Object)
+     */
+    public IntM<V> p(int key, V value) {
+        return Put(key, value);
+    }
+
+    /**
+     * Invokes {@link #put(int, Object)}, but only if the <code>key</code> provided is not already present;
+     * throws an {@link IndexAlreadyPresentException} otherwise.
+     */
+    public IntM<V> Insert(int key, V value) {
+        if (containsKey(key)) {
+            throw new IndexAlreadyPresentException(key, get(key));
+        }
+        return Put(key, value);
+    }
+
+    /**
+     * @see #Insert(int, Object)
+     */
+    public IntM<V> i(int key, V value) {
+        return Insert(key, value);
+    }
+
+    /**
+     * Removes the <code>key</code> provided and returns its value, or <code>null</code> if it is not present.
+     */
+    public V remove(int key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return null;
+            }
+            V previous = zeroValue;
+            containsZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Removes the <code>keys</code> provided.
+     */
+    public IntM<V> DeleteKey(int... keys) {
+        for (int key : keys) {
+            remove(key);
+        }
+        return this;
+    }
+
+    /**
+     * @see #DeleteKey(int...)
+     */
+    public IntM<V> d(int... keys) {
+        return DeleteKey(keys);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public IntM<V> Clear() {
+        allocate(C.hashCapacity(0));
+        size = 0;
+        containsZeroKey = false;
+        zeroValue = null;
+        return this;
+    }
+
+    /**
+     * Sets the function which provides the value returned by {@link #get(int)} for a key which is not present.
+     */
+    public IntM<V> WithDefault(IntFunction<V> defaultValue) {
+        this.defaultFunction = defaultValue;
+        return this;
+    }
+
+    /**
+     * Invokes the <code>action</code> provided for every entry, without boxing the keys.
+     */
+    public void forEach(IntObjConsumer<? super V> action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys as an {@link IntL}.
+     */
+    public IntL keys() {
+        int[] ret = new int[size];
+        // the zero key, if any, comes first
+        int index = containsZeroKey ? 1 : 0;
+        for (int key : keys) {
+            if (key != 0) {
+                ret[index++] = key;
+            }
+        }
+        return new IntL(ret, size);
+    }
+
+    /**
+     * Returns the values as a {@link List}.
+     */
+    public List<V> values() {
+        List<V> ret = new ArrayList<>(size);
+        forEach((key, value) -> ret.add(value));
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the entries as a {@link Map} of boxed keys.
+     */
+    public Map<Integer, V> toMap() {
+        Map<Integer, V> ret = new LinkedHashMap<>();
+        forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the entries as an {@link M} of boxed keys.
+     */
+    public M<Integer, V> toM() {
+        return M.m(toMap());
+    }
+
+    /**
+     * Returns the index of the slot of the <code>key</code> provided, or <code>-(insertion point) - 1</code> if it is not present.
+     */
+    private int slot(int key) {
+        int slot = C.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    /**
+     * Closes the gap at the <code>slot</code> provided by shifting back the following keys of the same probe sequence.
+     */
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            int key;
+            while (true) {
+                key = keys[slot];
+                if (key == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int home = C.mix(key) & mask;
+                // move the key unless its home slot lies cyclically in (last, slot]
+                if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[slot];
+        }
+    }
+
+    private int tableSize() {
+        return containsZeroKey ? size - 1 : size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = capacity / 4 * 3;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = -slot(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsZeroKey ? Objects.hashCode(zeroValue) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += Integer.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final IntM<?> other = (IntM<?>) obj;
+        if (this.size != other.size || this.containsZeroKey != other.containsZeroKey
+                || !Objects.equals(this.zeroValue, other.zeroValue)) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int slot = other.slot(keys[i]);
+                if (slot < 0 || !Objects.equals(values[i], other.values[slot])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "IntM" + toMap().toString();
+    }
+}
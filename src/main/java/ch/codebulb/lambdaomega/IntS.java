@@ -0,0 +1,1221 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The "IntS" stands for "int set". An implementation of a wrapper API for a set of primitive <code>int</code> values which is
+ * stored as a compressed bitmap, without boxing its elements.<p/>
+ *
+ * Like a Roaring bitmap, the set is split into chunks of 2<sup>16</sup> values sharing the same upper 16 bits. Each chunk is
+ * stored in the most compact of three containers: a sorted <code>char[]</code> array of up to 4096 values, a 8 KB bitmap, or a list of
+ * runs of consecutive values. Union, intersection and difference combine the chunks pairwise, bitmaps one 64-bit word at a time.
+ * An {@link R} range is inserted as runs rather than value by value. The elements are iterated in ascending order.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #is(int...)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ */
+public class IntS extends OmegaObject {
+    // the chunk keys are the upper 16 bits with the sign bit flipped so that chunks are ordered like signed ints
+    private char[] keys;
+    private Container[] containers;
+    private int count;
+
+    IntS(int capacity) {
+        keys = new char[capacity];
+        containers = new Container[capacity];
+    }
+
+    /**
+     * Creates a new {@link IntS}.
+     */
+    public static IntS is(int... values) {
+        IntS ret = new IntS(4);
+        for (int value : values) {
+            ret.add(value);
+        }
+        return ret;
+    }
+
+    /**
+     * Turns the stream provided into an {@link IntS}.
+     *
+     * @see #is(int...)
+     */
+    public static IntS is(IntStream stream) {
+        IntS ret = new IntS(4);
+        stream.sequential().forEach(ret::add);
+        return ret;
+    }
+
+    /**
+     * Turns the collection provided into an {@link IntS}.
+     *
+     * @see #is(int...)
+     */
+    public static IntS is(Collection<Integer> collection) {
+        IntS ret = new IntS(4);
+        collection.forEach(ret::add);
+        return ret;
+    }
+
+    /**
+     * Turns the {@link SequentialI} (e.g. an {@link S} or an {@link L}) provided into an {@link IntS}.
+     *
+     * @see #is(int...)
+     */
+    public static IntS is(SequentialI<Integer> collection) {
+        return is(collection.toCollection());
+    }
+
+    /**
+     * Turns the {@link IntL} provided into an {@link IntS}.
+     *
+     * @see #is(int...)
+     */
+    public static IntS is(IntL list) {
+        return is(list.stream());
+    }
+
+    /**
+     * Turns the range provided into an {@link IntS}; see {@link #Add(R)}.
+     *
+     * @see #is(int...)
+     */
+    public static IntS is(R range) {
+        return new IntS(4).Add(range);
+    }
+
+    /**
+     * Returns the number of elements, or {@link Integer#MAX_VALUE} if there are more.
+     *
+     * @see #cardinality()
+     */
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, cardinality());
+    }
+
+    /**
+     * Returns the number of elements, which may exceed {@link Integer#MAX_VALUE}.
+     */
+    public long cardinality() {
+        long ret = 0;
+        for (int i = 0; i < count; i++) {
+            ret += containers[i].cardinality();
+        }
+        return ret;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean contains(int value) {
+        int index = indexOf(high(value));
+        return index >= 0 && containers[index].contains(low(value));
+    }
+
+    /**
+     * Adds the <code>value</code> provided and returns whether it has not been present.
+     */
+    public boolean add(int value) {
+        int key = high(value);
+        int low = low(value);
+        int index = indexOf(key);
+        if (index < 0) {
+            insertContainer(-index - 1, key, new ArrayContainer(low));
+            return true;
+        }
+        if (containers[index].contains(low)) {
+            return false;
+        }
+        containers[index] = containers[index].add(low);
+        return true;
+    }
+
+    /**
+     * Removes the <code>value</code> provided and returns whether it has been present.
+     */
+    public boolean remove(int value) {
+        int low = low(value);
+        int index = indexOf(high(value));
+        if (index < 0 || !containers[index].contains(low)) {
+            return false;
+        }
+        setContainer(index, containers[index].remove(low));
+        return true;
+    }
+
+    /**
+     * @see #add(int)
+     */
+    public IntS Add(int... values) {
+        for (int value : values) {
+            add(value);
+        }
+        return this;
+    }
+
+    /**
+     * @see #Add(int...)
+     */
+    public IntS a(int... values) {
+        return Add(values);
+    }
+
+    /**
+     * Adds all elements of the <code>range</code> provided. If its step is 1 or -1, the range is inserted as one run per chunk.
+     */
+    public IntS Add(R range) {
+        if (range.isEmpty()) {
+            return this;
+        }
+        if (Math.abs(range.step) != 1) {
+            range.stream().forEach(this::add);
+            return this;
+        }
+        long from = unsigned(range.startInclusive);
+        long to = unsigned(range.endExclusive);
+        for (long chunk = from; chunk <= to; chunk = (chunk | 0xFFFF) + 1) {
+            int key = (int) (chunk >>> 16);
+            int lowFrom = (int) (chunk & 0xFFFF);
+            int lowTo = key == (int) (to >>> 16) ? (int) (to & 0xFFFF) : 0xFFFF;
+            int index = indexOf(key);
+            if (index < 0) {
+                insertContainer(-index - 1, key, new RunContainer(lowFrom, lowTo).optimize());
+            }
+            else {
+                containers[index] = containers[index].addRange(lowFrom, lowTo);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @see #Add(R)
+     */
+    public IntS a(R range) {
+        return Add(range);
+    }
+
+    /**
+     * Adds all elements of the <code>sets</code> provided.
+     *
+     * @see #union(IntS)
+     */
+    public IntS AddAll(IntS... sets) {
+        for (IntS set : sets) {
+            assign(union(this, set, false));
+        }
+        return this;
+    }
+
+    /**
+     * @see #AddAll(IntS...)
+     */
+    public IntS A(IntS... sets) {
+        return AddAll(sets);
+    }
+
+    /**
+     * @see #remove(int)
+     */
+    public IntS Remove(int... values) {
+        for (int value : values) {
+            remove(value);
+        }
+        return this;
+    }
+
+    /**
+     * Removes all elements of the <code>sets</code> provided.
+     *
+     * @see #difference(IntS)
+     */
+    public IntS RemoveAll(IntS... sets) {
+        for (IntS set : sets) {
+            assign(difference(this, set, false));
+        }
+        return this;
+    }
+
+    /**
+     * @see #RemoveAll(IntS...)
+     */
+    public IntS R(IntS... sets) {
+        return RemoveAll(sets);
+    }
+
+    /**
+     * Removes all elements which are not contained in all of the <code>sets</code> provided.
+     *
+     * @see #intersection(IntS)
+     */
+    public IntS RetainAll(IntS... sets) {
+        for (IntS set : sets) {
+            assign(intersection(this, set));
+        }
+        return this;
+    }
+
+    public IntS Clear() {
+        assign(new IntS(4));
+        return this;
+    }
+
+    /**
+     * Returns a new {@link IntS} with the elements contained in this set or in the <code>other</code> set provided.
+     */
+    public IntS union(IntS other) {
+        return union(this, other, true);
+    }
+
+    /**
+     * Returns a new {@link IntS} with the elements contained both in this set and in the <code>other</code> set provided.
+     */
+    public IntS intersection(IntS other) {
+        return intersection(this, other);
+    }
+
+    /**
+     * Returns a new {@link IntS} with the elements contained in this set, but not in the <code>other</code> set provided.
+     */
+    public IntS difference(IntS other) {
+        return difference(this, other, true);
+    }
+
+    /**
+     * Returns the minimum element.
+     *
+     * @throws NoSuchElementException if this set is empty
+     */
+    public int min() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return value(keys[0], containers[0].first());
+    }
+
+    /**
+     * Returns the maximum element.
+     *
+     * @throws NoSuchElementException if this set is empty
+     */
+    public int max() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return value(keys[count - 1], containers[count - 1].last());
+    }
+
+    public void forEach(IntConsumer action) {
+        iterator().forEachRemaining(action);
+    }
+
+    /**
+     * Returns an iterator over the elements in ascending order.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private PrimitiveIterator.OfInt current = count > 0 ? containers[0].iterator(base(keys[0])) : null;
+
+            @Override
+            public boolean hasNext() {
+                while (current != null && !current.hasNext()) {
+                    index++;
+                    current = index < count ? containers[index].iterator(base(keys[index])) : null;
+                }
+                return current != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Returns a sequential {@link IntStream} of the elements in ascending order.
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns the elements in ascending order as a <code>int[]</code> array.
+     */
+    public int[] toArray() {
+        int[] ret = new int[size()];
+        PrimitiveIterator.OfInt iterator = iterator();
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = iterator.nextInt();
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the elements in ascending order as an {@link IntL}.
+     */
+    public IntL toIntL() {
+        int[] values = toArray();
+        return new IntL(values, values.length);
+    }
+
+    /**
+     * Returns the elements in ascending order as a {@link List} of boxed values.
+     */
+    public List<Integer> toList() {
+        List<Integer> ret = new ArrayList<>(size());
+        forEach(ret::add);
+        return ret;
+    }
+
+    /**
+     * Returns the elements in ascending order as an {@link L} of boxed values.
+     */
+    public L<Integer> toL() {
+        return new L<>(toList(), false);
+    }
+
+    /**
+     * Returns the elements in ascending order as a {@link Set} of boxed values.
+     */
+    public Set<Integer> toSet() {
+        Set<Integer> ret = new CompactSet<>(size());
+        forEach(ret::add);
+        return ret;
+    }
+
+    /**
+     * Returns the elements in ascending order as an {@link S} of boxed values.
+     */
+    public S<Integer> toS() {
+        return new S<>(toSet(), false);
+    }
+
+    /**
+     * Returns the maximal ranges of consecutive elements in ascending order.
+     */
+    public L<R> toRanges() {
+        List<R> ret = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = iterator();
+        if (!iterator.hasNext()) {
+            return new L<>(ret, false);
+        }
+        int start = iterator.nextInt();
+        int end = start;
+        while (iterator.hasNext()) {
+            int value = iterator.nextInt();
+            if (value != end + 1) {
+                ret.add(new R(start, end, true));
+                start = value;
+            }
+            end = value;
+        }
+        ret.add(new R(start, end, true));
+        return new L<>(ret, false);
+    }
+
+    private static int high(int value) {
+        return (value ^ Integer.MIN_VALUE) >>> 16;
+    }
+
+    private static int low(int value) {
+        return value & 0xFFFF;
+    }
+
+    private static long unsigned(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Returns the upper bits of all values of the chunk of the <code>key</code> provided; the lower bits are added with <code>|</code>.
+     */
+    private static int base(int key) {
+        return (key << 16) ^ Integer.MIN_VALUE;
+    }
+
+    private static int value(int key, int low) {
+        return base(key) | low;
+    }
+
+    /**
+     * Returns the simple class name of the container which holds the chunk of the <code>value</code> provided, or <code>null</code>
+     * if the chunk is empty; visible for testing.
+     */
+    String containerType(int value) {
+        int index = indexOf(high(value));
+        return index >= 0 ? containers[index].getClass().getSimpleName() : null;
+    }
+
+    private int indexOf(int key) {
+        return Arrays.binarySearch(keys, 0, count, (char) key);
+    }
+
+    private void insertContainer(int index, int key, Container container) {
+        if (count == keys.length) {
+            int capacity = Math.max(4, count + (count >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = (char) key;
+        containers[index] = container;
+        count++;
+    }
+
+    /**
+     * Replaces the container at the <code>index</code> provided; a <code>null</code> container removes the chunk.
+     */
+    private void setContainer(int index, Container container) {
+        if (container != null) {
+            containers[index] = container;
+            return;
+        }
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+        containers[--count] = null;
+    }
+
+    private void append(int key, Container container) {
+        if (container != null) {
+            insertContainer(count, key, container);
+        }
+    }
+
+    private void assign(IntS other) {
+        keys = other.keys;
+        containers = other.containers;
+        count = other.count;
+    }
+
+    /**
+     * Returns the union of the sets provided; the containers of <code>a</code> are reused rather than copied unless <code>copy</code> is set.
+     */
+    private static IntS union(IntS a, IntS b, boolean copy) {
+        IntS ret = new IntS(a.count + b.count);
+        int i = 0;
+        int j = 0;
+        while (i < a.count || j < b.count) {
+            int keyA = i < a.count ? a.keys[i] : Integer.MAX_VALUE;
+            int keyB = j < b.count ? b.keys[j] : Integer.MAX_VALUE;
+            if (keyA < keyB) {
+                ret.append(keyA, copy ? a.containers[i].copy() : a.containers[i]);
+                i++;
+            }
+            else if (keyB < keyA) {
+                ret.append(keyB, b.containers[j++].copy());
+            }
+            else {
+                ret.append(keyA, or(a.containers[i++], b.containers[j++]));
+            }
+        }
+        return ret;
+    }
+
+    private static IntS intersection(IntS a, IntS b) {
+        IntS ret = new IntS(Math.min(a.count, b.count));
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            }
+            else if (b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            else {
+                ret.append(a.keys[i], and(a.containers[i++], b.containers[j++]));
+            }
+        }
+        return ret;
+    }
+
+    private static IntS difference(IntS a, IntS b, boolean copy) {
+        IntS ret = new IntS(a.count);
+        int j = 0;
+        for (int i = 0; i < a.count; i++) {
+            while (j < b.count && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.count && b.keys[j] == a.keys[i]) {
+                ret.append(a.keys[i], andNot(a.containers[i], b.containers[j]));
+            }
+            else {
+                ret.append(a.keys[i], copy ? a.containers[i].copy() : a.containers[i]);
+            }
+        }
+        return ret;
+    }
+
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+            return ((ArrayContainer) a).or((ArrayContainer) b);
+        }
+        if (a instanceof RunContainer && b instanceof RunContainer) {
+            return ((RunContainer) a).or((RunContainer) b);
+        }
+        if (a instanceof ArrayContainer) {
+            Container swap = a;
+            a = b;
+            b = swap;
+        }
+        BitmapContainer ret = a.toBitmap();
+        if (b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) b;
+            for (int i = 0; i < array.cardinality; i++) {
+                ret.set(array.values[i]);
+            }
+            return ret.optimize();
+        }
+        long[] words = words(b);
+        for (int i = 0; i < BitmapContainer.WORDS; i++) {
+            ret.words[i] |= words[i];
+        }
+        return ret.recount().optimize();
+    }
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, true);
+        }
+        if (b instanceof ArrayContainer) {
+            return ((ArrayContainer) b).filter(a, true);
+        }
+        BitmapContainer ret = a.toBitmap();
+        long[] words = words(b);
+        for (int i = 0; i < BitmapContainer.WORDS; i++) {
+            ret.words[i] &= words[i];
+        }
+        return ret.recount().optimize();
+    }
+
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter(b, false);
+        }
+        BitmapContainer ret = a.toBitmap();
+        if (b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) b;
+            for (int i = 0; i < array.cardinality; i++) {
+                ret.clear(array.values[i]);
+            }
+            return ret.optimize();
+        }
+        long[] words = words(b);
+        for (int i = 0; i < BitmapContainer.WORDS; i++) {
+            ret.words[i] &= ~words[i];
+        }
+        return ret.recount().optimize();
+    }
+
+    /**
+     * Returns the bitmap words of the container provided without copying them if it is a bitmap.
+     */
+    private static long[] words(Container container) {
+        return container instanceof BitmapContainer ? ((BitmapContainer) container).words : container.toBitmap().words;
+    }
+
+    /**
+     * The values of one chunk, i.e. the lower 16 bits of the elements which share the same upper 16 bits.
+     * A mutator returns the container which holds the result, which may be a new one of a different kind, or <code>null</code> if
+     * it's empty.
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        abstract Container add(int low);
+
+        abstract Container remove(int low);
+
+        /**
+         * Adds the values between <code>from</code> and <code>to</code> (both incl.).
+         */
+        abstract Container addRange(int from, int to);
+
+        abstract int first();
+
+        abstract int last();
+
+        abstract BitmapContainer toBitmap();
+
+        abstract Container copy();
+
+        abstract PrimitiveIterator.OfInt iterator(int base);
+    }
+
+    private static final class ArrayContainer extends Container {
+        // above this many values, a bitmap is smaller
+        private static final int MAX_SIZE = 4096;
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer(int low) {
+            values = new char[4];
+            values[0] = (char) low;
+            cardinality = 1;
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, cardinality, (char) low) >= 0;
+        }
+
+        @Override
+        Container add(int low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_SIZE) {
+                return toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_SIZE, cardinality + (cardinality >> 1) + 1));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = (char) low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(int low) {
+            int index = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (index < 0) {
+                return this;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return cardinality > 0 ? this : null;
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            BitmapContainer ret = toBitmap();
+            ret.setRange(from, to);
+            return ret.optimize();
+        }
+
+        @Override
+        int first() {
+            return values[0];
+        }
+
+        @Override
+        int last() {
+            return values[cardinality - 1];
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer ret = new BitmapContainer();
+            for (int i = 0; i < cardinality; i++) {
+                ret.set(values[i]);
+            }
+            return ret;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        private Container or(ArrayContainer other) {
+            if (cardinality + other.cardinality > MAX_SIZE) {
+                BitmapContainer ret = toBitmap();
+                for (int i = 0; i < other.cardinality; i++) {
+                    ret.set(other.values[i]);
+                }
+                return ret.optimize();
+            }
+            char[] ret = new char[cardinality + other.cardinality];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < other.cardinality) {
+                char a = values[i];
+                char b = other.values[j];
+                ret[size++] = a <= b ? a : b;
+                if (a <= b) {
+                    i++;
+                }
+                if (b <= a) {
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                ret[size++] = values[i++];
+            }
+            while (j < other.cardinality) {
+                ret[size++] = other.values[j++];
+            }
+            return new ArrayContainer(ret, size);
+        }
+
+        /**
+         * Returns the values which are (<code>contained</code> is <code>true</code>) or aren't contained in the <code>other</code> container.
+         */
+        private Container filter(Container other, boolean contained) {
+            char[] ret = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == contained) {
+                    ret[size++] = values[i];
+                }
+            }
+            return size > 0 ? new ArrayContainer(ret, size) : null;
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < cardinality;
+                }
+
+                @Override
+                public int nextInt() {
+                    return base | values[index++];
+                }
+            };
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private static final int WORDS = 1024;
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer() {
+            this.words = new long[WORDS];
+        }
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        private void set(int low) {
+            long word = words[low >>> 6];
+            words[low >>> 6] = word | (1L << low);
+            if (word != words[low >>> 6]) {
+                cardinality++;
+            }
+        }
+
+        private void clear(int low) {
+            long word = words[low >>> 6];
+            words[low >>> 6] = word & ~(1L << low);
+            if (word != words[low >>> 6]) {
+                cardinality--;
+            }
+        }
+
+        private void setRange(int from, int to) {
+            int first = from >>> 6;
+            int last = to >>> 6;
+            for (int i = first; i <= last; i++) {
+                long mask = -1L;
+                if (i == first) {
+                    mask &= -1L << from;
+                }
+                if (i == last) {
+                    mask &= -1L >>> (63 - (to & 63));
+                }
+                cardinality += Long.bitCount(mask & ~words[i]);
+                words[i] |= mask;
+            }
+        }
+
+        private BitmapContainer recount() {
+            cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            return this;
+        }
+
+        /**
+         * Returns the most compact container for the values of this bitmap.
+         */
+        private Container optimize() {
+            if (cardinality == 0) {
+                return null;
+            }
+            if (cardinality <= ArrayContainer.MAX_SIZE) {
+                char[] values = new char[cardinality];
+                int size = 0;
+                for (int i = 0; i < WORDS; i++) {
+                    for (long word = words[i]; word != 0; word &= word - 1) {
+                        values[size++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    }
+                }
+                return new ArrayContainer(values, size);
+            }
+            if (cardinality == WORDS * 64) {
+                return new RunContainer(0, 0xFFFF);
+            }
+            return this;
+        }
+
+        @Override
+        Container add(int low) {
+            set(low);
+            return this;
+        }
+
+        @Override
+        Container remove(int low) {
+            clear(low);
+            return cardinality <= ArrayContainer.MAX_SIZE ? optimize() : this;
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            setRange(from, to);
+            return optimize();
+        }
+
+        @Override
+        int first() {
+            int i = 0;
+            while (words[i] == 0) {
+                i++;
+            }
+            return (i << 6) + Long.numberOfTrailingZeros(words[i]);
+        }
+
+        @Override
+        int last() {
+            int i = WORDS - 1;
+            while (words[i] == 0) {
+                i--;
+            }
+            return (i << 6) + 63 - Long.numberOfLeadingZeros(words[i]);
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        Container copy() {
+            return toBitmap();
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int index;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (word == 0 && index < WORDS - 1) {
+                        word = words[++index];
+                    }
+                    return word != 0;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int ret = base | ((index << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                    return ret;
+                }
+            };
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        // above this many runs, a bitmap is smaller
+        private static final int MAX_RUNS = 2048;
+        // the first and the last value (both incl.) of each run
+        private char[] starts;
+        private char[] ends;
+        private int runs;
+        private int cardinality;
+
+        private RunContainer(int from, int to) {
+            this(new char[] {(char) from}, new char[] {(char) to}, 1);
+        }
+
+        private RunContainer(char[] starts, char[] ends, int runs) {
+            this.starts = starts;
+            this.ends = ends;
+            this.runs = runs;
+            for (int i = 0; i < runs; i++) {
+                cardinality += ends[i] - starts[i] + 1;
+            }
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        /**
+         * Returns the index of the run which contains the value provided, or -1.
+         */
+        private int runOf(int low) {
+            int lower = 0;
+            int upper = runs - 1;
+            while (lower <= upper) {
+                int middle = (lower + upper) >>> 1;
+                if (starts[middle] > low) {
+                    upper = middle - 1;
+                }
+                else if (ends[middle] < low) {
+                    lower = middle + 1;
+                }
+                else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        boolean contains(int low) {
+            return runOf(low) >= 0;
+        }
+
+        @Override
+        Container add(int low) {
+            return addRange(low, low);
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            char[] newStarts = new char[runs + 1];
+            char[] newEnds = new char[runs + 1];
+            int size = 0;
+            int i = 0;
+            // runs which end before the range, not even adjacent to it
+            while (i < runs && ends[i] + 1 < from) {
+                newStarts[size] = starts[i];
+                newEnds[size++] = ends[i++];
+            }
+            // runs which overlap or touch the range are merged into it
+            while (i < runs && starts[i] <= to + 1) {
+                from = Math.min(from, starts[i]);
+                to = Math.max(to, ends[i++]);
+            }
+            newStarts[size] = (char) from;
+            newEnds[size++] = (char) to;
+            while (i < runs) {
+                newStarts[size] = starts[i];
+                newEnds[size++] = ends[i++];
+            }
+            return new RunContainer(newStarts, newEnds, size).optimize();
+        }
+
+        @Override
+        Container remove(int low) {
+            int index = runOf(low);
+            if (index < 0) {
+                return this;
+            }
+            if (starts[index] == ends[index]) {
+                System.arraycopy(starts, index + 1, starts, index, runs - index - 1);
+                System.arraycopy(ends, index + 1, ends, index, runs - index - 1);
+                runs--;
+            }
+            else if (starts[index] == low) {
+                starts[index]++;
+            }
+            else if (ends[index] == low) {
+                ends[index]--;
+            }
+            else {
+                // split the run in two
+                if (runs == starts.length) {
+                    starts = Arrays.copyOf(starts, runs + (runs >> 1) + 1);
+                    ends = Arrays.copyOf(ends, starts.length);
+                }
+                System.arraycopy(starts, index + 1, starts, index + 2, runs - index - 1);
+                System.arraycopy(ends, index, ends, index + 1, runs - index);
+                ends[index] = (char) (low - 1);
+                starts[index + 1] = (char) (low + 1);
+                runs++;
+            }
+            cardinality--;
+            return optimize();
+        }
+
+        /**
+         * Returns the most compact container for the values of these runs.
+         */
+        private Container optimize() {
+            if (cardinality == 0) {
+                return null;
+            }
+            if (runs > MAX_RUNS) {
+                return toBitmap().optimize();
+            }
+            // a value takes 2 bytes in an array, a run 4 bytes
+            if (cardinality < 2 * runs) {
+                char[] values = new char[cardinality];
+                int size = 0;
+                for (int i = 0; i < runs; i++) {
+                    for (int low = starts[i]; low <= ends[i]; low++) {
+                        values[size++] = (char) low;
+                    }
+                }
+                return new ArrayContainer(values, size);
+            }
+            return this;
+        }
+
+        private Container or(RunContainer other) {
+            Container ret = copy();
+            for (int i = 0; i < other.runs && ret instanceof RunContainer; i++) {
+                ret = ret.addRange(other.starts[i], other.ends[i]);
+            }
+            if (!(ret instanceof RunContainer)) {
+                return IntS.or(ret, other);
+            }
+            return ret;
+        }
+
+        @Override
+        int first() {
+            return starts[0];
+        }
+
+        @Override
+        int last() {
+            return ends[runs - 1];
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            BitmapContainer ret = new BitmapContainer();
+            for (int i = 0; i < runs; i++) {
+                ret.setRange(starts[i], ends[i]);
+            }
+            return ret;
+        }
+
+        @Override
+        Container copy() {
+            return new RunContainer(Arrays.copyOf(starts, runs), Arrays.copyOf(ends, runs), runs);
+        }
+
+        @Override
+        PrimitiveIterator.OfInt iterator(int base) {
+            return new PrimitiveIterator.OfInt() {
+                private int index;
+                private int next = runs > 0 ? starts[0] : 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < runs;
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int ret = base | next;
+                    if (next == ends[index]) {
+                        if (++index < runs) {
+                            next = starts[index];
+                        }
+                    }
+                    else {
+                        next++;
+                    }
+                    return ret;
+                }
+            };
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        // consistent with Set<Integer>
+        int hash = 0;
+        for (PrimitiveIterator.OfInt iterator = iterator(); iterator.hasNext();) {
+            hash += iterator.nextInt();
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final IntS other = (IntS) obj;
+        if (this.count != other.count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (this.keys[i] != other.keys[i] || this.containers[i].cardinality() != other.containers[i].cardinality()
+                    || andNot(this.containers[i], other.containers[i]) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "IntS" + Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,289 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Comparator} compiled from consecutive key extractors, each with its own sort order. Other than comparing two elements,
+ * it sorts and selects from a whole {@link Stream} while invoking every key extractor at most once per element.
+ * <p/>
+ * {@link #sort(Stream)} extracts all keys upfront, then sorts the element indices by these keys ("decorate-sort-undecorate").
+ * Keys which are all {@link Integer}s, {@link Long}s, {@link Short}s, {@link Byte}s, {@link Character}s, {@link Double}s or {@link Float}s
+ * are stored as <code>long</code>s; if every key is stored like that, the indices are sorted by a linear-time radix sort.
+ * Otherwise they are sorted by a merge sort, which is run by {@link Arrays#parallelSort(Object[], Comparator)} if the stream is parallel.
+ * Either way, the sort is stable.<p/>
+ *
+ * {@link F#compareAsc(Function...)} and {@link F#compare(Function...)} return an instance of this class as a plain {@link Comparator};
+ * the static {@link #sort(Stream, Comparator)}, {@link #min(Stream, Comparator)} and {@link #max(Stream, Comparator)} methods detect it.
+ *
+ * @see F#compareAsc(Function...)
+ * @see F#compare(Function...)
+ */
+public final class KeyComparator<T> implements Comparator<T> {
+    private final Function<? super T, Comparable>[] keyExtractors;
+    private final boolean[] ascending;
+
+    KeyComparator(Function<? super T, Comparable>[] keyExtractors, boolean[] ascending) {
+        if (keyExtractors.length == 0) {
+            // natural order
+            this.keyExtractors = new Function[]{it -> (Comparable) it};
+            this.ascending = new boolean[]{true};
+        }
+        else {
+            this.keyExtractors = keyExtractors;
+            this.ascending = ascending;
+        }
+    }
+
+    @Override
+    public int compare(T o1, T o2) {
+        for (int i = 0; i < keyExtractors.length; i++) {
+            int ret = compare(i, keyExtractors[i].apply(o1), keyExtractors[i].apply(o2));
+            if (ret != 0) {
+                return ret;
+            }
+        }
+        return 0;
+    }
+
+    private int compare(int keyIndex, Comparable key1, Comparable key2) {
+        return ascending[keyIndex] ? key1.compareTo(key2) : key2.compareTo(key1);
+    }
+
+    /**
+     * Returns a {@link KeyComparator} with the sort order of every key extractor reversed.
+     */
+    @Override
+    public KeyComparator<T> reversed() {
+        boolean[] reversed = new boolean[ascending.length];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = !ascending[i];
+        }
+        return new KeyComparator<>(keyExtractors, reversed);
+    }
+
+    /**
+     * Returns a {@link List} of all elements of the <code>stream</code> provided in the order of the <code>comparator</code> provided,
+     * using {@link #sort(Stream)} if it is a {@link KeyComparator}.
+     */
+    public static <T> List<T> sort(Stream<T> stream, Comparator<? super T> comparator) {
+        if (comparator instanceof KeyComparator) {
+            return ((KeyComparator<T>) comparator).sort(stream);
+        }
+        return stream.sorted(comparator).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the first of the smallest elements of the <code>stream</code> provided, using {@link #min(Stream)} if the
+     * <code>comparator</code> provided is a {@link KeyComparator}.
+     *
+     * @throws NoSuchElementException if the stream is empty
+     */
+    public static <T> T min(Stream<T> stream, Comparator<? super T> comparator) {
+        if (comparator instanceof KeyComparator) {
+            return ((KeyComparator<T>) comparator).min(stream);
+        }
+        return stream.min(comparator).get();
+    }
+
+    /**
+     * Returns the first of the biggest elements of the <code>stream</code> provided.
+     *
+     * @see #min(Stream, Comparator)
+     */
+    public static <T> T max(Stream<T> stream, Comparator<? super T> comparator) {
+        if (comparator instanceof KeyComparator) {
+            return ((KeyComparator<T>) comparator).max(stream);
+        }
+        return stream.max(comparator).get();
+    }
+
+    /**
+     * Returns a {@link List} of all elements of the <code>stream</code> provided in the order of this comparator;
+     * elements which compare equal keep their encounter order.
+     */
+    public List<T> sort(Stream<T> stream) {
+        boolean parallel = stream.isParallel();
+        Object[] elements = stream.toArray();
+        Object[] columns = new Object[keyExtractors.length];
+        boolean primitive = true;
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = extractKeys(elements, i, parallel);
+            primitive &= columns[i] instanceof long[];
+        }
+
+        List<T> ret = new ArrayList<>(elements.length);
+        if (primitive) {
+            for (int index : sortByPrimitiveKeys(columns, elements.length)) {
+                ret.add((T) elements[index]);
+            }
+        }
+        else {
+            Integer[] order = new Integer[elements.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Comparator<Integer> byKeys = (index1, index2) -> compareKeys(columns, index1, index2);
+            if (parallel) {
+                Arrays.parallelSort(order, byKeys);
+            }
+            else {
+                Arrays.sort(order, byKeys);
+            }
+            for (int index : order) {
+                ret.add((T) elements[index]);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns either a <code>long[]</code> array if all keys can be represented as sortable <code>long</code>s,
+     * or a {@link Comparable}<code>[]</code> array.
+     */
+    private Object extractKeys(Object[] elements, int keyIndex, boolean parallel) {
+        Function<? super T, Comparable> keyExtractor = keyExtractors[keyIndex];
+        Comparable[] keys = new Comparable[elements.length];
+        IntConsumer extractor = i -> keys[i] = keyExtractor.apply((T) elements[i]);
+        if (parallel) {
+            IntStream.range(0, elements.length).parallel().forEach(extractor);
+        }
+        else {
+            for (int i = 0; i < elements.length; i++) {
+                extractor.accept(i);
+            }
+        }
+
+        if (keys.length == 0 || keys[0] == null) {
+            return keys;
+        }
+        Class<?> type = keys[0].getClass();
+        boolean integral = type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+        boolean floating = type == Double.class || type == Float.class;
+        if (!integral && !floating && type != Character.class) {
+            return keys;
+        }
+        long[] ret = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null || keys[i].getClass() != type) {
+                return keys;
+            }
+            long key = integral ? ((Number) keys[i]).longValue()
+                    : floating ? C.sortableBits(((Number) keys[i]).doubleValue()) : (Character) keys[i];
+            ret[i] = ascending[keyIndex] ? key : ~key;
+        }
+        return ret;
+    }
+
+    private static int[] sortByPrimitiveKeys(Object[] columns, int size) {
+        // LSD: stable sorts from the last to the first key
+        int[] order = null;
+        for (int i = columns.length - 1; i >= 0; i--) {
+            long[] keys = (long[]) columns[i];
+            if (order != null) {
+                long[] permuted = new long[size];
+                for (int j = 0; j < size; j++) {
+                    permuted[j] = keys[order[j]];
+                }
+                keys = permuted;
+            }
+            int[] pass = C.sortedIndices(keys);
+            if (order != null) {
+                for (int j = 0; j < size; j++) {
+                    pass[j] = order[pass[j]];
+                }
+            }
+            order = pass;
+        }
+        return order;
+    }
+
+    private int compareKeys(Object[] columns, int index1, int index2) {
+        for (int i = 0; i < columns.length; i++) {
+            int ret;
+            if (columns[i] instanceof long[]) {
+                long[] keys = (long[]) columns[i];
+                ret = Long.compare(keys[index1], keys[index2]);
+            }
+            else {
+                Comparable[] keys = (Comparable[]) columns[i];
+                ret = compare(i, keys[index1], keys[index2]);
+            }
+            if (ret != 0) {
+                return ret;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the first of the smallest elements of the <code>stream</code> provided. The keys of the smallest element
+     * found so far are cached, so that every key extractor is invoked at most once per element.
+     *
+     * @throws NoSuchElementException if the stream is empty
+     */
+    public T min(Stream<T> stream) {
+        Extreme ret = stream.collect(Extreme::new, Extreme::offer, Extreme::merge);
+        if (!ret.present) {
+            throw new NoSuchElementException("No value present");
+        }
+        return ret.element;
+    }
+
+    /**
+     * Returns the first of the biggest elements of the <code>stream</code> provided.
+     *
+     * @see #min(Stream)
+     */
+    public T max(Stream<T> stream) {
+        return reversed().min(stream);
+    }
+
+    private class Extreme {
+        private boolean present;
+        private T element;
+        // the keys of the element, extracted lazily
+        private Comparable[] keys = new Comparable[keyExtractors.length];
+        private Comparable[] candidateKeys = new Comparable[keyExtractors.length];
+
+        private void offer(T candidate) {
+            if (!present) {
+                present = true;
+                element = candidate;
+                return;
+            }
+            for (int i = 0; i < keyExtractors.length; i++) {
+                if (keys[i] == null) {
+                    keys[i] = keyExtractors[i].apply(element);
+                }
+                candidateKeys[i] = keyExtractors[i].apply(candidate);
+                int ret = compare(i, candidateKeys[i], keys[i]);
+                if (ret < 0) {
+                    element = candidate;
+                    Comparable[] swap = keys;
+                    keys = candidateKeys;
+                    candidateKeys = swap;
+                    Arrays.fill(keys, i + 1, keys.length, null);
+                    return;
+                }
+                if (ret > 0) {
+                    return;
+                }
+            }
+        }
+
+        private void merge(Extreme other) {
+            if (other.present) {
+                offer(other.element);
+            }
+        }
+    }
+}
@@ -4,18 +4,25 @@ import static ch.codebulb.lambdaomega.F.compareAsc;
 import ch.codebulb.lambdaomega.M.E;
 import static ch.codebulb.lambdaomega.M.e;
 import ch.codebulb.lambdaomega.abstractions.IndexedI;
+import ch.codebulb.lambdaomega.abstractions.IndexedListI;
 import ch.codebulb.lambdaomega.abstractions.IndexedListIS;
 import ch.codebulb.lambdaomega.abstractions.OrderedSequentialS;
 import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import ch.codebulb.lambdaomega.abstractions.SequentialIFunctions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -23,9 +30,11 @@ import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.function.ToDoubleBiFunction;
 import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -43,25 +52,34 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
      * The {@link List} wrapped by this API.
      */
     public final List<T> l;
+    private Map<Integer, T> indexMap;
     
     L(List<T> list) {
         this.l = new ArrayList<>(list);
     }
     
+    /**
+     * Wraps the <code>list</code> provided; it is only copied if <code>copy</code> is <code>true</code>.
+     */
+    L(List<T> list, boolean copy) {
+        this.l = copy ? new ArrayList<>(list) : list;
+    }
+    
     /**
      * Creates an empty {@link L}.
      * 
      * @see #l(Object...)
      */
     public static <T> L<T> l() {
-        return new L<>(new ArrayList<>());
+        return new L<>(new ArrayList<>(), false);
     }
     
     /**
      * Creates a new {@link L}. Use {@link #L(Collection)} to create a {@link L} out of an existing Collection rather than a nested {@link L}.
      */
     public static <T> L<T> l(T... ts) {
-        return L(C.toStream(ts));
+        // copies the array once, without a stream
+        return new L<>(new ArrayList<>(Arrays.asList(ts)), false);
     }
     
     /**
@@ -75,14 +93,14 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
      * @see #l(Object...)
      */
     public static <T> L<T> L(Stream<T> stream) {
-        return new L(stream.collect(Collectors.toList()));
+        return new L<>(stream.collect(Collectors.toCollection(ArrayList::new)), false);
     }
     
     /**
      * Turns the collection(s) provided into an {@link L} rather than creating a nested {@link L}.
      */
     public static <T> L<T> L(Collection<T> collection) {
-        return L(C.toStream(collection));
+        return new L<>(new ArrayList<>(collection), false);
     }
     
     /**
@@ -112,7 +130,7 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
      * Creates a {@link L} by invoking the <code>generator</code> function provided <i><code>times</code></i> times with the current index.
      */
     public static <T> L<T> l(int times, Function<Integer, T> generator) {
-        return L(R.r(0).to(times).r.boxed().map(generator));
+        return L(R.r(0).to(times).stream().mapToObj(generator::apply));
     }
     
     /**
@@ -121,6 +139,15 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
     public static <T> List<T> list(int times, Function<Integer, T> generator) {
         return l(times, generator).l;
     }
+    
+    /**
+     * Creates a lazy {@link L} with the same mode as the <code>source</code> provided which is backed by the <code>pipeline</code> provided.
+     * 
+     * @see C#Lazy()
+     */
+    static <T> L<T> lazy(C<?, ?, ?> source, Supplier<Stream<T>> pipeline) {
+        return source.withModeOf(new L<>(new LazyList<>(pipeline), false));
+    }
 
     @Override
     public Collection<T> toCollection() {
@@ -151,26 +178,14 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
         }
     }
     
+    /**
+     * Returns a live {@link Map} view of this list which maps every index to its element.
+     */
     Map<Integer, T> toInternalMap() {
-        if (!isParallel()) {
-            // use fast sequential counting
-            return mapEntries(new Function<T, E<Integer, T>>() {
-                int i = 0;
-                @Override
-                public E<Integer, T> apply(T t) {
-                    return M.e(i++, t);
-                }
-            });
-        }
-        else {
-            // retrieve each index individually
-            return mapEntries(new Function<T, E<Integer, T>>() {
-                @Override
-                public E<Integer, T> apply(T t) {
-                    return M.e(indexOf(t), t);
-                }
-            });
+        if (indexMap == null) {
+            indexMap = new IndexMap();
         }
+        return indexMap;
     }
     
     @Override
@@ -198,36 +213,22 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
         return l;
     }
     
+    /**
+     * Unlike {@link IndexedI#getKeys()}, this returns a read-only view backed by the list, so changes are reflected.
+     */
     @Override
     public Set<Integer> getKeys() {
-        return new HashSet<>(R.r(0).to(size()).list);
+        return new IndexSet();
     }
 
+    /**
+     * Unlike {@link IndexedI#getEntries()}, this returns a read-only view backed by the list, so changes are reflected.
+     */
     @Override
     public Set<E<Integer, T>> getEntries() {
-        if (!isParallel()) {
-            // use fast sequential counting
-            return Map(new Function<T, E<Integer, T>>() {
-                int i = 0;
-                @Override
-                public E<Integer, T> apply(T t) {
-                    return M.e(i++, t);
-                }
-            }).toSet();
-        }
-        else {
-            // retrieve each index individually
-            return Map(new Function<T, E<Integer, T>>() {
-                @Override
-                public E<Integer, T> apply(T t) {
-                    return M.e(indexOf(t), t);
-                }
-            }).toSet();
-        }
+        return new EntrySet();
     }
     
-    
-    
     @Override
     public boolean containsAnyKey(Integer... keys) {
         return C.toStream(keys).anyMatch(it -> it >= 0 && size() > it);
@@ -288,15 +289,19 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
 
     @Override
     public Map<Integer, T> insertAll(List<Map<? extends Integer, ? extends T>> m) {
-        M.m(toInternalMap()).insertAll(m);
+        E<Integer, T> duplicate = IndexedListI.findDuplicateKey(toInternalMap(), m);
+        if (duplicate != null) {
+            throw new IndexAlreadyPresentException(duplicate.k, duplicate.v);
+        }
+        if (l instanceof ArrayList) {
+            ((ArrayList<T>) l).ensureCapacity(l.size() + m.stream().mapToInt(Map::size).sum());
+        }
         C.toStream(m).forEach(col -> {
             col.entrySet().stream().sorted(compareAsc(it -> it.getKey())).forEach(it -> add(it.getValue()));
         });
         return toInternalMap();
     }
     
-    
-
     @Override
     public T replace(Integer key, T value) {
         if (!containsAnyKey(key)) {
@@ -331,22 +336,94 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
     
     @Override
     public Map<Integer, T> deleteKey(Integer... key) {
-        l(key).SortAscBy().forEach((it, i) -> l.remove(it-i));
-        return toInternalMap();
+        if (key.length == 1) {
+            l.remove((int) key[0]);
+            return toInternalMap();
+        }
+        return deleteAllKeys(mask(C.toStream(key)));
     }
 
     @Override
     public Map<Integer, T> deleteAllKeys(Collection<? extends Integer>... keys) {
-        l(keys).<Integer> Flatten().SortAscBy().forEach((it, i) -> l.remove(it-i));
-        return toInternalMap();
+        return deleteAllKeys(mask(C.toStream(keys).flatMap(C::toStream)));
     }
     
     @Override
     public Map<Integer, T> deleteAllKeys(SequentialI<? extends Integer>... keys) {
-        l(keys).<Integer> Flatten().SortAscBy().forEach((it, i) -> l.remove(it-i));
+        return deleteAllKeys(mask(C.toStream(keys).flatMap(SequentialI::stream)));
+    }
+    
+    /**
+     * @see #deleteAllKeys(Collection...)
+     */
+    public Map<Integer, T> deleteAllKeys(int... keys) {
+        return deleteAllKeys(mask(IntStream.of(keys).boxed()));
+    }
+    
+    /**
+     * Deletes all the indices covered by the <code>range</code> provided.
+     * 
+     * @see #deleteAllKeys(Collection...)
+     */
+    public Map<Integer, T> deleteAllKeys(R range) {
+        if (range.isEmpty()) {
+            return toInternalMap();
+        }
+        checkIndex(range.startInclusive);
+        checkIndex(range.endExclusive);
+        if (Math.abs(range.step) == 1) {
+            l.subList(range.startInclusive, range.endExclusive + 1).clear();
+            return toInternalMap();
+        }
+        return deleteAllKeys(mask(range.stream().boxed()));
+    }
+    
+    /**
+     * Deletes all the indices which are set in the <code>mask</code> provided.
+     * The remaining elements are compacted in a single pass.
+     * 
+     * @see #deleteAllKeys(Collection...)
+     */
+    public Map<Integer, T> deleteAllKeys(BitSet mask) {
+        int size = l.size();
+        if (mask.length() > size) {
+            checkIndex(mask.length() - 1);
+        }
+        int write = mask.nextSetBit(0);
+        if (write < 0) {
+            return toInternalMap();
+        }
+        if (l instanceof RandomAccess) {
+            for (int read = mask.nextClearBit(write); read < size; read = mask.nextClearBit(read + 1)) {
+                l.set(write++, l.get(read));
+            }
+            l.subList(write, size).clear();
+        }
+        else {
+            Iterator<T> it = l.iterator();
+            for (int i = 0; it.hasNext(); i++) {
+                it.next();
+                if (mask.get(i)) {
+                    it.remove();
+                }
+            }
+        }
         return toInternalMap();
     }
     
+    BitSet mask(Stream<? extends Integer> keys) {
+        BitSet mask = new BitSet(l.size());
+        keys.forEach(it -> mask.set(checkIndex(it)));
+        return mask;
+    }
+    
+    int checkIndex(int index) {
+        if (index < 0 || index >= l.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + l.size());
+        }
+        return index;
+    }
+    
     @Override
     public Map<Integer, T> deleteValue(T... value) {
         remove(value);
@@ -366,24 +443,27 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
 
     @Override
     public void forEach(BiConsumer<Integer, T> action) {
-        stream().forEach(consumer(action));
+        if (!isParallel()) {
+            stream().forEach(consumer(action));
+        }
+        else {
+            indices().forEach(i -> action.accept(i, l.get(i)));
+        }
     }
 
     @Override
     public <R> List<R> map(BiFunction<Integer, T, R> function) {
-        return C.toList(stream().map(function(function)));
+        return C.toList(stream(function));
     }
 
     @Override
     public <RK, RV> Map<RK, RV> mapEntries(BiFunction<Integer, T, E<RK, RV>> function) {
-        return stream().map(function(function)).collect(Collectors.toMap(it -> it.k, it -> it.v));
+        return stream(function).collect(Collectors.toMap(it -> it.k, it -> it.v));
     }
 
     @Override
     public E<Integer, T> find(BiPredicate<Integer, T> predicate) {
-        Optional<M.E<Integer, T>> found = stream()
-                .map(function((index, it) -> e(index, it)))
-                .filter(F.predicate(predicate)).findFirst();
+        Optional<M.E<Integer, T>> found = entries(predicate).findFirst();
         if (found.isPresent()) {
             return found.get();
         }
@@ -394,154 +474,185 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
 
     @Override
     public Map<Integer, T> findAll(BiPredicate<Integer, T> predicate) {
-        return stream()
-                .map(function((index, it) -> e(index, it)))
-                .filter(F.predicate(predicate))
-                .collect(Collectors.toMap(it -> it.k, it -> it.v));
+        return entries(predicate).collect(Collectors.toMap(it -> it.k, it -> it.v));
     }
 
     @Override
     public E<Integer, T> min(BiFunction<Integer, T, Comparable>... keyExtractors) {
-        return Collections.min(stream()
-                .map(function((index, it) -> e(index, it))).collect(Collectors.toList()), 
-                compareAsc(C.map(keyExtractors, it -> F.function(it))));
+        return extreme(keyExtractors, -1);
     }
 
     @Override
     public E<Integer, T> max(BiFunction<Integer, T, Comparable>... keyExtractors) {
-        return Collections.max(stream()
-                .map(function((index, it) -> e(index, it))).collect(Collectors.toList()), 
-                compareAsc(C.map(keyExtractors, it -> F.function(it))));
+        return extreme(keyExtractors, 1);
+    }
+    
+    /**
+     * Returns the first entry with the minimum (<code>sign</code> -1) or maximum (<code>sign</code> 1) value in a single pass,
+     * without creating an entry per element.
+     */
+    private E<Integer, T> extreme(BiFunction<Integer, T, Comparable>[] keyExtractors, int sign) {
+        if (keyExtractors.length == 0) {
+            // entries are compared by their natural order
+            return sign < 0 ? Collections.min(getEntries()) : Collections.max(getEntries());
+        }
+        Iterator<T> it = l.iterator();
+        if (!it.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int bestIndex = 0;
+        T best = it.next();
+        for (int index = 1; it.hasNext(); index++) {
+            T element = it.next();
+            for (BiFunction<Integer, T, Comparable> keyExtractor : keyExtractors) {
+                int comparison = keyExtractor.apply(index, element).compareTo(keyExtractor.apply(bestIndex, best));
+                if (comparison != 0) {
+                    if (comparison * sign > 0) {
+                        bestIndex = index;
+                        best = element;
+                    }
+                    break;
+                }
+            }
+        }
+        return e(bestIndex, best);
     }
     
     @Override
     public int count(BiPredicate<Integer, T> predicate) {
-        return findAll(predicate(predicate)).size();
+        if (!isParallel()) {
+            return (int) stream().filter(predicate(predicate)).count();
+        }
+        else {
+            return (int) indices().filter(i -> predicate.test(i, l.get(i))).count();
+        }
     }
 
     @Override
     public boolean every(BiPredicate<Integer, T> predicate) {
-        return stream().allMatch(predicate(predicate));
+        if (!isParallel()) {
+            return stream().allMatch(predicate(predicate));
+        }
+        else {
+            return indices().allMatch(i -> predicate.test(i, l.get(i)));
+        }
     }
 
     @Override
     public boolean some(BiPredicate<Integer, T> predicate) {
-        return stream().anyMatch(predicate(predicate));
+        if (!isParallel()) {
+            return stream().anyMatch(predicate(predicate));
+        }
+        else {
+            return indices().anyMatch(i -> predicate.test(i, l.get(i)));
+        }
     }
 
     @Override
     public boolean none(BiPredicate<Integer, T> predicate) {
-        return stream().noneMatch(predicate(predicate));
-    }
-    
-    private <R> Function<T, R> function(BiFunction<Integer, T, R> function) {
-        Function<T, R> f;
         if (!isParallel()) {
-            // use fast sequential counting
-            f = new Function<T, R>() {
-                int i = 0;
-                @Override
-                public R apply(T t) {
-                    return function.apply(i++, t);
-                }
-            };
+            return stream().noneMatch(predicate(predicate));
         }
         else {
-            // retrieve each index individually
-            f = new Function<T, R>() {
-                List<T> list = stream().collect(Collectors.toList());
-                @Override
-                public R apply(T t) {
-                    return function.apply(list.indexOf(t), t);
-                }
-            };
+            return indices().noneMatch(i -> predicate.test(i, l.get(i)));
         }
-        return f;
     }
     
-    private Consumer<T> consumer(BiConsumer<Integer, T> action) {
-        Consumer<T> f;
+    /**
+     * Returns a parallel stream of all indices of this list. Splitting the index range rather than the elements
+     * allows every parallel task to know the index of an element in O(1), even if the list contains duplicates.
+     */
+    private IntStream indices() {
+        return IntStream.range(0, l.size()).parallel();
+    }
+    
+    /**
+     * Returns a stream of the results of the <code>function</code> provided applied on every index and element, in encounter order.
+     */
+    private <R> Stream<R> stream(BiFunction<Integer, T, R> function) {
         if (!isParallel()) {
-            // use fast sequential counting
-            f = new Consumer<T>() {
-                int i = 0;
-                @Override
-                public void accept(T t) {
-                    action.accept(i++, t);
-                }
-            };
+            return stream().map(function(function));
         }
         else {
-            // retrieve each index individually
-            f = new Consumer<T>() {
-                List<T> list = stream().collect(Collectors.toList());
-                @Override
-                public void accept(T t) {
-                    action.accept(list.indexOf(t), t);
-                }
-            };
+            return indices().mapToObj(i -> function.apply(i, l.get(i)));
         }
-        return f;
     }
     
-    private Predicate<T> predicate(BiPredicate<Integer, T> predicate) {
-        Predicate<T> f;
+    /**
+     * Returns a stream of the entries for which the <code>predicate</code> provided returns <code>true</code>, in encounter order.
+     */
+    private Stream<E<Integer, T>> entries(BiPredicate<Integer, T> predicate) {
         if (!isParallel()) {
-            // use fast sequential counting
-            f = new Predicate<T>() {
-                int i = 0;
-                @Override
-                public boolean test(T t) {
-                    return predicate.test(i++, t);
-                }
-            };
+            return stream().map(function((index, it) -> e(index, it))).filter(F.predicate(predicate));
         }
         else {
-            // retrieve each index individually
-            f = new Predicate<T>() {
-                List<T> list = stream().collect(Collectors.toList());
-                @Override
-                public boolean test(T t) {
-                    return predicate.test(list.indexOf(t), t);
-                }
-            };
+            return indices().filter(i -> predicate.test(i, l.get(i))).mapToObj(i -> e(i, l.get(i)));
         }
-        return f;
+    }
+    
+    // use fast sequential counting
+    private <R> Function<T, R> function(BiFunction<Integer, T, R> function) {
+        return new Function<T, R>() {
+            int i = 0;
+            @Override
+            public R apply(T t) {
+                return function.apply(i++, t);
+            }
+        };
+    }
+    
+    // use fast sequential counting
+    private Consumer<T> consumer(BiConsumer<Integer, T> action) {
+        return new Consumer<T>() {
+            int i = 0;
+            @Override
+            public void accept(T t) {
+                action.accept(i++, t);
+            }
+        };
+    }
+    
+    // use fast sequential counting
+    private Predicate<T> predicate(BiPredicate<Integer, T> predicate) {
+        return new Predicate<T>() {
+            int i = 0;
+            @Override
+            public boolean test(T t) {
+                return predicate.test(i++, t);
+            }
+        };
     }
 
     @Override
     public double sum(ToDoubleBiFunction<? super Integer, ? super T> mapper) {
-        ToDoubleFunction<T> function;
         if (!isParallel()) {
             // use fast sequential counting
-            function = new ToDoubleFunction<T>() {
+            return stream().collect(Collectors.summingDouble(new ToDoubleFunction<T>() {
                 int i = 0;
                 @Override
                 public double applyAsDouble(T t) {
                     return mapper.applyAsDouble(i++, t);
                 }
-            };
+            }));
         }
         else {
-            // retrieve each index individually
-            function = new ToDoubleFunction<T>() {
-                List<T> list = stream().collect(Collectors.toList());
-                @Override
-                public double applyAsDouble(T t) {
-                    return mapper.applyAsDouble(list.indexOf(t), t);
-                }
-            };
+            return indices().mapToDouble(i -> mapper.applyAsDouble(i, l.get(i))).sum();
         }
-        return stream().collect(Collectors.summingDouble(function));
     }
     
     @Override
     public <R> L<R> Map(Function<T, R> function) {
+        if (isLazy()) {
+            return lazy(this, () -> stream().map(function));
+        }
         return L(map(function));
     }
 
     @Override
     public <N> L<N> Flatten() {
+        if (isLazy()) {
+            return lazy(this, () -> SequentialIFunctions.<N, T> flatten(stream()));
+        }
         return L(flatten());
     }
 
@@ -552,17 +663,20 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
     
     @Override
     public L<T> FindAll(Predicate<T> predicate) {
+        if (isLazy()) {
+            return lazy(this, () -> stream().filter(predicate));
+        }
         return L(findAll(predicate));
     }
     
     @Override
     public L<T> Filter(Predicate<T> predicate) {
-        return L(filter(predicate));
+        return FindAll(predicate);
     }
 
     @Override
     public L<T> Reject(Predicate<T> predicate) {
-        return L(reject(predicate));
+        return FindAll(predicate.negate());
     }
     
     @Override
@@ -614,6 +728,51 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
     public L<T> DeleteKey(Integer... key) {
         return (L<T>) IndexedListIS.super.DeleteKey(key);
     }
+    
+    /**
+     * @see #deleteAllKeys(int...)
+     */
+    public L<T> DeleteAllKeys(int... keys) {
+        deleteAllKeys(keys);
+        return this;
+    }
+    
+    /**
+     * @see #deleteAllKeys(int...)
+     */
+    public L<T> D(int... keys) {
+        return DeleteAllKeys(keys);
+    }
+    
+    /**
+     * @see #deleteAllKeys(R)
+     */
+    public L<T> DeleteAllKeys(R range) {
+        deleteAllKeys(range);
+        return this;
+    }
+    
+    /**
+     * @see #deleteAllKeys(R)
+     */
+    public L<T> D(R range) {
+        return DeleteAllKeys(range);
+    }
+    
+    /**
+     * @see #deleteAllKeys(BitSet)
+     */
+    public L<T> DeleteAllKeys(BitSet mask) {
+        deleteAllKeys(mask);
+        return this;
+    }
+    
+    /**
+     * @see #deleteAllKeys(BitSet)
+     */
+    public L<T> D(BitSet mask) {
+        return DeleteAllKeys(mask);
+    }
 
     @Override
     public L<T> DeleteAllValues(SequentialI<? extends T>... values) {
@@ -791,6 +950,155 @@ public class L<T> extends C<T, Integer, T> implements OrderedSequentialS<T>, Ind
         return (L<T>) super.Parallel();
     }
 
+    /**
+     * Returns an immutable {@link PL} with the elements of this list. Its versions share structure with each other so that keeping
+     * many versions of a large list is cheap.
+     */
+    public PL<T> Persistent() {
+        return withModeOf(PL.PL(l));
+    }
+
+    /**
+     * Returns a new {@link L} with an immutable snapshot of the elements of this list whose hash code is computed once, so that
+     * the frozen list is a cheap key of a hash map. Every mutator of the new list throws an {@link UnsupportedOperationException}.
+     * The snapshot {@link #l} may be shared between threads without synchronization;
+     * the returned wrapper itself carries a mutable {@link #Par()} / {@link #Lazy()} mode, so it must be published safely, e.g. through a
+     * <code>final</code> or <code>volatile</code> field.
+     */
+    public L<T> Freeze() {
+        return withModeOf(new L<>(new FrozenList<>(l), false));
+    }
+
+    /**
+     * Returns a new {@link L} with the elements of this list, backed by a list of fixed-size chunks rather than by one big array.
+     * It grows without copying its elements, inserts and removes in the middle by shifting a single chunk, links rather than copies
+     * the chunks of another big segmented list which is added with {@link #AddAll(SequentialI...)} and splits at chunk boundaries
+     * when streamed in parallel. Indexed access is slightly slower than on an {@link ArrayList}. Use this for very big lists.
+     */
+    public L<T> Segmented() {
+        return withModeOf(new L<>(new SegmentedList<>(l), false));
+    }
+
+    @Override
+    public L<T> Lazy() {
+        return (L<T>) super.Lazy();
+    }
+
+    @Override
+    public L<T> Eager() {
+        return (L<T>) super.Eager();
+    }
+
+    private boolean isIndex(Object key) {
+        return key instanceof Integer && (Integer) key >= 0 && (Integer) key < l.size();
+    }
+    
+    /**
+     * A live {@link Map} view of {@link #l} from every index to its element.
+     * {@link Map#put(Object, Object)} replaces the element at an existing index; structural changes are not supported.
+     */
+    private class IndexMap extends AbstractMap<Integer, T> {
+        @Override
+        public int size() {
+            return l.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return isIndex(key);
+        }
+
+        @Override
+        public boolean containsValue(Object value) {
+            return l.contains(value);
+        }
+
+        @Override
+        public T get(Object key) {
+            return isIndex(key) ? l.get((Integer) key) : null;
+        }
+
+        @Override
+        public T put(Integer key, T value) {
+            return l.set(key, value);
+        }
+
+        @Override
+        public Set<Integer> keySet() {
+            return new IndexSet();
+        }
+
+        @Override
+        public Collection<T> values() {
+            return Collections.unmodifiableList(l);
+        }
+
+        @Override
+        public Set<Entry<Integer, T>> entrySet() {
+            return new AbstractSet<Entry<Integer, T>>() {
+                @Override
+                public Iterator<Entry<Integer, T>> iterator() {
+                    return IntStream.range(0, l.size()).<Entry<Integer, T>> mapToObj(i -> new SimpleEntry<Integer, T>(i, l.get(i)) {
+                        @Override
+                        public T setValue(T value) {
+                            l.set(i, value);
+                            return super.setValue(value);
+                        }
+                    }).iterator();
+                }
+
+                @Override
+                public int size() {
+                    return l.size();
+                }
+            };
+        }
+    }
+    
+    /**
+     * A live, read-only {@link Set} view of all indices of {@link #l}.
+     */
+    private class IndexSet extends AbstractSet<Integer> {
+        @Override
+        public Iterator<Integer> iterator() {
+            return IntStream.range(0, l.size()).iterator();
+        }
+
+        @Override
+        public int size() {
+            return l.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return isIndex(o);
+        }
+    }
+    
+    /**
+     * A live, read-only {@link Set} view of all index / element pairs of {@link #l}.
+     */
+    private class EntrySet extends AbstractSet<E<Integer, T>> {
+        @Override
+        public Iterator<E<Integer, T>> iterator() {
+            return IntStream.range(0, l.size()).mapToObj(i -> e(i, l.get(i))).iterator();
+        }
+
+        @Override
+        public int size() {
+            return l.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof E)) {
+                return false;
+            }
+            E<?, ?> entry = (E<?, ?>) o;
+            return isIndex(entry.k) && Objects.equals(l.get((Integer) entry.k), entry.v);
+        }
+    }
+
     @Override
     public int hashCode() {
         int hash = 3;
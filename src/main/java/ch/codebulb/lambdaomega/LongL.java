@@ -0,0 +1,517 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import ch.codebulb.lambdaomega.abstractions.StreamableI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * The "LongL" stands for "long list". An implementation of a wrapper API for a growable <code>long[]</code> array which provides
+ * sequential access and indexed access like {@link L}, but without boxing its elements.<p/>
+ * 
+ * The constructor of this class is not visible; use one of the convenience {@link #ll(long...)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ */
+public class LongL extends OmegaObject implements StreamableI {
+    private long[] values;
+    private int size;
+    private boolean parallel;
+    
+    LongL(long[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+    
+    /**
+     * Creates a new {@link LongL}.
+     */
+    public static LongL ll(long... values) {
+        return new LongL(values.clone(), values.length);
+    }
+    
+    /**
+     * Turns the stream provided into an {@link LongL}.
+     * 
+     * @see #ll(long...)
+     */
+    public static LongL ll(LongStream stream) {
+        long[] values = stream.toArray();
+        return new LongL(values, values.length);
+    }
+    
+    /**
+     * Turns the collection provided into an {@link LongL}.
+     * 
+     * @see #ll(long...)
+     */
+    public static LongL ll(Collection<Long> collection) {
+        return ll(collection.stream().mapToLong(it -> it));
+    }
+    
+    /**
+     * Turns the {@link SequentialI} (e.g. an {@link L}) provided into an {@link LongL}.
+     * 
+     * @see #ll(long...)
+     */
+    public static LongL ll(SequentialI<Long> collection) {
+        return ll(collection.toCollection());
+    }
+    
+    /**
+     * Creates an {@link LongL} by invoking the <code>generator</code> function provided <i><code>times</code></i> times with the current index.
+     */
+    public static LongL ll(int times, IntToLongFunction generator) {
+        long[] values = new long[times];
+        for (int i = 0; i < times; i++) {
+            values[i] = generator.applyAsLong(i);
+        }
+        return new LongL(values, times);
+    }
+    
+    /**
+     * Depending on {@link #isParallel()}, returns a parallel or a sequential {@link LongStream}.
+     */
+    public LongStream stream() {
+        LongStream stream = Arrays.stream(values, 0, size);
+        return isParallel() ? stream.parallel() : stream;
+    }
+    
+    /**
+     * Returns a copy of the elements as a <code>long[]</code> array.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Returns a copy of the elements as a {@link List} of boxed values.
+     */
+    public List<Long> toList() {
+        return Arrays.stream(values, 0, size).boxed().collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns a copy of the elements as an {@link L} of boxed values.
+     */
+    public L<Long> toL() {
+        return new L<>(toList(), false);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns the element at the <code>index</code> provided.
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+    
+    /**
+     * @see #get(int)
+     */
+    public long g(int index) {
+        return get(index);
+    }
+    
+    /**
+     * Returns the elements at the <code>indices</code> provided.
+     */
+    public LongL Get(int... indices) {
+        long[] ret = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            ret[i] = get(indices[i]);
+        }
+        return new LongL(ret, ret.length);
+    }
+    
+    /**
+     * Replaces the element at the <code>index</code> provided and returns the previous element.
+     */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+    
+    /**
+     * @see #set(int, long)
+     */
+    public LongL Set(int index, long value) {
+        set(index, value);
+        return this;
+    }
+    
+    /**
+     * @see #set(int, long)
+     */
+    public LongL s(int index, long value) {
+        return Set(index, value);
+    }
+    
+    /**
+     * Appends the <code>values</code> provided.
+     */
+    public LongL Add(long... values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+        return this;
+    }
+    
+    /**
+     * @see #Add(long...)
+     */
+    public LongL a(long... values) {
+        return Add(values);
+    }
+    
+    /**
+     * Appends all elements of the <code>lists</code> provided.
+     */
+    public LongL AddAll(LongL... lists) {
+        for (LongL list : lists) {
+            ensureCapacity(size + list.size);
+            System.arraycopy(list.values, 0, values, size, list.size);
+            size += list.size;
+        }
+        return this;
+    }
+    
+    /**
+     * @see #AddAll(LongL...)
+     */
+    public LongL A(LongL... lists) {
+        return AddAll(lists);
+    }
+    
+    /**
+     * Removes all elements.
+     */
+    public LongL Clear() {
+        size = 0;
+        return this;
+    }
+    
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+    
+    /**
+     * Returns the index of the first occurrence of the <code>value</code> provided, or -1 if there is no such element.
+     */
+    public int indexOf(long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @see LongStream#forEach(LongConsumer)
+     */
+    public void forEach(LongConsumer action) {
+        stream().forEach(action);
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (long) &rarr; long</i> as a <code>long[]</code> array.
+     */
+    public long[] map(LongUnaryOperator function) {
+        return stream().map(function).toArray();
+    }
+    
+    /**
+     * @see #map(LongUnaryOperator)
+     */
+    public LongL Map(LongUnaryOperator function) {
+        return withModeOf(ll(stream().map(function)));
+    }
+    
+    /**
+     * Returns the result of a map with a function <i>f: (long) &rarr; R</i> as a {@link List}.
+     */
+    public <R> List<R> mapToObj(LongFunction<R> function) {
+        return stream().mapToObj(function).collect(Collectors.toList());
+    }
+    
+    /**
+     * @see #mapToObj(LongFunction)
+     */
+    public <R> L<R> MapToObj(LongFunction<R> function) {
+        return new L<>(mapToObj(function), false);
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>true</code> as a <code>long[]</code> array.
+     */
+    public long[] filter(LongPredicate predicate) {
+        return stream().filter(predicate).toArray();
+    }
+    
+    /**
+     * @see #filter(LongPredicate)
+     */
+    public LongL Filter(LongPredicate predicate) {
+        return withModeOf(ll(stream().filter(predicate)));
+    }
+    
+    /**
+     * Returns every element for which the <code>predicate</code> provided returns <code>false</code> as a <code>long[]</code> array.
+     */
+    public long[] reject(LongPredicate predicate) {
+        return filter(predicate.negate());
+    }
+    
+    /**
+     * @see #reject(LongPredicate)
+     */
+    public LongL Reject(LongPredicate predicate) {
+        return Filter(predicate.negate());
+    }
+    
+    /**
+     * @see LongStream#reduce(long, LongBinaryOperator)
+     */
+    public long reduce(long identity, LongBinaryOperator accumulator) {
+        return stream().reduce(identity, accumulator);
+    }
+    
+    /**
+     * Returns the number of elements for which the <code>predicate</code> provided returns <code>true</code>.
+     */
+    public int count(LongPredicate predicate) {
+        return (int) stream().filter(predicate).count();
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for every element.
+     */
+    public boolean every(LongPredicate predicate) {
+        return stream().allMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for at least one element.
+     */
+    public boolean some(LongPredicate predicate) {
+        return stream().anyMatch(predicate);
+    }
+    
+    /**
+     * Returns <code>true</code>, if the <code>predicate</code> provided returns <code>true</code> for none of the elements.
+     */
+    public boolean none(LongPredicate predicate) {
+        return stream().noneMatch(predicate);
+    }
+    
+    /**
+     * Returns the sum of all elements.
+     */
+    public long sum() {
+        return stream().sum();
+    }
+    
+    /**
+     * Returns the minimum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long min() {
+        return stream().min().getAsLong();
+    }
+    
+    /**
+     * Returns the maximum element.
+     * 
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long max() {
+        return stream().max().getAsLong();
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> as a <code>long[]</code> array.
+     */
+    public long[] sortAsc() {
+        long[] ret = toArray();
+        if (isParallel()) {
+            Arrays.parallelSort(ret);
+        }
+        else {
+            Arrays.sort(ret);
+        }
+        return ret;
+    }
+    
+    /**
+     * @see #sortAsc()
+     */
+    public LongL SortAsc() {
+        return withModeOf(ll(sortAsc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> as a <code>long[]</code> array.
+     */
+    public long[] sortDesc() {
+        return sortDescBy(it -> it);
+    }
+    
+    /**
+     * @see #sortDesc()
+     */
+    public LongL SortDesc() {
+        return withModeOf(ll(sortDesc()));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in ascending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>long[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public long[] sortAscBy(LongUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, true);
+    }
+    
+    /**
+     * @see #sortAscBy(LongUnaryOperator)
+     */
+    public LongL SortAscBy(LongUnaryOperator keyExtractor) {
+        return withModeOf(ll(sortAscBy(keyExtractor)));
+    }
+    
+    /**
+     * Returns the elements sorted <i>in descending order</i> of the key returned by the <code>keyExtractor</code> provided
+     * as a <code>long[]</code> array. The sort is stable, and the key is computed only once per element.
+     */
+    public long[] sortDescBy(LongUnaryOperator keyExtractor) {
+        return sortBy(keyExtractor, false);
+    }
+    
+    /**
+     * @see #sortDescBy(LongUnaryOperator)
+     */
+    public LongL SortDescBy(LongUnaryOperator keyExtractor) {
+        return withModeOf(ll(sortDescBy(keyExtractor)));
+    }
+    
+    private long[] sortBy(LongUnaryOperator keyExtractor, boolean ascending) {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            long key = keyExtractor.applyAsLong(values[i]);
+            keys[i] = ascending ? key : ~key;
+        }
+        int[] order = C.sortedIndices(keys);
+        long[] ret = new long[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = values[order[i]];
+        }
+        return ret;
+    }
+    
+    @Override
+    public boolean isParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Turns the wrapped data structure parallel streamed.
+     */
+    public LongL Parallel() {
+        parallel = true;
+        return this;
+    }
+    
+    /**
+     * @see #Parallel()
+     */
+    public LongL Par() {
+        return Parallel();
+    }
+    
+    /**
+     * Turns the wrapped data structure sequentially streamed.
+     */
+    public LongL Sequential() {
+        parallel = false;
+        return this;
+    }
+    
+    /**
+     * @see #Sequential()
+     */
+    public LongL Seq() {
+        return Sequential();
+    }
+    
+    private LongL withModeOf(LongL other) {
+        other.parallel = parallel;
+        return other;
+    }
+    
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Long.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final LongL other = (LongL) obj;
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (this.values[i] != other.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "LongL" + Arrays.toString(toArray());
+    }
+}
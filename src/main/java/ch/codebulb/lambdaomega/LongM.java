@@ -0,0 +1,419 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.functions.LongObjConsumer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+/**
+ * The "LongM" stands for "long map". An implementation of a wrapper API for a map from primitive <code>long</code> keys to values
+ * which provides indexed access like {@link M}, but without boxing its keys.<p/>
+ *
+ * It is an open-addressing hash table with linear probing which stores its keys in a <code>long[]</code> array and its values
+ * in an <code>Object[]</code> array, thus it doesn't allocate an entry object per key. Removing a key shifts the following
+ * keys back rather than leaving a tombstone. The iteration order is undefined.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #lm(long, Object)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ *
+ * @param <V> the value type
+ */
+public class LongM<V> extends OmegaObject {
+    // the key 0 marks a free slot; it is stored apart from the table
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int maxFill;
+    private boolean containsZeroKey;
+    private V zeroValue;
+    private LongFunction<V> defaultFunction;
+
+    LongM(int expectedSize) {
+        allocate(C.hashCapacity(expectedSize));
+    }
+
+    /**
+     * Creates an empty {@link LongM}.
+     *
+     * @see #lm(long, Object)
+     */
+    public static <V> LongM<V> lm() {
+        return new LongM<>(0);
+    }
+
+    /**
+     * Creates an empty {@link LongM} which holds <code>expectedSize</code> entries without growing.
+     *
+     * @see #lm(long, Object)
+     */
+    public static <V> LongM<V> lm(int expectedSize) {
+        return new LongM<>(expectedSize);
+    }
+
+    /**
+     * Creates a new {@link LongM} with the entry provided.
+     */
+    public static <V> LongM<V> lm(long key, V value) {
+        return LongM.<V> lm().i(key, value);
+    }
+
+    /**
+     * Creates an empty {@link LongM} ({@link #lm()}) with subsequent {@link #WithDefault(LongFunction)} invocation.
+     */
+    public static <V> LongM<V> lm(LongFunction<V> defaultValue) {
+        return LongM.<V> lm().WithDefault(defaultValue);
+    }
+
+    /**
+     * Turns the map provided into an {@link LongM}.
+     *
+     * @see #lm(long, Object)
+     */
+    public static <V> LongM<V> lm(Map<Long, ? extends V> map) {
+        LongM<V> ret = new LongM<>(map.size());
+        map.forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0 ? containsZeroKey : slot(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided. If there is none, but there is a default function set with
+     * {@link #WithDefault(LongFunction)}, the value it returns is put into the map and returned; otherwise, <code>null</code> is returned.
+     */
+    public V get(long key) {
+        if (key == 0) {
+            if (containsZeroKey) {
+                return zeroValue;
+            }
+        }
+        else {
+            int slot = slot(key);
+            if (slot >= 0) {
+                return (V) values[slot];
+            }
+        }
+        if (defaultFunction == null) {
+            return null;
+        }
+        V ret = defaultFunction.apply(key);
+        put(key, ret);
+        return ret;
+    }
+
+    /**
+     * @see #get(long)
+     */
+    public V g(long key) {
+        return get(key);
+    }
+
+    /**
+     * Returns the value for the <code>key</code> provided, or the <code>defaultValue</code> provided if there is none.
+     * This ignores the default function.
+     */
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * Associates the <code>value</code> provided with the <code>key</code> provided and returns the previous value, or <code>null</code>.
+     */
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = zeroValue;
+            if (!containsZeroKey) {
+                containsZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            V previous = (V) values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        slot = -slot - 1;
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (tableSize() > maxFill) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * @see #put(long, Object)
+     */
+    public LongM<V> Put(long key, V value) {
+        put(key, value);
+        return this;
+    }
+
+    /**
+     * @see #put(long, Object)
+     */
+    public LongM<V> p(long key, V value) {
+        return Put(key, value);
+    }
+
+    /**
+     * Invokes {@link #put(long, Object)}, but only if the <code>key</code> provided is not already present;
+     * throws an {@link IndexAlreadyPresentException} otherwise.
+     */
+    public LongM<V> Insert(long key, V value) {
+        if (containsKey(key)) {
+            throw new IndexAlreadyPresentException(key, get(key));
+        }
+        return Put(key, value);
+    }
+
+    /**
+     * @see #Insert(long, Object)
+     */
+    public LongM<V> i(long key, V value) {
+        return Insert(key, value);
+    }
+
+    /**
+     * Removes the <code>key</code> provided and returns its value, or <code>null</code> if it is not present.
+     */
+    public V remove(long key) {
+        if (key == 0) {
+            if (!containsZeroKey) {
+                return null;
+            }
+            V previous = zeroValue;
+            containsZeroKey = false;
+            zeroValue = null;
+            size--;
+            return previous;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Removes the <code>keys</code> provided.
+     */
+    public LongM<V> DeleteKey(long... keys) {
+        for (long key : keys) {
+            remove(key);
+        }
+        return this;
+    }
+
+    /**
+     * @see #DeleteKey(long...)
+     */
+    public LongM<V> d(long... keys) {
+        return DeleteKey(keys);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public LongM<V> Clear() {
+        allocate(C.hashCapacity(0));
+        size = 0;
+        containsZeroKey = false;
+        zeroValue = null;
+        return this;
+    }
+
+    /**
+     * Sets the function which provides the value returned by {@link #get(long)} for a key which is not present.
+     */
+    public LongM<V> WithDefault(LongFunction<V> defaultValue) {
+        this.defaultFunction = defaultValue;
+        return this;
+    }
+
+    /**
+     * Invokes the <code>action</code> provided for every entry, without boxing the keys.
+     */
+    public void forEach(LongObjConsumer<? super V> action) {
+        if (containsZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys as an {@link LongL}.
+     */
+    public LongL keys() {
+        long[] ret = new long[size];
+        // the zero key, if any, comes first
+        int index = containsZeroKey ? 1 : 0;
+        for (long key : keys) {
+            if (key != 0) {
+                ret[index++] = key;
+            }
+        }
+        return new LongL(ret, size);
+    }
+
+    /**
+     * Returns the values as a {@link List}.
+     */
+    public List<V> values() {
+        List<V> ret = new ArrayList<>(size);
+        forEach((key, value) -> ret.add(value));
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the entries as a {@link Map} of boxed keys.
+     */
+    public Map<Long, V> toMap() {
+        Map<Long, V> ret = new LinkedHashMap<>();
+        forEach((key, value) -> ret.put(key, value));
+        return ret;
+    }
+
+    /**
+     * Returns a copy of the entries as an {@link M} of boxed keys.
+     */
+    public M<Long, V> toM() {
+        return M.m(toMap());
+    }
+
+    /**
+     * Returns the index of the slot of the <code>key</code> provided, or <code>-(insertion point) - 1</code> if it is not present.
+     */
+    private int slot(long key) {
+        int slot = C.mix(key) & mask;
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    /**
+     * Closes the gap at the <code>slot</code> provided by shifting back the following keys of the same probe sequence.
+     */
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            long key;
+            while (true) {
+                key = keys[slot];
+                if (key == 0) {
+                    keys[last] = 0;
+                    values[last] = null;
+                    return;
+                }
+                int home = C.mix(key) & mask;
+                // move the key unless its home slot lies cyclically in (last, slot]
+                if (last <= slot ? last >= home || home > slot : last >= home && home > slot) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = key;
+            values[last] = values[slot];
+        }
+    }
+
+    private int tableSize() {
+        return containsZeroKey ? size - 1 : size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        maxFill = capacity / 4 * 3;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = -slot(oldKeys[i]) - 1;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = containsZeroKey ? Objects.hashCode(zeroValue) : 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                hash += Long.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final LongM<?> other = (LongM<?>) obj;
+        if (this.size != other.size || this.containsZeroKey != other.containsZeroKey
+                || !Objects.equals(this.zeroValue, other.zeroValue)) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                int slot = other.slot(keys[i]);
+                if (slot < 0 || !Objects.equals(values[i], other.values[slot])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "LongM" + toMap().toString();
+    }
+}
@@ -4,23 +4,34 @@ import static ch.codebulb.lambdaomega.L.L;
 import ch.codebulb.lambdaomega.M.E;
 import ch.codebulb.lambdaomega.abstractions.IndexedI;
 import ch.codebulb.lambdaomega.abstractions.SequentialIS;
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
 import ch.codebulb.lambdaomega.abstractions.IndexedListIS;
 import ch.codebulb.lambdaomega.abstractions.ReadonlyIndexedI;
 import ch.codebulb.lambdaomega.abstractions.SequentialI;
 import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleBiFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The "M" stands for "map". An implementation of a wrapper API for {@link Map} which provides both indexed access (from <code>K</code> to <code>V</code>)
@@ -37,8 +48,9 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
      * The {@link Map} wrapped by this API.
      */
     public final Map<K, V> m;
+    private Set<E<K, V>> entries;
 
-    private M(Map<K, V> map) {
+    M(Map<K, V> map) {
         this.m = map;
     }
     
@@ -48,7 +60,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
      * @see {@link #m(Class, Class)}, {@link #m(Object, Object)}
      */
     public static M m() {
-        return m(new LinkedHashMap<>());
+        return m(new CompactMap<>());
     }
     
     /**
@@ -80,7 +92,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
      * Creates a {@link M} consisting of the entries provided.
      */
     public static <K, V> M<K, V> m(E<K, V>... entries) {
-        M<K, V> map = m();
+        M<K, V> map = m(new CompactMap<>(entries.length));
         C.toStream(entries).forEach(it -> map.i(it.k, it.v));
         return map;
     }
@@ -98,7 +110,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
      * @see #m()
      */
     public static <K, V> Map<K, V> map(Class<K> keyClass, Class<V> valueClas) {
-        return new LinkedHashMap<>();
+        return new CompactMap<>();
     }
     
     /**
@@ -109,12 +121,28 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
     }
     
     public static <K, V, K2 extends K, V2 extends V> M<K, V> m(K2 k, V2 v) {
-        return (M<K, V>) M.<K, V>m().i(k, v);
+        return M.<K, V> m(new CompactMap<>(1)).i(k, v);
     }
     
+    /**
+     * Returns a live view of the entries of this map in the map's iteration order. {@link E}s are only created when the view is iterated.
+     */
+    @Override
+    public Set<E<K, V>> toCollection() {
+        if (entries == null) {
+            entries = new EntrySet();
+        }
+        return entries;
+    }
+    
+    /**
+     * Like {@link IndexedI#getEntries()}, but the returning collection is a live view backed by the map.
+     * 
+     * @see #toCollection()
+     */
     @Override
-    public Collection<E<K, V>> toCollection() {
-        return m.entrySet().stream().map(it -> e(it)).collect(Collectors.toSet());
+    public Set<E<K, V>> getEntries() {
+        return toCollection();
     }
 
     @Override
@@ -124,12 +152,19 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
     
     /**
      * Like {@link ReadonlyIndexedI#get(Object)}, but if there is a default value set with {@link #WithDefault(Function)},
-     * the newly returned value is also put into the map with the <code>key</code> provided.
+     * the newly returned value is also put into the map with the <code>key</code> provided.<p/>
+     * 
+     * If this map is backed by a {@link ConcurrentMap} (see {@link #Concurrent()}), this is done atomically with
+     * {@link ConcurrentMap#computeIfAbsent(Object, Function)} so that the default function is invoked at most once per key.
      */
     @Override
     public <VN extends V> VN get(K key) {
-        if (containsAnyKey(key)) {
-            return (VN) m.get(key);
+        if (m instanceof ConcurrentMap && defaultFunction != null) {
+            return (VN) m.computeIfAbsent(key, defaultFunction);
+        }
+        V value = m.get(key);
+        if (value != null || m.containsKey(key)) {
+            return (VN) value;
         }
         else {
             V ret = defaultFunction.apply(key);
@@ -138,16 +173,55 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
         }
     }
 
+    @Override
+    public K getKey(V value) {
+        if (m instanceof BidirectionalMap) {
+            return ((BidirectionalMap<K, V>) m).getKey(value);
+        }
+        for (Entry<K, V> entry : m.entrySet()) {
+            if (Objects.equals(entry.getValue(), value)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Map<K, V> deleteAllValues(Collection<? extends V>... values) {
+        if (m instanceof BidirectionalMap) {
+            BidirectionalMap<K, V> bidirectional = (BidirectionalMap<K, V>) m;
+            C.toStream(values).forEach(c -> c.forEach(bidirectional::removeValue));
+            return m;
+        }
+        return IndexedListIS.super.deleteAllValues(values);
+    }
+
+    /**
+     * If this map is backed by a {@link ConcurrentMap} (see {@link #Concurrent()}), the check and the insertion are done atomically
+     * with {@link ConcurrentMap#putIfAbsent(Object, Object)}.
+     */
+    @Override
+    public Map<K, V> insert(K index, V element) {
+        if (m instanceof ConcurrentMap) {
+            V previous = m.putIfAbsent(index, element);
+            if (previous != null) {
+                throw new IndexAlreadyPresentException(index, previous);
+            }
+            return m;
+        }
+        return IndexedListIS.super.insert(index, element);
+    }
+
     @Override
     public Set<E<K, V>> add(E<K, V>... e) {
         C.toStream(e).forEach(it -> put(it.k, it.v));
-        return toSet();
+        return toCollection();
     }
 
     @Override
     public Set<E<K, V>> clear() {
         m.clear();
-        return toSet();
+        return toCollection();
     }
 
     @Override
@@ -161,7 +235,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
             Map<K, V> asMap = C.toStream(col).map(it -> e(it.k, it.v)).collect(Collectors.toMap(it -> it.k, it -> it.v));
             asMap.forEach((k, v) -> m.remove(k, v));
         });
-        return toSet();
+        return toCollection();
     }
 
     @Override
@@ -180,7 +254,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
         });
         found.stream().forEach(k -> m.remove(k));
         
-        return toSet();
+        return toCollection();
     }
 
     @Override
@@ -189,7 +263,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
             Map<K, V> asMap = C.toStream(col).map(it -> e(it.k, it.v)).collect(Collectors.toMap(it -> it.k, it -> it.v));
             putAll(asMap);
         });
-        return toSet();
+        return toCollection();
     }
     
     @Override
@@ -198,7 +272,7 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
             Map<K, V> asMap = C.toStream(col.toCollection()).map(it -> e(it.k, it.v)).collect(Collectors.toMap(it -> it.k, it -> it.v));
             putAll(asMap);
         });
-        return toSet();
+        return toCollection();
     }
     
     @Override
@@ -233,6 +307,9 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
     
     @Override
     public <R> L<R> Map(Function<E<K, V>, R> function) {
+        if (isLazy()) {
+            return L.lazy(this, () -> stream().map(function));
+        }
         return L(map(function));
     }
 
@@ -250,17 +327,20 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
     
     @Override
     public L<E<K, V>> FindAll(Predicate<E<K, V>> predicate) {
+        if (isLazy()) {
+            return L.lazy(this, () -> stream().filter(predicate));
+        }
         return L(findAll(predicate));
     }
 
     @Override
     public L<E<K, V>> Filter(Predicate<E<K, V>> predicate) {
-        return L(filter(predicate));
+        return FindAll(predicate);
     }
 
     @Override
     public L<E<K, V>> Reject(Predicate<E<K, V>> predicate) {
-        return L(reject(predicate));
+        return FindAll(predicate.negate());
     }
 
     @Override
@@ -288,9 +368,82 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
         return (Set<E<K, V>>) SequentialIS.super.reject(predicate);
     }
 
+    // The following functions iterate the wrapped map directly rather than creating an E for every entry.
+    
+    @Override
+    public void forEach(BiConsumer<K, V> action) {
+        m.forEach(action);
+    }
+    
     @Override
     public <R> Set<R> map(BiFunction<K, V, R> function) {
-        return (Set<R>)IndexedListIS.super.map(function);
+        return m.entrySet().stream().map(it -> function.apply(it.getKey(), it.getValue())).collect(this.<R> createCollector());
+    }
+    
+    @Override
+    public <RK, RV> Map<RK, RV> mapEntries(BiFunction<K, V, E<RK, RV>> function) {
+        return m.entrySet().stream().map(it -> function.apply(it.getKey(), it.getValue())).collect(Collectors.toMap(it -> it.k, it -> it.v));
+    }
+    
+    @Override
+    public E<K, V> find(BiPredicate<K, V> predicate) {
+        for (Entry<K, V> it : m.entrySet()) {
+            if (predicate.test(it.getKey(), it.getValue())) {
+                return e(it);
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public Map<K, V> findAll(BiPredicate<K, V> predicate) {
+        Map<K, V> ret = new LinkedHashMap<>();
+        m.forEach((k, v) -> {
+            if (predicate.test(k, v)) {
+                ret.put(k, v);
+            }
+        });
+        return ret;
+    }
+    
+    @Override
+    public int count(BiPredicate<K, V> predicate) {
+        int ret = 0;
+        for (Entry<K, V> it : m.entrySet()) {
+            if (predicate.test(it.getKey(), it.getValue())) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+    
+    @Override
+    public double sum(ToDoubleBiFunction<? super K, ? super V> mapper) {
+        double ret = 0;
+        for (Entry<K, V> it : m.entrySet()) {
+            ret += mapper.applyAsDouble(it.getKey(), it.getValue());
+        }
+        return ret;
+    }
+    
+    @Override
+    public boolean every(BiPredicate<K, V> predicate) {
+        for (Entry<K, V> it : m.entrySet()) {
+            if (!predicate.test(it.getKey(), it.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean some(BiPredicate<K, V> predicate) {
+        return find(predicate) != null;
+    }
+    
+    @Override
+    public boolean none(BiPredicate<K, V> predicate) {
+        return !some(predicate);
     }
     
     @Override
@@ -519,6 +672,74 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
         return (M<K, V>) super.Parallel();
     }
 
+    /**
+     * Returns a new {@link M} with the entries of this map which maintains a reverse index from each value to its keys.
+     * This makes {@link #getKey(Object)}, {@link #indexOf(Object)}, {@link #containsAnyValue(Object...)}, {@link #deleteValue(Object...)}
+     * and {@link #deleteAllValues(Collection...)} O(1) operations per value, at the cost of slower modifications and a second
+     * hash table. The default function set with {@link #WithDefault(Function)} is kept.
+     */
+    public M<K, V> Bidirectional() {
+        M<K, V> ret = withModeOf(new M<>(new BidirectionalMap<>(m)));
+        ret.defaultFunction = defaultFunction;
+        return ret;
+    }
+
+    /**
+     * Returns a new {@link M} backed by a {@link ConcurrentHashMap}, starting out with the entries of this map, which may be shared
+     * between threads. The default function set with {@link #WithDefault(Function)} is kept; {@link #get(Object)} invokes it
+     * atomically, and {@link #insert(Object, Object)} checks and inserts atomically. Like any {@link ConcurrentHashMap}, the new map
+     * doesn't keep the insertion order and doesn't permit <code>null</code> keys or values.
+     */
+    public M<K, V> Concurrent() {
+        M<K, V> ret = withModeOf(new M<>(new ConcurrentHashMap<>(m)));
+        ret.defaultFunction = defaultFunction;
+        return ret;
+    }
+
+    /**
+     * Returns a new {@link M} backed by a bounded {@link CacheMap} built by the <code>builder</code> provided, starting out with the
+     * entries of this map. The default function set with {@link #WithDefault(Function)} is kept, so that
+     * <code>m(loader).Cache(CacheMap.builder().maximumSize(10_000))</code> loads missing values on {@link #get(Object)}
+     * and evicts or expires them according to the builder's settings.
+     */
+    public M<K, V> Cache(CacheMap.Builder builder) {
+        CacheMap<K, V> cache = builder.build();
+        cache.putAll(m);
+        M<K, V> ret = withModeOf(new M<>(cache));
+        ret.defaultFunction = defaultFunction;
+        return ret;
+    }
+
+    /**
+     * Returns an immutable {@link PM} with the entries of this map. Its versions share structure with each other so that keeping
+     * many versions of a large map is cheap. If this map has been created by {@link PM#Transient()}, this is an O(1) operation.
+     */
+    public PM<K, V> Persistent() {
+        return withModeOf(new PM<>(PersistentHashMap.of(m)));
+    }
+
+    /**
+     * Returns a new {@link M} with an immutable snapshot of the entries of this map, for lookup tables which are built once and read
+     * many times. The keys are looked up with a minimal perfect hash function, and the hash code is computed once. Every mutator of
+     * the new map throws an {@link UnsupportedOperationException}; the default function set with {@link #WithDefault(Function)} is
+     * not kept because it would insert. The snapshot {@link #m} may be shared between threads without synchronization;
+     * the returned wrapper itself carries a mutable {@link #Par()} / {@link #Lazy()} mode, so it must be published safely, e.g. through a
+     * <code>final</code> or <code>volatile</code> field.
+     */
+    public M<K, V> Freeze() {
+        return withModeOf(new M<>(new FrozenMap<>(m)));
+    }
+
+    @Override
+    public M<K, V> Lazy() {
+        return (M<K, V>) super.Lazy();
+    }
+
+    @Override
+    public M<K, V> Eager() {
+        return (M<K, V>) super.Eager();
+    }
+
     @Override
     public int hashCode() {
         int hash = 7;
@@ -546,6 +767,82 @@ public class M<K, V> extends C<M.E<K, V>, K, V> implements SequentialIS<M.E<K, V
         return "M" + m.toString();
     }
     
+    /**
+     * A live view of the entries of {@link #m} which creates an {@link E} for an entry only when it is accessed.
+     */
+    private class EntrySet extends AbstractSet<E<K, V>> {
+        @Override
+        public Iterator<E<K, V>> iterator() {
+            Iterator<Entry<K, V>> it = m.entrySet().iterator();
+            return new Iterator<E<K, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E<K, V> next() {
+                    return e(it.next());
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return m.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return m.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof E)) {
+                return false;
+            }
+            E<?, ?> entry = (E<?, ?>) o;
+            V value = m.get(entry.k);
+            return Objects.equals(value, entry.v) && (value != null || m.containsKey(entry.k));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof E && m.remove(((E<?, ?>) o).k, ((E<?, ?>) o).v);
+        }
+
+        @Override
+        public void clear() {
+            m.clear();
+        }
+
+        @Override
+        public void forEach(Consumer<? super E<K, V>> action) {
+            m.forEach((k, v) -> action.accept(e(k, v)));
+        }
+
+        @Override
+        public Spliterator<E<K, V>> spliterator() {
+            return stream().spliterator();
+        }
+
+        @Override
+        public Stream<E<K, V>> stream() {
+            return m.entrySet().stream().map(M::e);
+        }
+
+        @Override
+        public Stream<E<K, V>> parallelStream() {
+            return m.entrySet().parallelStream().map(M::e);
+        }
+    }
+    
     /**
      * Creates an {@link E} with the key and value provided.
      */
@@ -0,0 +1,472 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The "P" stands for "priority queue". An implementation of a wrapper API for a heap which always returns its smallest element first,
+ * as ordered by the <code>keyExtractors</code> provided (see {@link F#compareAsc(Function...)}) or by a {@link Comparator}.<p/>
+ *
+ * The elements are kept in a 4-ary heap in a single array: {@link #peek()} is O(1), adding and {@link #poll()} are O(log n), and adding
+ * many elements at once or creating a {@link P} out of a collection builds the heap bottom-up in O(n). Null elements are not permitted.<p/>
+ *
+ * An {@link #Indexed()} queue additionally tracks the position of every element. Its elements are distinct, {@link #remove(Object)} and
+ * {@link #contains(Object)} are O(log n) and O(1), and {@link #Update(Object...)} moves an element in O(log n) after its priority has
+ * changed (i.e. "decrease-key"), which is what e.g. Dijkstra's algorithm needs.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #p(Function...)} methods to create a new instance of this class.
+ * It's best practice to statically import these functions in client code.
+ *
+ * @param <T> the entry type
+ */
+public class P<T> extends OmegaObject implements Iterable<T> {
+    private static final Object[] NO_ELEMENTS = {};
+
+    private final Comparator<? super T> comparator;
+    private Object[] heap = NO_ELEMENTS;
+    private int size;
+    // null unless the queue is indexed
+    private Map<T, Integer> positions;
+
+    P(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Creates an empty {@link P} ordered <i>ascending</i> by the <code>keyExtractors</code> provided, or by the natural order if there are none.
+     *
+     * @see F#compareAsc(Function...)
+     */
+    public static <T> P<T> p(Function<? super T, Comparable>... keyExtractors) {
+        return new P<>(F.compareAsc(keyExtractors));
+    }
+
+    /**
+     * Creates an empty {@link P} ordered by the <code>comparator</code> provided; e.g. use {@link Comparator#reverseOrder()} to return the
+     * biggest element first.
+     *
+     * @see #p(Function...)
+     */
+    public static <T> P<T> p(Comparator<? super T> comparator) {
+        return new P<>(comparator);
+    }
+
+    /**
+     * Turns the collection provided into a {@link P} in O(n).
+     *
+     * @see #p(Function...)
+     */
+    public static <T> P<T> P(Collection<? extends T> collection, Function<? super T, Comparable>... keyExtractors) {
+        return P.<T>p(keyExtractors).AddAll(collection);
+    }
+
+    /**
+     * Turns the {@link SequentialI} (e.g. an {@link L} or an {@link S}) provided into a {@link P} in O(n).
+     *
+     * @see #p(Function...)
+     */
+    public static <T> P<T> P(SequentialI<? extends T> collection, Function<? super T, Comparable>... keyExtractors) {
+        return P(collection.toCollection(), keyExtractors);
+    }
+
+    /**
+     * @see #P(Collection, Function...)
+     */
+    public static <T> P<T> P(Stream<? extends T> stream, Function<? super T, Comparable>... keyExtractors) {
+        List<T> elements = new ArrayList<>();
+        stream.forEachOrdered(elements::add);
+        return P(elements, keyExtractors);
+    }
+
+    /**
+     * Turns this queue into an indexed queue which tracks the position of every element. Duplicate elements are dropped.
+     * Adding an element which is already contained then updates its position rather than adding it again.
+     *
+     * @see #Update(Object...)
+     */
+    public P<T> Indexed() {
+        if (positions == null) {
+            positions = new HashMap<>(C.hashCapacity(size));
+            int count = size;
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                T element = (T) heap[i];
+                heap[i] = null;
+                if (!positions.containsKey(element)) {
+                    set(size++, element);
+                }
+            }
+            heapify();
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether this queue is {@link #Indexed()}.
+     */
+    public boolean isIndexed() {
+        return positions != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns whether the element provided is contained. This is O(1) if the queue is {@link #Indexed()}, otherwise O(n).
+     */
+    public boolean contains(T element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the smallest element without removing it, or <code>null</code> if this queue is empty.
+     */
+    public T peek() {
+        return size == 0 ? null : (T) heap[0];
+    }
+
+    /**
+     * Removes and returns the smallest element, or returns <code>null</code> if this queue is empty.
+     */
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+        T ret = (T) heap[0];
+        removeAt(0);
+        return ret;
+    }
+
+    /**
+     * Removes the <code>count</code> smallest elements, or all elements if there are fewer, and returns them in ascending order.
+     */
+    public L<T> poll(int count) {
+        List<T> ret = new ArrayList<>(Math.min(count, size));
+        while (ret.size() < count && size > 0) {
+            ret.add(poll());
+        }
+        return new L<>(ret, false);
+    }
+
+    /**
+     * Adds the element provided. If this queue is {@link #Indexed()} and already contains it, its position is updated instead and
+     * <code>false</code> is returned.
+     */
+    public boolean add(T element) {
+        Objects.requireNonNull(element);
+        if (positions != null && positions.containsKey(element)) {
+            update(element);
+            return false;
+        }
+        ensureCapacity(size + 1);
+        set(size, element);
+        siftUp(size++);
+        return true;
+    }
+
+    /**
+     * Removes the element provided; returns <code>false</code> if it is not contained. This is O(log n) if the queue is {@link #Indexed()},
+     * otherwise O(n).
+     */
+    public boolean remove(T element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Moves the element provided to its new position after its priority has changed, or adds it if it is not contained;
+     * returns whether it was contained. This is O(log n) if the queue is {@link #Indexed()}, otherwise O(n).
+     * The priority of the other elements must not have changed.
+     */
+    public boolean update(T element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            add(element);
+            return false;
+        }
+        set(index, element);
+        if (siftUp(index) == index) {
+            siftDown(index);
+        }
+        return true;
+    }
+
+    /**
+     * @see #add(Object)
+     */
+    public P<T> Add(T... e) {
+        C.toStream(e).forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @see #Add(Object...)
+     */
+    public P<T> a(T... e) {
+        return Add(e);
+    }
+
+    /**
+     * Adds all elements of the collections provided. If there are at least as many new elements as there are elements in this queue,
+     * the heap is rebuilt in O(n) rather than adding the elements one by one.
+     */
+    public P<T> AddAll(Collection<? extends T>... c) {
+        for (Collection<? extends T> collection : c) {
+            int from = size;
+            ensureCapacity(size + collection.size());
+            // contained elements of an indexed queue are updated once the heap order is restored
+            List<T> contained = new ArrayList<>();
+            for (T element : collection) {
+                Objects.requireNonNull(element);
+                if (positions != null && positions.containsKey(element)) {
+                    contained.add(element);
+                }
+                else {
+                    set(size++, element);
+                }
+            }
+            if (size - from >= from) {
+                heapify();
+            }
+            else {
+                for (int i = from; i < size; i++) {
+                    siftUp(i);
+                }
+            }
+            contained.forEach(this::update);
+        }
+        return this;
+    }
+
+    /**
+     * @see #AddAll(Collection...)
+     */
+    public P<T> A(Collection<? extends T>... c) {
+        return AddAll(c);
+    }
+
+    /**
+     * @see #AddAll(Collection...)
+     */
+    public P<T> AddAll(SequentialI<? extends T>... c) {
+        C.toStream(c).forEach(it -> AddAll(it.toCollection()));
+        return this;
+    }
+
+    /**
+     * @see #AddAll(Collection...)
+     */
+    public P<T> A(SequentialI<? extends T>... c) {
+        return AddAll(c);
+    }
+
+    /**
+     * @see #remove(Object)
+     */
+    public P<T> Remove(T... e) {
+        C.toStream(e).forEach(this::remove);
+        return this;
+    }
+
+    /**
+     * @see #update(Object)
+     */
+    public P<T> Update(T... e) {
+        C.toStream(e).forEach(this::update);
+        return this;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public P<T> Clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        if (positions != null) {
+            positions.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Iterates the elements in heap order, i.e. in no particular order.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) heap).subList(0, size)).iterator();
+    }
+
+    /**
+     * Iterates the elements in heap order, i.e. in no particular order.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((T) heap[i]);
+        }
+    }
+
+    /**
+     * Returns a {@link Stream} of the elements in heap order, i.e. in no particular order.
+     */
+    public Stream<T> stream() {
+        return Arrays.stream((T[]) heap, 0, size);
+    }
+
+    /**
+     * Returns the elements in ascending order as a {@link List}.
+     */
+    public List<T> toList() {
+        T[] ret = (T[]) Arrays.copyOf(heap, size);
+        Arrays.sort(ret, comparator);
+        return new ArrayList<>(Arrays.asList(ret));
+    }
+
+    /**
+     * Returns the elements in ascending order as an {@link L}.
+     */
+    public L<T> toL() {
+        return new L<>(toList(), false);
+    }
+
+    /**
+     * Returns the elements in ascending order as a {@link Set}.
+     */
+    public Set<T> toSet() {
+        Set<T> ret = new CompactSet<>(size);
+        ret.addAll(toList());
+        return ret;
+    }
+
+    /**
+     * Returns the elements in ascending order as an {@link S}.
+     */
+    public S<T> toS() {
+        return new S<>(toSet(), false);
+    }
+
+    private int indexOf(Object element) {
+        if (positions != null) {
+            Integer ret = positions.get(element);
+            return ret != null ? ret : -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (heap[i].equals(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        T removed = (T) heap[index];
+        T last = (T) heap[--size];
+        heap[size] = null;
+        if (positions != null) {
+            positions.remove(removed);
+        }
+        if (index < size) {
+            set(index, last);
+            if (siftDown(index) == index) {
+                siftUp(index);
+            }
+        }
+    }
+
+    private void set(int index, T element) {
+        heap[index] = element;
+        if (positions != null) {
+            positions.put(element, index);
+        }
+    }
+
+    private int compare(Object a, Object b) {
+        return comparator.compare((T) a, (T) b);
+    }
+
+    /**
+     * Moves the element at <code>index</code> up until its parent is not bigger; returns its new index.
+     */
+    private int siftUp(int index) {
+        T element = (T) heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 2;
+            if (compare(element, heap[parent]) >= 0) {
+                break;
+            }
+            set(index, (T) heap[parent]);
+            index = parent;
+        }
+        set(index, element);
+        return index;
+    }
+
+    /**
+     * Moves the element at <code>index</code> down until none of its children is smaller; returns its new index.
+     */
+    private int siftDown(int index) {
+        T element = (T) heap[index];
+        while (true) {
+            int first = (index << 2) + 1;
+            if (first >= size) {
+                break;
+            }
+            int smallest = first;
+            for (int child = first + 1; child < Math.min(first + 4, size); child++) {
+                if (compare(heap[child], heap[smallest]) < 0) {
+                    smallest = child;
+                }
+            }
+            if (compare(heap[smallest], element) >= 0) {
+                break;
+            }
+            set(index, (T) heap[smallest]);
+            index = smallest;
+        }
+        set(index, element);
+        return index;
+    }
+
+    /**
+     * Restores the heap order of all elements bottom-up in O(n).
+     */
+    private void heapify() {
+        for (int i = (size - 2) >> 2; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > heap.length) {
+            heap = Arrays.copyOf(heap, Math.max(capacity, Math.max(8, heap.length + (heap.length >> 1))));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "P" + toList();
+    }
+}
@@ -0,0 +1,402 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.IndexedI;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The "PL" stands for "persistent list". An immutable {@link L} which shares structure between its versions.<p/>
+ *
+ * Rather than modifying the wrapped list, the UpperCase and shorthand mutators return a new {@link PL} version, leaving the current
+ * version untouched. Appending (e.g. {@link #a(Object...)}) and replacing (e.g. {@link #s(Integer, Object)}) an element copy
+ * O(log n) nodes only, {@link #Slice(int, int)} is O(1), and concatenating (e.g. {@link #A(SequentialI...)}) is linear in the size
+ * of the appended collection. Other mutators, e.g. inserting or removing values, copy the list.
+ * The lowercase mutators, which by contract modify the wrapped list, throw an {@link UnsupportedOperationException}.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #pl(Object...)} methods or {@link L#Persistent()}
+ * to create a new instance of this class.
+ *
+ * @param <T> the entry type
+ */
+public class PL<T> extends L<T> {
+    private final PersistentVector<T> vector;
+
+    PL(PersistentVector<T> vector) {
+        super(vector, false);
+        this.vector = vector;
+    }
+
+    /**
+     * Creates an empty {@link PL}.
+     *
+     * @see #pl(Object...)
+     */
+    public static <T> PL<T> pl() {
+        return new PL<>(PersistentVector.empty());
+    }
+
+    /**
+     * Creates a new {@link PL}.
+     */
+    public static <T> PL<T> pl(T... ts) {
+        return PL(Arrays.asList(ts));
+    }
+
+    /**
+     * @see #pl(Object...)
+     */
+    public static <T> PL<T> PL(Stream<T> stream) {
+        return PL(stream.collect(Collectors.toList()));
+    }
+
+    /**
+     * Turns the collection provided into a {@link PL}.
+     */
+    public static <T> PL<T> PL(Collection<T> collection) {
+        return new PL<>(PersistentVector.of(collection));
+    }
+
+    private <N> PL<N> with(PersistentVector<N> vector) {
+        return vector == this.vector ? (PL<N>) this : withModeOf(new PL<>(vector));
+    }
+
+    /**
+     * Applies the <code>mutation</code> provided to a mutable copy of this list and returns the result as a new version.
+     */
+    private PL<T> copyAndApply(Consumer<L<T>> mutation) {
+        L<T> copy = new L<>(l);
+        mutation.accept(copy);
+        return with(PersistentVector.of(copy.l));
+    }
+
+    /**
+     * Returns a new version consisting of the elements between <code>fromIndex</code> (incl.) and <code>toIndex</code> (excl.).
+     * This is an O(1) operation.
+     *
+     * @see List#subList(int, int)
+     */
+    public PL<T> Slice(int fromIndex, int toIndex) {
+        return with(vector.slice(fromIndex, toIndex));
+    }
+
+    /**
+     * @see #Slice(int, int)
+     */
+    public PL<T> Slice(R range) {
+        if (range.isEmpty()) {
+            return Slice(0, 0);
+        }
+        if (range.step == 1) {
+            return Slice(range.startInclusive, range.endExclusive + 1);
+        }
+        return Get(range.stream().boxed().toArray(Integer[]::new));
+    }
+
+    /**
+     * Returns this instance.
+     */
+    @Override
+    public PL<T> Persistent() {
+        return this;
+    }
+
+    @Override
+    public <R> L<R> Map(Function<T, R> function) {
+        if (isLazy()) {
+            return super.Map(function);
+        }
+        return with(PersistentVector.of(map(function)));
+    }
+
+    @Override
+    public L<T> FindAll(Predicate<T> predicate) {
+        if (isLazy()) {
+            return super.FindAll(predicate);
+        }
+        return with(PersistentVector.of(findAll(predicate)));
+    }
+
+    @Override
+    public PL<T> Get(Integer... keys) {
+        PersistentVector.Builder<T> builder = new PersistentVector.Builder<>(PersistentVector.empty());
+        C.toStream(keys).forEach(it -> builder.add(get(it)));
+        return with(builder.build());
+    }
+
+    @Override
+    public PL<T> Add(T... e) {
+        return with(vector.plusAll(Arrays.asList(e)));
+    }
+
+    @Override
+    public PL<T> a(T... e) {
+        return Add(e);
+    }
+
+    @Override
+    public PL<T> AddAll(Collection<? extends T>... c) {
+        PersistentVector.Builder<T> builder = new PersistentVector.Builder<>(vector);
+        C.toStream(c).forEach(it -> it.forEach(builder::add));
+        return with(builder.build());
+    }
+
+    @Override
+    public PL<T> A(Collection<? extends T>... c) {
+        return AddAll(c);
+    }
+
+    @Override
+    public PL<T> AddAll(SequentialI<? extends T>... c) {
+        PersistentVector.Builder<T> builder = new PersistentVector.Builder<>(vector);
+        C.toStream(c).forEach(it -> it.toCollection().forEach(builder::add));
+        return with(builder.build());
+    }
+
+    @Override
+    public PL<T> A(SequentialI<? extends T>... c) {
+        return AddAll(c);
+    }
+
+    @Override
+    public PL<T> Set(Integer index, T element) {
+        return with(vector.with(index, element));
+    }
+
+    @Override
+    public PL<T> s(Integer index, T element) {
+        return Set(index, element);
+    }
+
+    @Override
+    public PL<T> SetAll(Map<? extends Integer, ? extends T>... m) {
+        PersistentVector.Builder<T> builder = new PersistentVector.Builder<>(vector);
+        C.toStream(m).forEach(map -> map.forEach((key, value) -> builder.set(checkIndex(key), value)));
+        return with(builder.build());
+    }
+
+    @Override
+    public PL<T> S(Map<? extends Integer, ? extends T>... m) {
+        return SetAll(m);
+    }
+
+    @Override
+    public PL<T> SetAll(IndexedI<? extends Integer, ? extends T>... m) {
+        Map<? extends Integer, ? extends T>[] maps = C.toStream(m).map(IndexedI::toMap).toArray(Map[]::new);
+        return SetAll(maps);
+    }
+
+    @Override
+    public PL<T> S(IndexedI<? extends Integer, ? extends T>... m) {
+        return SetAll(m);
+    }
+
+    @Override
+    public PL<T> DeleteKey(Integer... key) {
+        return DeleteAllKeys(mask(C.toStream(key)));
+    }
+
+    @Override
+    public PL<T> d(Integer... key) {
+        return DeleteKey(key);
+    }
+
+    @Override
+    public PL<T> DeleteAllKeys(Collection<? extends Integer>... keys) {
+        return DeleteAllKeys(mask(C.toStream(keys).flatMap(C::toStream)));
+    }
+
+    @Override
+    public PL<T> D(Collection<? extends Integer>... keys) {
+        return DeleteAllKeys(keys);
+    }
+
+    @Override
+    public PL<T> DeleteAllKeys(SequentialI<? extends Integer>... keys) {
+        return DeleteAllKeys(mask(C.toStream(keys).flatMap(SequentialI::stream)));
+    }
+
+    @Override
+    public PL<T> D(SequentialI<? extends Integer>... keys) {
+        return DeleteAllKeys(keys);
+    }
+
+    @Override
+    public PL<T> DeleteAllKeys(int... keys) {
+        return DeleteAllKeys(mask(IntStream.of(keys).boxed()));
+    }
+
+    @Override
+    public PL<T> D(int... keys) {
+        return DeleteAllKeys(keys);
+    }
+
+    @Override
+    public PL<T> DeleteAllKeys(R range) {
+        return DeleteAllKeys(mask(range.stream().boxed()));
+    }
+
+    @Override
+    public PL<T> D(R range) {
+        return DeleteAllKeys(range);
+    }
+
+    @Override
+    public PL<T> DeleteAllKeys(BitSet mask) {
+        return with(vector.minusAll(mask));
+    }
+
+    @Override
+    public PL<T> D(BitSet mask) {
+        return DeleteAllKeys(mask);
+    }
+
+    @Override
+    public PL<T> DeleteValue(T... value) {
+        return copyAndApply(it -> it.DeleteValue(value));
+    }
+
+    @Override
+    public PL<T> DeleteAllValues(Collection<? extends T>... values) {
+        return copyAndApply(it -> it.DeleteAllValues(values));
+    }
+
+    @Override
+    public PL<T> DeleteAllValues(SequentialI<? extends T>... values) {
+        return copyAndApply(it -> it.DeleteAllValues(values));
+    }
+
+    @Override
+    public PL<T> Remove(T... value) {
+        return copyAndApply(it -> it.Remove(value));
+    }
+
+    @Override
+    public PL<T> r(T... value) {
+        return Remove(value);
+    }
+
+    @Override
+    public PL<T> RemoveAll(Collection<? extends T>... c) {
+        return copyAndApply(it -> it.RemoveAll(c));
+    }
+
+    @Override
+    public PL<T> R(Collection<? extends T>... c) {
+        return RemoveAll(c);
+    }
+
+    @Override
+    public PL<T> RemoveAll(SequentialI<? extends T>... c) {
+        return copyAndApply(it -> it.RemoveAll(c));
+    }
+
+    @Override
+    public PL<T> R(SequentialI<? extends T>... c) {
+        return RemoveAll(c);
+    }
+
+    @Override
+    public PL<T> Insert(Integer index, T element) {
+        return copyAndApply(it -> it.Insert(index, element));
+    }
+
+    @Override
+    public PL<T> i(Integer index, T element) {
+        return Insert(index, element);
+    }
+
+    @Override
+    public PL<T> InsertAll(Map<? extends Integer, ? extends T>... m) {
+        return copyAndApply(it -> it.InsertAll(m));
+    }
+
+    @Override
+    public PL<T> I(Map<? extends Integer, ? extends T>... m) {
+        return InsertAll(m);
+    }
+
+    @Override
+    public PL<T> InsertAll(IndexedI<? extends Integer, ? extends T>... m) {
+        return copyAndApply(it -> it.InsertAll(m));
+    }
+
+    @Override
+    public PL<T> I(IndexedI<? extends Integer, ? extends T>... m) {
+        return InsertAll(m);
+    }
+
+    @Override
+    public PL<T> Put(Integer key, T value) {
+        return copyAndApply(it -> it.Put(key, value));
+    }
+
+    @Override
+    public PL<T> p(Integer key, T value) {
+        return Put(key, value);
+    }
+
+    @Override
+    public PL<T> PutAll(Map<? extends Integer, ? extends T>... m) {
+        return copyAndApply(it -> it.PutAll(m));
+    }
+
+    @Override
+    public PL<T> P(Map<? extends Integer, ? extends T>... m) {
+        return PutAll(m);
+    }
+
+    @Override
+    public PL<T> PutAll(IndexedI<? extends Integer, ? extends T>... m) {
+        return copyAndApply(it -> it.PutAll(m));
+    }
+
+    @Override
+    public PL<T> P(IndexedI<? extends Integer, ? extends T>... m) {
+        return PutAll(m);
+    }
+
+    @Override
+    public PL<T> Seq() {
+        return (PL<T>) super.Seq();
+    }
+
+    @Override
+    public PL<T> Sequential() {
+        return (PL<T>) super.Sequential();
+    }
+
+    @Override
+    public PL<T> Par() {
+        return (PL<T>) super.Par();
+    }
+
+    @Override
+    public PL<T> Parallel() {
+        return (PL<T>) super.Parallel();
+    }
+
+    @Override
+    public PL<T> Lazy() {
+        return (PL<T>) super.Lazy();
+    }
+
+    @Override
+    public PL<T> Eager() {
+        return (PL<T>) super.Eager();
+    }
+
+    @Override
+    public String toString() {
+        return "PL" + l.toString();
+    }
+}
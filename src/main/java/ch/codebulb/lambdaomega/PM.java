@@ -0,0 +1,336 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.IndexedI;
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The "PM" stands for "persistent map". An immutable {@link M} which shares structure between its versions.<p/>
+ * 
+ * Rather than modifying the wrapped map, the UpperCase and shorthand mutators (e.g. {@link #p(Object, Object)}, {@link #i(Object, Object)},
+ * {@link #d(Object...)}) return a new {@link PM} version, leaving the current version untouched. Every new version only copies
+ * O(log n) nodes of its hash trie. As versions are immutable, they can safely be shared between threads.
+ * The lowercase mutators, which by contract modify the wrapped map, throw an {@link UnsupportedOperationException}.<p/>
+ * 
+ * Note that unlike {@link M}, the iteration order is not the insertion order.<p/>
+ * 
+ * For bulk loads, use {@link #Transient()} to get a mutable {@link M}, modify it, and turn it back with {@link M#Persistent()}.<p/>
+ * 
+ * The constructor of this class is not visible; use one of the convenience {@link #pm(Object, Object)} methods or {@link M#Persistent()}
+ * to create a new instance of this class.
+ * 
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class PM<K, V> extends M<K, V> {
+    private final PersistentHashMap<K, V> map;
+    
+    PM(PersistentHashMap<K, V> map) {
+        super(map);
+        this.map = map;
+    }
+    
+    /**
+     * Creates an empty {@link PM}.
+     * 
+     * @see #pm(Object, Object)
+     */
+    public static <K, V> PM<K, V> pm() {
+        return new PM<>(PersistentHashMap.empty());
+    }
+    
+    /**
+     * Turns the map provided into a {@link PM}.
+     */
+    public static <K, V> PM<K, V> pm(Map<K, V> map) {
+        return new PM<>(PersistentHashMap.of(map));
+    }
+    
+    /**
+     * Creates a {@link PM} consisting of the entries provided.
+     */
+    public static <K, V> PM<K, V> pm(E<K, V>... entries) {
+        return PM.<K, V> pm().edit(map -> C.toStream(entries).forEach(it -> map.i(it.k, it.v)));
+    }
+    
+    public static <K, V, K2 extends K, V2 extends V> PM<K, V> pm(K2 k, V2 v) {
+        return PM.<K, V> pm().i(k, v);
+    }
+    
+    /**
+     * Returns a mutable {@link M} which starts out with the entries of this map. Use it to apply many modifications in a batch,
+     * and turn it into a new version with {@link M#Persistent()} which is then an O(1) operation. This version is not affected.
+     */
+    public M<K, V> Transient() {
+        return withModeOf(M.m(map.asTransient()));
+    }
+    
+    /**
+     * Returns this instance.
+     */
+    @Override
+    public PM<K, V> Persistent() {
+        return this;
+    }
+    
+    /**
+     * Applies the <code>mutation</code> provided to a transient copy of this map and returns the result as a new version.
+     */
+    private PM<K, V> edit(Consumer<M<K, V>> mutation) {
+        PersistentHashMap.Transient<K, V> copy = map.asTransient();
+        mutation.accept(M.m(copy));
+        PM<K, V> ret = withModeOf(new PM<>(copy.persistent()));
+        ret.defaultFunction = defaultFunction;
+        return ret;
+    }
+    
+    /**
+     * Like {@link M#get(Object)}, but if there is a default value set with {@link #WithDefault(Function)},
+     * the newly returned value is not put into the map.
+     */
+    @Override
+    public <VN extends V> VN get(K key) {
+        if (map.containsKey(key)) {
+            return (VN) map.get(key);
+        }
+        return (VN) defaultFunction.apply(key);
+    }
+    
+    @Override
+    public PM<K, V> A(SequentialI<? extends E<K, V>>... c) {
+        return edit(it -> it.A(c));
+    }
+
+    @Override
+    public PM<K, V> AddAll(SequentialI<? extends E<K, V>>... c) {
+        return edit(it -> it.AddAll(c));
+    }
+
+    @Override
+    public PM<K, V> A(Collection<? extends E<K, V>>... c) {
+        return edit(it -> it.A(c));
+    }
+
+    @Override
+    public PM<K, V> AddAll(Collection<? extends E<K, V>>... c) {
+        return edit(it -> it.AddAll(c));
+    }
+
+    @Override
+    public PM<K, V> a(E<K, V>... e) {
+        return edit(it -> it.a(e));
+    }
+
+    @Override
+    public PM<K, V> Add(E<K, V>... e) {
+        return edit(it -> it.Add(e));
+    }
+
+    @Override
+    public PM<K, V> I(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.I(m));
+    }
+
+    @Override
+    public PM<K, V> InsertAll(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.InsertAll(m));
+    }
+
+    @Override
+    public PM<K, V> I(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.I(m));
+    }
+
+    @Override
+    public PM<K, V> InsertAll(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.InsertAll(m));
+    }
+
+    @Override
+    public PM<K, V> i(K index, V element) {
+        return edit(it -> it.i(index, element));
+    }
+
+    @Override
+    public PM<K, V> Insert(K index, V element) {
+        return edit(it -> it.Insert(index, element));
+    }
+
+    @Override
+    public PM<K, V> S(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.S(m));
+    }
+
+    @Override
+    public PM<K, V> SetAll(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.SetAll(m));
+    }
+
+    @Override
+    public PM<K, V> S(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.S(m));
+    }
+
+    @Override
+    public PM<K, V> SetAll(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.SetAll(m));
+    }
+
+    @Override
+    public PM<K, V> s(K index, V element) {
+        return edit(it -> it.s(index, element));
+    }
+
+    @Override
+    public PM<K, V> Set(K index, V element) {
+        return edit(it -> it.Set(index, element));
+    }
+
+    @Override
+    public PM<K, V> D(SequentialI<? extends K>... keys) {
+        return edit(it -> it.D(keys));
+    }
+
+    @Override
+    public PM<K, V> DeleteAllKeys(SequentialI<? extends K>... keys) {
+        return edit(it -> it.DeleteAllKeys(keys));
+    }
+
+    @Override
+    public PM<K, V> D(Collection<? extends K>... keys) {
+        return edit(it -> it.D(keys));
+    }
+
+    @Override
+    public PM<K, V> DeleteAllKeys(Collection<? extends K>... keys) {
+        return edit(it -> it.DeleteAllKeys(keys));
+    }
+
+    @Override
+    public PM<K, V> d(K... key) {
+        return edit(it -> it.d(key));
+    }
+
+    @Override
+    public PM<K, V> DeleteKey(K... key) {
+        return edit(it -> it.DeleteKey(key));
+    }
+
+    @Override
+    public PM<K, V> P(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.P(m));
+    }
+
+    @Override
+    public PM<K, V> PutAll(IndexedI<? extends K, ? extends V>... m) {
+        return edit(it -> it.PutAll(m));
+    }
+
+    @Override
+    public PM<K, V> P(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.P(m));
+    }
+
+    @Override
+    public PM<K, V> PutAll(Map<? extends K, ? extends V>... m) {
+        return edit(it -> it.PutAll(m));
+    }
+
+    @Override
+    public PM<K, V> p(K key, V value) {
+        return edit(it -> it.p(key, value));
+    }
+
+    @Override
+    public PM<K, V> Put(K key, V value) {
+        return edit(it -> it.Put(key, value));
+    }
+
+    @Override
+    public PM<K, V> R(SequentialI<? extends E<K, V>>... c) {
+        return edit(it -> it.R(c));
+    }
+
+    @Override
+    public PM<K, V> RemoveAll(SequentialI<? extends E<K, V>>... c) {
+        return edit(it -> it.RemoveAll(c));
+    }
+
+    @Override
+    public PM<K, V> R(Collection<? extends E<K, V>>... c) {
+        return edit(it -> it.R(c));
+    }
+
+    @Override
+    public PM<K, V> RemoveAll(Collection<? extends E<K, V>>... c) {
+        return edit(it -> it.RemoveAll(c));
+    }
+
+    @Override
+    public PM<K, V> r(E<K, V>... value) {
+        return edit(it -> it.r(value));
+    }
+
+    @Override
+    public PM<K, V> Remove(E<K, V>... value) {
+        return edit(it -> it.Remove(value));
+    }
+
+    @Override
+    public PM<K, V> DeleteAllValues(SequentialI<? extends V>... values) {
+        return edit(it -> it.DeleteAllValues(values));
+    }
+
+    @Override
+    public PM<K, V> DeleteAllValues(Collection<? extends V>... values) {
+        return edit(it -> it.DeleteAllValues(values));
+    }
+
+    @Override
+    public PM<K, V> DeleteValue(V... value) {
+        return edit(it -> it.DeleteValue(value));
+    }
+
+    @Override
+    public PM<K, V> WithDefault(Function<K, V> defaultValue) {
+        return (PM<K, V>) super.WithDefault(defaultValue);
+    }
+
+    @Override
+    public PM<K, V> Seq() {
+        return (PM<K, V>) super.Seq();
+    }
+
+    @Override
+    public PM<K, V> Sequential() {
+        return (PM<K, V>) super.Sequential();
+    }
+
+    @Override
+    public PM<K, V> Par() {
+        return (PM<K, V>) super.Par();
+    }
+
+    @Override
+    public PM<K, V> Parallel() {
+        return (PM<K, V>) super.Parallel();
+    }
+
+    @Override
+    public PM<K, V> Lazy() {
+        return (PM<K, V>) super.Lazy();
+    }
+
+    @Override
+    public PM<K, V> Eager() {
+        return (PM<K, V>) super.Eager();
+    }
+
+    @Override
+    public String toString() {
+        return "PM" + m.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A minimal perfect hash function over a fixed array of distinct keys: it maps each key to its position in the array, using
+ * two array lookups and one key comparison and no probing.<p/>
+ *
+ * It is built with the "hash and displace" scheme: the keys are distributed into as many buckets as there are keys; then, starting
+ * with the biggest bucket, a seed is searched for each bucket which moves all its keys to free slots. Keys which are alone in their
+ * bucket are put into the remaining slots directly. This only works for keys with distinct {@link Object#hashCode()}s; otherwise a
+ * {@link HashMap} is used instead.<p/>
+ *
+ * All fields are final and never modified after construction, so an instance may be shared between threads without synchronization.
+ *
+ * @see FrozenMap
+ * @see FrozenSet
+ */
+final class PerfectHash {
+    // gives up searching the seed of a bucket after this many attempts
+    private static final int MAX_ATTEMPTS = 100_000;
+
+    private final Object[] keys;
+    // per bucket: 0 if it is empty, -(slot + 1) for a single key, or the seed which spreads its keys
+    private final int[] seeds;
+    // the position of the key in each slot
+    private final int[] positions;
+    private final Map<Object, Integer> fallback;
+
+    PerfectHash(Object[] keys) {
+        this.keys = keys;
+        int[] seeds = new int[keys.length];
+        int[] positions = new int[keys.length];
+        if (build(keys, seeds, positions)) {
+            this.seeds = seeds;
+            this.positions = positions;
+            this.fallback = null;
+        }
+        else {
+            this.seeds = null;
+            this.positions = null;
+            this.fallback = new HashMap<>(keys.length * 4 / 3 + 1);
+            for (int i = 0; i < keys.length; i++) {
+                fallback.put(keys[i], i);
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the <code>key</code> provided, or -1 if it is not one of the keys.
+     */
+    int indexOf(Object key) {
+        if (fallback != null) {
+            Integer ret = fallback.get(key);
+            return ret != null ? ret : -1;
+        }
+        if (keys.length == 0) {
+            return -1;
+        }
+        int hash = Objects.hashCode(key);
+        int seed = seeds[slot(hash, 0, keys.length)];
+        if (seed == 0) {
+            return -1;
+        }
+        int position = positions[seed < 0 ? -seed - 1 : slot(hash, seed, keys.length)];
+        return Objects.equals(keys[position], key) ? position : -1;
+    }
+
+    /**
+     * Returns whether a perfect hash function has been found and stored into <code>seeds</code> and <code>positions</code>.
+     */
+    private static boolean build(Object[] keys, int[] seeds, int[] positions) {
+        int n = keys.length;
+        int[] hashes = new int[n];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = Objects.hashCode(keys[i]);
+        }
+        int[] sorted = hashes.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < n; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                return false;
+            }
+        }
+
+        // group the keys by bucket
+        int[] bucketStart = new int[n + 1];
+        for (int hash : hashes) {
+            bucketStart[slot(hash, 0, n) + 1]++;
+        }
+        int maxSize = 0;
+        for (int i = 0; i < n; i++) {
+            maxSize = Math.max(maxSize, bucketStart[i + 1]);
+            bucketStart[i + 1] += bucketStart[i];
+        }
+        int[] bucketKeys = new int[n];
+        int[] fill = Arrays.copyOf(bucketStart, n);
+        for (int i = 0; i < n; i++) {
+            bucketKeys[fill[slot(hashes[i], 0, n)]++] = i;
+        }
+
+        Arrays.fill(positions, -1);
+        int[] slots = new int[maxSize];
+        for (int size = maxSize; size > 1; size--) {
+            for (int bucket = 0; bucket < n; bucket++) {
+                if (bucketStart[bucket + 1] - bucketStart[bucket] != size) {
+                    continue;
+                }
+                int seed = 1;
+                while (!fits(hashes, bucketKeys, bucketStart[bucket], size, seed, positions, slots)) {
+                    if (++seed > MAX_ATTEMPTS) {
+                        return false;
+                    }
+                }
+                seeds[bucket] = seed;
+                for (int i = 0; i < size; i++) {
+                    positions[slots[i]] = bucketKeys[bucketStart[bucket] + i];
+                }
+            }
+        }
+        int free = 0;
+        for (int bucket = 0; bucket < n; bucket++) {
+            if (bucketStart[bucket + 1] - bucketStart[bucket] == 1) {
+                while (positions[free] >= 0) {
+                    free++;
+                }
+                positions[free] = bucketKeys[bucketStart[bucket]];
+                seeds[bucket] = -free - 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the <code>seed</code> provided moves the keys of a bucket to distinct free slots, which are stored into <code>slots</code>.
+     */
+    private static boolean fits(int[] hashes, int[] bucketKeys, int start, int size, int seed, int[] positions, int[] slots) {
+        for (int i = 0; i < size; i++) {
+            int slot = slot(hashes[bucketKeys[start + i]], seed, positions.length);
+            if (positions[slot] >= 0) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+
+    /**
+     * Maps the <code>hash</code> provided to a slot between 0 (incl.) and <code>n</code> (excl.); every seed gives a different mapping.
+     */
+    private static int slot(int hash, int seed, int n) {
+        int h = hash ^ (seed * 0x9e3779b9);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (int) (((h & 0xFFFFFFFFL) * n) >>> 32);
+    }
+}
@@ -0,0 +1,564 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable, persistent {@link Map} implementation backing {@link PM}.<p/>
+ *
+ * This is a compressed hash-array mapped prefix tree (CHAMP): every node holds a bitmap of its inlined entries and a bitmap of its
+ * sub-nodes, followed by a compact array of both. Adding or removing an entry copies only the O(log32 n) nodes on the path to that
+ * entry; all other nodes are shared with the previous version. Keys with colliding hash codes are kept in a collision node.
+ * The iteration order is determined by the keys' hash codes.<p/>
+ *
+ * A new version is created by a {@link Transient}, a mutable {@link Map} which edits the nodes it created itself in place.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HASH_LENGTH = 32;
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(new BitmapNode(null, 0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entrySet;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    static <K, V> PersistentHashMap<K, V> of(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            return (PersistentHashMap<K, V>) map;
+        }
+        if (map instanceof Transient) {
+            return ((Transient<K, V>) map).persistent();
+        }
+        Transient<K, V> result = PersistentHashMap.<K, V> empty().asTransient();
+        result.putAll(map);
+        return result.persistent();
+    }
+
+    /**
+     * Returns a new {@link Transient} starting out with the entries of this map.
+     */
+    Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    @Override
+    public V get(Object key) {
+        Object ret = root.find(key, hash(key), 0);
+        return ret == NOT_FOUND ? null : (V) ret;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    private static int hash(Object key) {
+        return Objects.hashCode(key);
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * A mutable {@link Map} which creates a new {@link PersistentHashMap} version. Nodes it created are edited in place; all other nodes
+     * are copied on write. {@link #persistent()} may be invoked repeatedly: subsequent modifications don't affect the versions returned.
+     */
+    static final class Transient<K, V> extends AbstractMap<K, V> {
+        private Object edit = new Object();
+        private Node root;
+        private int size;
+        // set by the node operations
+        private boolean modified;
+        private Object oldValue;
+
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        /**
+         * Returns an immutable version with the current entries of this map. This is an O(1) operation.
+         */
+        PersistentHashMap<K, V> persistent() {
+            // the nodes are now shared with the version returned
+            edit = new Object();
+            return new PersistentHashMap<>(root, size);
+        }
+
+        @Override
+        public V get(Object key) {
+            Object ret = root.find(key, hash(key), 0);
+            return ret == NOT_FOUND ? null : (V) ret;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return root.find(key, hash(key), 0) != NOT_FOUND;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            modified = false;
+            oldValue = null;
+            root = root.put(this, key, value, hash(key), 0);
+            return (V) oldValue;
+        }
+
+        @Override
+        public V remove(Object key) {
+            modified = false;
+            oldValue = null;
+            root = root.remove(this, key, hash(key), 0);
+            return (V) oldValue;
+        }
+
+        @Override
+        public void clear() {
+            root = EMPTY.root;
+            size = 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    // iterate over a snapshot so that removing entries doesn't interfere with the iteration
+                    Iterator<Entry<K, V>> snapshot = persistent().entrySet().iterator();
+                    return new Iterator<Entry<K, V>>() {
+                        private Entry<K, V> current;
+
+                        @Override
+                        public boolean hasNext() {
+                            return snapshot.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            current = snapshot.next();
+                            return current;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (current == null) {
+                                throw new IllegalStateException();
+                            }
+                            Transient.this.remove(current.getKey());
+                            current = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    private abstract static class Node {
+        final Object edit;
+
+        Node(Object edit) {
+            this.edit = edit;
+        }
+
+        abstract Object find(Object key, int hash, int shift);
+
+        abstract Node put(Transient<?, ?> owner, Object key, Object value, int hash, int shift);
+
+        abstract Node remove(Transient<?, ?> owner, Object key, int hash, int shift);
+
+        abstract int payloadArity();
+
+        abstract int nodeArity();
+
+        abstract Object key(int index);
+
+        abstract Object value(int index);
+
+        abstract Node node(int index);
+    }
+
+    private static final class BitmapNode extends Node {
+        private int dataMap;
+        private int nodeMap;
+        // the key / value pairs, followed by the sub-nodes in reverse order
+        private Object[] content;
+
+        BitmapNode(Object edit, int dataMap, int nodeMap, Object[] content) {
+            super(edit);
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private int dataIndex(int bit) {
+            return Integer.bitCount(dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(nodeMap & (bit - 1));
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return Objects.equals(key, content[2 * index]) ? content[2 * index + 1] : NOT_FOUND;
+            }
+            if ((nodeMap & bit) != 0) {
+                return node(nodeIndex(bit)).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Transient<?, ?> owner, Object key, Object value, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object currentKey = content[2 * index];
+                if (Objects.equals(key, currentKey)) {
+                    owner.oldValue = content[2 * index + 1];
+                    owner.modified = true;
+                    BitmapNode result = editable(owner);
+                    result.content[2 * index + 1] = value;
+                    return result;
+                }
+                Object currentValue = content[2 * index + 1];
+                Node subNode = merge(owner.edit, currentKey, currentValue, hash(currentKey), key, value, hash, shift + BITS);
+                owner.size++;
+                owner.modified = true;
+                return migrateFromInlineToNode(owner, bit, subNode);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node subNode = node(nodeIndex(bit));
+                Node newSubNode = subNode.put(owner, key, value, hash, shift + BITS);
+                return owner.modified ? setNode(owner, bit, newSubNode) : this;
+            }
+            owner.size++;
+            owner.modified = true;
+            return insertValue(owner, bit, key, value);
+        }
+
+        @Override
+        Node remove(Transient<?, ?> owner, Object key, int hash, int shift) {
+            int bit = bitpos(hash, shift);
+            if ((dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if (!Objects.equals(key, content[2 * index])) {
+                    return this;
+                }
+                owner.oldValue = content[2 * index + 1];
+                owner.modified = true;
+                owner.size--;
+                return removeValue(owner, bit);
+            }
+            if ((nodeMap & bit) != 0) {
+                Node subNode = node(nodeIndex(bit));
+                Node newSubNode = subNode.remove(owner, key, hash, shift + BITS);
+                if (!owner.modified) {
+                    return this;
+                }
+                if (newSubNode.nodeArity() == 0 && newSubNode.payloadArity() == 1) {
+                    if (shift > 0 && payloadArity() == 0 && nodeArity() == 1) {
+                        // let the parent inline the single remaining entry
+                        return newSubNode;
+                    }
+                    return migrateFromNodeToInline(owner, bit, newSubNode);
+                }
+                return setNode(owner, bit, newSubNode);
+            }
+            return this;
+        }
+
+        private BitmapNode editable(Transient<?, ?> owner) {
+            return edit == owner.edit ? this : new BitmapNode(owner.edit, dataMap, nodeMap, content.clone());
+        }
+
+        private Node setNode(Transient<?, ?> owner, int bit, Node subNode) {
+            BitmapNode result = editable(owner);
+            result.content[content.length - 1 - nodeIndex(bit)] = subNode;
+            return result;
+        }
+
+        private Node insertValue(Transient<?, ?> owner, int bit, Object key, Object value) {
+            int index = 2 * dataIndex(bit);
+            Object[] dst = new Object[content.length + 2];
+            System.arraycopy(content, 0, dst, 0, index);
+            dst[index] = key;
+            dst[index + 1] = value;
+            System.arraycopy(content, index, dst, index + 2, content.length - index);
+            return update(owner, dataMap | bit, nodeMap, dst);
+        }
+
+        private Node removeValue(Transient<?, ?> owner, int bit) {
+            int index = 2 * dataIndex(bit);
+            Object[] dst = new Object[content.length - 2];
+            System.arraycopy(content, 0, dst, 0, index);
+            System.arraycopy(content, index + 2, dst, index, content.length - index - 2);
+            return update(owner, dataMap ^ bit, nodeMap, dst);
+        }
+
+        private Node migrateFromInlineToNode(Transient<?, ?> owner, int bit, Node subNode) {
+            int oldIndex = 2 * dataIndex(bit);
+            Object[] dst = new Object[content.length - 1];
+            int newIndex = dst.length - 1 - nodeIndex(bit);
+            System.arraycopy(content, 0, dst, 0, oldIndex);
+            System.arraycopy(content, oldIndex + 2, dst, oldIndex, newIndex - oldIndex);
+            dst[newIndex] = subNode;
+            System.arraycopy(content, newIndex + 2, dst, newIndex + 1, content.length - newIndex - 2);
+            return update(owner, dataMap ^ bit, nodeMap | bit, dst);
+        }
+
+        private Node migrateFromNodeToInline(Transient<?, ?> owner, int bit, Node subNode) {
+            int oldIndex = content.length - 1 - nodeIndex(bit);
+            int newIndex = 2 * dataIndex(bit);
+            Object[] dst = new Object[content.length + 1];
+            System.arraycopy(content, 0, dst, 0, newIndex);
+            dst[newIndex] = subNode.key(0);
+            dst[newIndex + 1] = subNode.value(0);
+            System.arraycopy(content, newIndex, dst, newIndex + 2, oldIndex - newIndex);
+            System.arraycopy(content, oldIndex + 1, dst, oldIndex + 2, content.length - oldIndex - 1);
+            return update(owner, dataMap | bit, nodeMap ^ bit, dst);
+        }
+
+        private Node update(Transient<?, ?> owner, int dataMap, int nodeMap, Object[] content) {
+            if (edit == owner.edit) {
+                this.dataMap = dataMap;
+                this.nodeMap = nodeMap;
+                this.content = content;
+                return this;
+            }
+            return new BitmapNode(owner.edit, dataMap, nodeMap, content);
+        }
+
+        @Override
+        int payloadArity() {
+            return Integer.bitCount(dataMap);
+        }
+
+        @Override
+        int nodeArity() {
+            return Integer.bitCount(nodeMap);
+        }
+
+        @Override
+        Object key(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object value(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node node(int index) {
+            return (Node) content[content.length - 1 - index];
+        }
+    }
+
+    private static Node merge(Object edit, Object key0, Object value0, int hash0, Object key1, Object value1, int hash1, int shift) {
+        if (shift >= HASH_LENGTH) {
+            return new CollisionNode(edit, hash0, new Object[] {key0, value0, key1, value1});
+        }
+        int bit0 = bitpos(hash0, shift);
+        int bit1 = bitpos(hash1, shift);
+        if (bit0 == bit1) {
+            Node subNode = merge(edit, key0, value0, hash0, key1, value1, hash1, shift + BITS);
+            return new BitmapNode(edit, 0, bit0, new Object[] {subNode});
+        }
+        Object[] content = Integer.compareUnsigned(bit0, bit1) < 0
+                ? new Object[] {key0, value0, key1, value1}
+                : new Object[] {key1, value1, key0, value0};
+        return new BitmapNode(edit, bit0 | bit1, 0, content);
+    }
+
+    /**
+     * Holds the entries of keys whose hash codes are equal.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private Object[] content;
+
+        CollisionNode(Object edit, int hash, Object[] content) {
+            super(edit);
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < content.length; i += 2) {
+                if (Objects.equals(key, content[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index < 0 ? NOT_FOUND : content[index + 1];
+        }
+
+        @Override
+        Node put(Transient<?, ?> owner, Object key, Object value, int hash, int shift) {
+            int index = indexOf(key);
+            Object[] dst;
+            if (index >= 0) {
+                owner.oldValue = content[index + 1];
+                dst = content.clone();
+                dst[index + 1] = value;
+            }
+            else {
+                owner.size++;
+                dst = new Object[content.length + 2];
+                System.arraycopy(content, 0, dst, 0, content.length);
+                dst[content.length] = key;
+                dst[content.length + 1] = value;
+            }
+            owner.modified = true;
+            return update(owner, dst);
+        }
+
+        @Override
+        Node remove(Transient<?, ?> owner, Object key, int hash, int shift) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return this;
+            }
+            owner.oldValue = content[index + 1];
+            owner.modified = true;
+            owner.size--;
+            Object[] dst = new Object[content.length - 2];
+            System.arraycopy(content, 0, dst, 0, index);
+            System.arraycopy(content, index + 2, dst, index, content.length - index - 2);
+            return update(owner, dst);
+        }
+
+        private Node update(Transient<?, ?> owner, Object[] content) {
+            if (edit == owner.edit) {
+                this.content = content;
+                return this;
+            }
+            return new CollisionNode(owner.edit, hash, content);
+        }
+
+        @Override
+        int payloadArity() {
+            return content.length / 2;
+        }
+
+        @Override
+        int nodeArity() {
+            return 0;
+        }
+
+        @Override
+        Object key(int index) {
+            return content[2 * index];
+        }
+
+        @Override
+        Object value(int index) {
+            return content[2 * index + 1];
+        }
+
+        @Override
+        Node node(int index) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Deque<Node> pending = new ArrayDeque<>();
+        private Node current;
+        private int index;
+
+        private EntryIterator(Node root) {
+            pending.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || index >= current.payloadArity()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.pop();
+                index = 0;
+                for (int i = current.nodeArity() - 1; i >= 0; i--) {
+                    pending.push(current.node(i));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> ret = new SimpleImmutableEntry<>((K) current.key(index), (V) current.value(index));
+            index++;
+            return ret;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An immutable, persistent {@link java.util.List} implementation backing {@link PL}.<p/>
+ *
+ * This is a 32-way bit-partitioned trie with a tail buffer (as popularized by Clojure's vector):
+ * appending and updating an element copies only the O(log32 n) nodes on the path to that element; all other nodes are shared with the
+ * previous version. A vector additionally holds a <code>[start, end)</code> window into its trie so that slicing is O(1).
+ * As a consequence, a slice keeps the elements outside of its window reachable.
+ *
+ * @param <T> the element type
+ */
+final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0], 0, 0);
+
+    /**
+     * The number of elements in the trie and the tail, regardless of the window.
+     */
+    private final int count;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+    private final int start;
+    private final int end;
+
+    private PersistentVector(int count, int shift, Node root, Object[] tail, int start, int end) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+        this.start = start;
+        this.end = end;
+    }
+
+    static <T> PersistentVector<T> empty() {
+        return EMPTY;
+    }
+
+    static <T> PersistentVector<T> of(Iterable<? extends T> values) {
+        if (values instanceof PersistentVector) {
+            return (PersistentVector<T>) values;
+        }
+        return PersistentVector.<T> empty().plusAll(values);
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        int i = start + index;
+        return (T) arrayFor(i)[i & MASK];
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int i = start;
+            private Object[] array = i < end ? arrayFor(i) : null;
+
+            @Override
+            public boolean hasNext() {
+                return i < end;
+            }
+
+            @Override
+            public T next() {
+                if (i >= end) {
+                    throw new NoSuchElementException();
+                }
+                if ((i & MASK) == 0) {
+                    array = arrayFor(i);
+                }
+                return (T) array[i++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Returns a new version with the <code>value</code> provided appended.
+     */
+    PersistentVector<T> plus(T value) {
+        Builder<T> builder = new Builder<>(this);
+        builder.add(value);
+        return builder.build();
+    }
+
+    /**
+     * Returns a new version with the <code>values</code> provided appended.
+     */
+    PersistentVector<T> plusAll(Iterable<? extends T> values) {
+        Builder<T> builder = new Builder<>(this);
+        values.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Returns a new version with the element at the <code>index</code> provided replaced by <code>value</code>.
+     */
+    PersistentVector<T> with(int index, T value) {
+        checkIndex(index, size());
+        Builder<T> builder = new Builder<>(this);
+        builder.set(index, value);
+        return builder.build();
+    }
+
+    /**
+     * Returns a view of the elements between <code>fromIndex</code> (incl.) and <code>toIndex</code> (excl.). This is an O(1) operation.
+     */
+    PersistentVector<T> slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+        }
+        return new PersistentVector<>(count, shift, root, tail, start + fromIndex, start + toIndex);
+    }
+
+    /**
+     * Returns a new version without the elements at the indices which are set in the <code>mask</code> provided.
+     * Only the elements after the first deleted index are copied.
+     */
+    PersistentVector<T> minusAll(BitSet mask) {
+        if (mask.length() > size()) {
+            checkIndex(mask.length() - 1, size());
+        }
+        int first = mask.nextSetBit(0);
+        if (first < 0) {
+            return this;
+        }
+        Builder<T> builder = new Builder<>(slice(0, first));
+        for (int i = mask.nextClearBit(first); i < size(); i = mask.nextClearBit(i + 1)) {
+            builder.add(get(i));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public PersistentVector<T> subList(int fromIndex, int toIndex) {
+        return slice(fromIndex, toIndex);
+    }
+
+    private int tailOffset() {
+        return tailOffset(count);
+    }
+
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int i) {
+        if (i >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * A node of the trie. A node may only be modified in place by the {@link Builder} which created it, as identified by its
+     * <code>edit</code> token; all other nodes are copied on write.
+     */
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        private Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * A single-use, mutable builder creating a new version out of an existing one. Modifications are applied in place to nodes
+     * created by this builder and to copies of shared nodes otherwise.
+     */
+    static final class Builder<T> {
+        private final Object edit = new Object();
+        private int count;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+        private final int start;
+        private int end;
+
+        Builder(PersistentVector<T> vector) {
+            this.count = vector.count;
+            this.shift = vector.shift;
+            this.root = vector.root;
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+            this.start = vector.start;
+            this.end = vector.end;
+        }
+
+        void add(T value) {
+            if (end < count) {
+                // the window ends before the trie does: overwrite the element which is hidden by the window
+                setAt(end++, value);
+                return;
+            }
+            if (count - tailOffset(count) < WIDTH) {
+                tail[count & MASK] = value;
+            }
+            else {
+                Node tailNode = new Node(edit, tail);
+                tail = new Object[WIDTH];
+                tail[0] = value;
+                if ((count >>> BITS) > (1 << shift)) {
+                    Node newRoot = new Node(edit, new Object[WIDTH]);
+                    newRoot.array[0] = root;
+                    newRoot.array[1] = newPath(shift, tailNode);
+                    root = newRoot;
+                    shift += BITS;
+                }
+                else {
+                    root = pushTail(shift, root, tailNode);
+                }
+            }
+            count++;
+            end++;
+        }
+
+        void set(int index, T value) {
+            setAt(start + index, value);
+        }
+
+        int size() {
+            return end - start;
+        }
+
+        PersistentVector<T> build() {
+            PersistentVector<T> result = new PersistentVector<>(count, shift, root,
+                    Arrays.copyOf(tail, count - tailOffset(count)), start, end);
+            // a builder must not modify nodes which are now shared with a persistent version
+            root = null;
+            tail = null;
+            return result;
+        }
+
+        private void setAt(int i, T value) {
+            if (i >= tailOffset(count)) {
+                tail[i & MASK] = value;
+            }
+            else {
+                root = assoc(shift, root, i, value);
+            }
+        }
+
+        private Node editable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.array.clone());
+        }
+
+        private Node assoc(int level, Node node, int i, Object value) {
+            Node result = editable(node);
+            if (level == 0) {
+                result.array[i & MASK] = value;
+            }
+            else {
+                int subIndex = (i >>> level) & MASK;
+                result.array[subIndex] = assoc(level - BITS, (Node) node.array[subIndex], i, value);
+            }
+            return result;
+        }
+
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            Node result = editable(parent);
+            int subIndex = ((count - 1) >>> level) & MASK;
+            Node toInsert;
+            if (level == BITS) {
+                toInsert = tailNode;
+            }
+            else {
+                Node child = (Node) parent.array[subIndex];
+                toInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+            }
+            result.array[subIndex] = toInsert;
+            return result;
+        }
+
+        private Node newPath(int level, Node node) {
+            if (level == 0) {
+                return node;
+            }
+            Node result = new Node(edit, new Object[WIDTH]);
+            result.array[0] = newPath(level - BITS, node);
+            return result;
+        }
+    }
+}
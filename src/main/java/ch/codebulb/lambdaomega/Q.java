@@ -0,0 +1,285 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The "Q" stands for "queue". A {@link L} backed by a ring buffer which adds and removes elements at both ends in O(1), which makes
+ * it a FIFO queue, a stack, or a rolling buffer. It supports the full {@link L} API; indexed access is O(1), and inserting or
+ * deleting in the middle shifts the elements on the shorter side of the index, so e.g. {@link #DeleteKey(Integer...)} with index
+ * 0 is O(1) as well.<p/>
+ *
+ * A queue may be bounded with {@link #Bounded(int)}; adding to a full queue then overwrites the element at the opposite end.<p/>
+ *
+ * The constructor of this class is not visible; use one of the convenience {@link #q(Object...)} methods to create a new instance of
+ * this class.
+ *
+ * @param <T> the entry type
+ */
+public class Q<T> extends L<T> {
+    private final RingBuffer<T> buffer;
+
+    Q(RingBuffer<T> buffer) {
+        super(buffer, false);
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates an empty {@link Q}.
+     *
+     * @see #q(Object...)
+     */
+    public static <T> Q<T> q() {
+        return new Q<>(new RingBuffer<>());
+    }
+
+    /**
+     * Creates a new {@link Q} whose first element is the first one provided.
+     */
+    public static <T> Q<T> q(T... ts) {
+        return Q(Arrays.asList(ts));
+    }
+
+    /**
+     * Creates an empty {@link Q} of the type provided.
+     *
+     * @see #q(Object...)
+     */
+    public static <T> Q<T> q(Class<T> clazz) {
+        return q();
+    }
+
+    /**
+     * @see #q(Object...)
+     */
+    public static <T> Q<T> Q(Stream<T> stream) {
+        Q<T> ret = q();
+        stream.forEachOrdered(ret.buffer::addLast);
+        return ret;
+    }
+
+    /**
+     * Turns the collection provided into a {@link Q}.
+     */
+    public static <T> Q<T> Q(Collection<T> collection) {
+        RingBuffer<T> buffer = new RingBuffer<>(collection.size());
+        buffer.addAll(collection);
+        return new Q<>(buffer);
+    }
+
+    /**
+     * Returns a {@link Deque} view of the wrapped {@link #l}; changes write through in both directions.
+     */
+    public Deque<T> toDeque() {
+        return buffer.asDeque();
+    }
+
+    /**
+     * Bounds this queue to the <code>capacity</code> provided, removing its first elements if there are more. Adding to a full
+     * queue then overwrites the element at the opposite end: {@link #AddFirst(Object...)} evicts the last element, any other
+     * insertion evicts the first one.
+     */
+    public Q<T> Bounded(int capacity) {
+        buffer.bound(capacity);
+        return this;
+    }
+
+    /**
+     * Returns the maximum size of this queue, which is {@link Integer#MAX_VALUE} unless it is {@link #Bounded(int)}.
+     */
+    public int capacity() {
+        return buffer.maxSize();
+    }
+
+    /**
+     * Returns whether this queue is {@link #Bounded(int)} and full.
+     */
+    public boolean isFull() {
+        return buffer.size() == buffer.maxSize();
+    }
+
+    /**
+     * Adds the elements provided at the head, so that the last one provided becomes the first element.
+     *
+     * @see Deque#addFirst(Object)
+     */
+    public Deque<T> addFirst(T... e) {
+        C.toStream(e).forEach(buffer::addFirst);
+        return buffer.asDeque();
+    }
+
+    /**
+     * @see #addFirst(Object...)
+     */
+    public Q<T> AddFirst(T... e) {
+        addFirst(e);
+        return this;
+    }
+
+    /**
+     * Returns the first element, or <code>null</code> if this queue is empty.
+     *
+     * @see Deque#peekFirst()
+     */
+    public T peekFirst() {
+        return buffer.asDeque().peekFirst();
+    }
+
+    /**
+     * Returns the last element, or <code>null</code> if this queue is empty.
+     *
+     * @see Deque#peekLast()
+     */
+    public T peekLast() {
+        return buffer.asDeque().peekLast();
+    }
+
+    /**
+     * Removes and returns the first element.
+     *
+     * @throws NoSuchElementException if this queue is empty
+     * @see Deque#removeFirst()
+     */
+    public T removeFirst() {
+        return buffer.removeFirst();
+    }
+
+    /**
+     * Removes and returns the last element.
+     *
+     * @throws NoSuchElementException if this queue is empty
+     * @see Deque#removeLast()
+     */
+    public T removeLast() {
+        return buffer.removeLast();
+    }
+
+    /**
+     * Removes and returns the first element, or returns <code>null</code> if this queue is empty.
+     *
+     * @see Deque#pollFirst()
+     */
+    public T pollFirst() {
+        return buffer.asDeque().pollFirst();
+    }
+
+    /**
+     * Removes and returns the last element, or returns <code>null</code> if this queue is empty.
+     *
+     * @see Deque#pollLast()
+     */
+    public T pollLast() {
+        return buffer.asDeque().pollLast();
+    }
+
+    /**
+     * Removes the first <code>count</code> elements, or all elements if there are fewer.
+     */
+    public Q<T> RemoveFirst(int count) {
+        l.subList(0, Math.min(count, l.size())).clear();
+        return this;
+    }
+
+    /**
+     * Removes the last <code>count</code> elements, or all elements if there are fewer.
+     */
+    public Q<T> RemoveLast(int count) {
+        l.subList(Math.max(0, l.size() - count), l.size()).clear();
+        return this;
+    }
+
+    @Override
+    public Q<T> Add(T... e) {
+        return (Q<T>) super.Add(e);
+    }
+
+    @Override
+    public Q<T> a(T... e) {
+        return (Q<T>) super.a(e);
+    }
+
+    @Override
+    public Q<T> AddAll(Collection<? extends T>... c) {
+        return (Q<T>) super.AddAll(c);
+    }
+
+    @Override
+    public Q<T> A(Collection<? extends T>... c) {
+        return (Q<T>) super.A(c);
+    }
+
+    @Override
+    public Q<T> AddAll(SequentialI<? extends T>... c) {
+        return (Q<T>) super.AddAll(c);
+    }
+
+    @Override
+    public Q<T> A(SequentialI<? extends T>... c) {
+        return (Q<T>) super.A(c);
+    }
+
+    @Override
+    public Q<T> Remove(T... value) {
+        return (Q<T>) super.Remove(value);
+    }
+
+    @Override
+    public Q<T> r(T... value) {
+        return (Q<T>) super.r(value);
+    }
+
+    @Override
+    public Q<T> DeleteKey(Integer... key) {
+        return (Q<T>) super.DeleteKey(key);
+    }
+
+    @Override
+    public Q<T> d(Integer... key) {
+        return (Q<T>) super.d(key);
+    }
+
+    @Override
+    public Q<T> Set(Integer index, T element) {
+        return (Q<T>) super.Set(index, element);
+    }
+
+    @Override
+    public Q<T> s(Integer index, T element) {
+        return (Q<T>) super.s(index, element);
+    }
+
+    @Override
+    public Q<T> WithDefault(Function<Integer, T> defaultValue) {
+        return (Q<T>) super.WithDefault(defaultValue);
+    }
+
+    @Override
+    public Q<T> Seq() {
+        return (Q<T>) super.Seq();
+    }
+
+    @Override
+    public Q<T> Sequential() {
+        return (Q<T>) super.Sequential();
+    }
+
+    @Override
+    public Q<T> Par() {
+        return (Q<T>) super.Par();
+    }
+
+    @Override
+    public Q<T> Parallel() {
+        return (Q<T>) super.Parallel();
+    }
+
+    @Override
+    public String toString() {
+        return "Q" + l.toString();
+    }
+}
@@ -2,39 +2,83 @@ package ch.codebulb.lambdaomega;
 
 import static ch.codebulb.lambdaomega.L.*;
 import ch.codebulb.lambdaomega.abstractions.OmegaObject;
+import java.util.AbstractList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 
 /**
  * The "R" stands for "range". An implementation of a wrapper API for an {@link IntStream} range. This is an immutable type.<p/>
- * 
+ *
+ * A range is a lazy value type: it only keeps its bounds and its step, so its memory footprint is constant regardless of its size.
+ * Its elements are computed on demand.<p/>
+ *
  * The constructor of this class is not visible; use the convenience {@link #r(int)} method to create a new instance of this class.
  * It's best practice to statically import this function in client code.
  */
 public class R extends OmegaObject {
+    /**
+     * The lowest element of this range.
+     */
     public final int startInclusive;
+    /**
+     * The highest element of this range. Note that despite its name, this element is included in the range.
+     */
     public final int endExclusive;
+    /**
+     * The distance between two consecutive elements; a negative step iterates the range from its highest element downwards.
+     */
+    public final int step;
+    /**
+     * @deprecated This stream can only be consumed once; use {@link #stream()} instead which creates a new stream on every invocation.
+     */
+    @Deprecated
     public final IntStream r;
+    /**
+     * A read-only {@link L} view of this range. Use {@link #toL()} to get a modifiable copy.
+     */
     public final L<Integer> l;
+    /**
+     * A read-only {@link List} view of this range.
+     */
     public final List<Integer> list;
     
+    private final int first;
+    private final long size;
+    
     R(int startInclusive, int end, boolean endInclusive) {
-        this.startInclusive = startInclusive;
-        this.endExclusive = endInclusive ? end : end - 1;
-        r = createStream(startInclusive, end, endInclusive);
-        // don't reuse a stream, create a new one!
-        list = createStream(startInclusive, end, endInclusive).boxed().collect(Collectors.toList());
-        l = L(list);
+        this(startInclusive, endInclusive ? end : (long) end - 1, 1);
     }
     
-    private static IntStream createStream(int startInclusive, int end, boolean endInclusive) {
-        return endInclusive ? IntStream.rangeClosed(startInclusive, end) : 
-                IntStream.range(startInclusive, end);
+    private R(int lower, long upper, int step) {
+        this.step = step;
+        this.size = upper < lower ? 0 : (upper - lower) / Math.abs((long) step) + 1;
+        // normalize the bounds to the actual first / last element so that ranges with the same elements are equal
+        if (size == 0) {
+            this.startInclusive = lower;
+            this.endExclusive = (int) upper;
+            this.first = lower;
+        }
+        else if (step > 0) {
+            this.startInclusive = lower;
+            this.endExclusive = (int) (lower + (size - 1) * step);
+            this.first = lower;
+        }
+        else {
+            this.startInclusive = (int) (upper + (size - 1) * step);
+            this.endExclusive = (int) upper;
+            this.first = (int) upper;
+        }
+        r = stream();
+        list = new RangeList();
+        l = new L<>(list, false);
     }
     
     /**
-     * Starts creating a new {@link R}. Subsequently invoke {@link Rinit#with(int)} for an inclusive / closed range, 
+     * Starts creating a new {@link R}. Subsequently invoke {@link Rinit#with(int)} for an inclusive / closed range,
      * or {@link Rinit#to(int)} for an exclusive range.
      */
     public static Rinit r(int startInclusive) {
@@ -46,7 +90,7 @@ public class R extends OmegaObject {
      */
     public static class Rinit {
         private final int startInclusive;
-
+        
         private Rinit(int startInclusive) {
             this.startInclusive = startInclusive;
         }
@@ -84,19 +128,215 @@ public class R extends OmegaObject {
         }
     }
     
+    /**
+     * Returns a new {@link R} with the same bounds as this range, but with the <code>step</code> provided.
+     * A negative <code>step</code> iterates from the highest element downwards.
+     *
+     * @throws IllegalArgumentException if <code>step</code> is 0
+     */
+    public R Step(int step) {
+        if (step == 0) {
+            throw new IllegalArgumentException("Step must not be 0.");
+        }
+        return new R(startInclusive, endExclusive, step);
+    }
+    
+    /**
+     * Returns a new {@link R} with the same elements as this range, but in reverse order.
+     */
+    public R Reverse() {
+        return new R(startInclusive, endExclusive, -step);
+    }
+    
+    /**
+     * Returns a new {@link R} consisting of the elements of this range at the positions between <code>fromIndex</code> (incl.) and
+     * <code>toIndex</code> (excl.). This is an O(1) operation.
+     *
+     * @see List#subList(int, int)
+     */
+    public R Slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size);
+        }
+        long sliceFirst = at(fromIndex);
+        if (fromIndex == toIndex) {
+            return new R((int) sliceFirst, sliceFirst - 1, step);
+        }
+        long sliceLast = at(toIndex - 1);
+        return step > 0 ? new R((int) sliceFirst, sliceLast, step) : new R((int) sliceLast, sliceFirst, step);
+    }
+    
+    private long at(long index) {
+        return first + index * step;
+    }
+    
+    /**
+     * Returns the number of elements of this range. This is an O(1) operation.
+     */
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Returns the element at the <code>index</code> provided.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (int) at(index);
+    }
+    
+    /**
+     * Returns <code>true</code> if the <code>value</code> provided is an element of this range. This is an O(1) operation.
+     */
+    public boolean contains(int value) {
+        return size > 0 && value >= startInclusive && value <= endExclusive
+                && ((long) value - startInclusive) % Math.abs((long) step) == 0;
+    }
+    
+    /**
+     * Returns the position of the <code>value</code> provided in this range, or -1 if it is not an element of this range.
+     * This is an O(1) operation.
+     */
+    public int indexOf(int value) {
+        return contains(value) ? (int) (((long) value - first) / step) : -1;
+    }
+    
+    /**
+     * Returns a new sequential {@link IntStream} over the elements of this range. Unlike {@link #r}, this may be invoked repeatedly.
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+    
+    /**
+     * Returns a new parallel {@link IntStream} over the elements of this range.
+     */
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+    
+    /**
+     * Returns a {@link Spliterator} over the elements of this range which splits into halves of equal size.
+     */
+    public Spliterator.OfInt spliterator() {
+        return new RangeSpliterator(0, size);
+    }
+    
+    /**
+     * Returns a modifiable copy of this range as an {@link L}.
+     */
     public L<Integer> toL() {
-        return l;
+        return L(list);
     }
-        
+    
+    /**
+     * Returns a read-only {@link List} view of this range.
+     */
     public List<Integer> toList() {
         return list;
     }
+    
+    /**
+     * Returns a copy of this range as an {@link IntL}.
+     */
+    public IntL toIntL() {
+        return IntL.il(stream());
+    }
+
+    private class RangeSpliterator implements Spliterator.OfInt {
+        private long index;
+        private final long fence;
+        
+        private RangeSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index < fence) {
+                action.accept((int) at(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long i = index;
+            int value = (int) at(i);
+            index = fence;
+            for (; i < fence; i++, value += step) {
+                action.accept(value);
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            long mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            RangeSpliterator prefix = new RangeSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+        }
+    }
+
+    private class RangeList extends AbstractList<Integer> implements RandomAccess {
+        @Override
+        public Integer get(int index) {
+            return R.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return R.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && R.this.contains((Integer) o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Integer ? R.this.indexOf((Integer) o) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public Spliterator<Integer> spliterator() {
+            return R.this.stream().boxed().spliterator();
+        }
+    }
 
     @Override
     public int hashCode() {
         int hash = 5;
         hash = 29 * hash + this.startInclusive;
         hash = 29 * hash + this.endExclusive;
+        hash = 29 * hash + this.step;
         return hash;
     }
 
@@ -115,11 +355,14 @@ public class R extends OmegaObject {
         if (this.endExclusive != other.endExclusive) {
             return false;
         }
+        if (this.step != other.step) {
+            return false;
+        }
         return true;
     }
 
     @Override
     public String toString() {
-        return "[" + startInclusive + "..<" + (endExclusive + 1) + "]";
+        return "[" + startInclusive + "..<" + (endExclusive + 1) + "]" + (step != 1 ? " step " + step : "");
     }
 }
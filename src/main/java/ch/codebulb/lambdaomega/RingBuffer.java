@@ -0,0 +1,552 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link List} backed by a circular array: element <code>i</code> is stored at <code>(head + i)</code> modulo the
+ * array length. Adding and removing at either end is O(1), indexed access is O(1), and inserting or removing in the middle shifts the
+ * elements on the shorter side of the index. {@link #asDeque()} returns a {@link Deque} view.<p/>
+ *
+ * The buffer may be bounded to a maximum size; adding to a full buffer then overwrites the element at the opposite end: adding at
+ * the head evicts the last element, any other insertion evicts the first one. Null elements are permitted. Its iterators and
+ * spliterators are fail-fast. This class is not thread-safe.
+ *
+ * @see Q
+ */
+class RingBuffer<T> extends AbstractList<T> implements RandomAccess {
+    private static final int MIN_CAPACITY = 8;
+    private static final Object[] NO_ELEMENTS = {};
+
+    private Object[] elements = NO_ELEMENTS;
+    private int head;
+    private int size;
+    private int maxSize = Integer.MAX_VALUE;
+    private final Deque<T> deque = new DequeView();
+
+    RingBuffer() {
+    }
+
+    RingBuffer(int expectedSize) {
+        elements = expectedSize > 0 ? new Object[expectedSize] : NO_ELEMENTS;
+    }
+
+    /**
+     * Returns the maximum size, which is {@link Integer#MAX_VALUE} unless the buffer is bounded.
+     */
+    int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Bounds the buffer to the <code>maxSize</code> provided, evicting the first elements if there are more.
+     */
+    void bound(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative: " + maxSize);
+        }
+        if (size > maxSize) {
+            removeRange(0, size - maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size);
+        return (T) elements[position(index)];
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index, size);
+        int position = position(index);
+        T ret = (T) elements[position];
+        elements[position] = element;
+        return ret;
+    }
+
+    @Override
+    public boolean add(T element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+        if (index == 0) {
+            addFirst(element);
+            return;
+        }
+        if (size == maxSize) {
+            removeFirst();
+            index--;
+        }
+        ensureCapacity(size + 1);
+        if (index < size / 2) {
+            head = position(elements.length - 1);
+            for (int i = 0; i < index; i++) {
+                elements[position(i)] = elements[position(i + 1)];
+            }
+        }
+        else {
+            for (int i = size; i > index; i--) {
+                elements[position(i)] = elements[position(i - 1)];
+            }
+        }
+        elements[position(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index, size);
+        T ret = (T) elements[position(index)];
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                elements[position(i)] = elements[position(i - 1)];
+            }
+            elements[head] = null;
+            head = position(1);
+        }
+        else {
+            for (int i = index; i < size - 1; i++) {
+                elements[position(i)] = elements[position(i + 1)];
+            }
+            elements[position(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return ret;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if (count <= 0) {
+            return;
+        }
+        if (fromIndex < size - toIndex) {
+            for (int i = fromIndex - 1; i >= 0; i--) {
+                elements[position(i + count)] = elements[position(i)];
+            }
+            for (int i = 0; i < count; i++) {
+                elements[position(i)] = null;
+            }
+            head = position(count);
+        }
+        else {
+            for (int i = toIndex; i < size; i++) {
+                elements[position(i - count)] = elements[position(i)];
+            }
+            for (int i = size - count; i < size; i++) {
+                elements[position(i)] = null;
+            }
+        }
+        size -= count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ret = new Object[size];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, ret, 0, first);
+        System.arraycopy(elements, 0, ret, first, size - first);
+        return ret;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((T) elements[position(i)]);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Spl(0, -1, 0);
+    }
+
+    // the operations at either end; on Java 21+, they implement the ones of SequencedCollection
+
+    public void addFirst(T element) {
+        if (size == maxSize) {
+            if (size == 0) {
+                return;
+            }
+            removeLast();
+        }
+        ensureCapacity(size + 1);
+        head = position(elements.length - 1);
+        elements[head] = element;
+        size++;
+        modCount++;
+    }
+
+    public void addLast(T element) {
+        if (size == maxSize) {
+            if (size == 0) {
+                return;
+            }
+            removeFirst();
+        }
+        ensureCapacity(size + 1);
+        elements[position(size)] = element;
+        size++;
+        modCount++;
+    }
+
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        T ret = (T) elements[head];
+        elements[head] = null;
+        head = position(1);
+        size--;
+        modCount++;
+        return ret;
+    }
+
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int position = position(size - 1);
+        T ret = (T) elements[position];
+        elements[position] = null;
+        size--;
+        modCount++;
+        return ret;
+    }
+
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) elements[head];
+    }
+
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) elements[position(size - 1)];
+    }
+
+    /**
+     * Returns a {@link Deque} view of this buffer. A class can't implement both {@link List} and {@link Deque} because their
+     * <code>reversed()</code> methods are incompatible as of Java 21.
+     */
+    Deque<T> asDeque() {
+        return deque;
+    }
+
+    private final class DequeView extends AbstractCollection<T> implements Deque<T> {
+        @Override
+        public void addFirst(T element) {
+            RingBuffer.this.addFirst(element);
+        }
+
+        @Override
+        public void addLast(T element) {
+            RingBuffer.this.addLast(element);
+        }
+
+        @Override
+        public boolean offerFirst(T element) {
+            addFirst(element);
+            return true;
+        }
+
+        @Override
+        public boolean offerLast(T element) {
+            addLast(element);
+            return true;
+        }
+
+        @Override
+        public T removeFirst() {
+            return RingBuffer.this.removeFirst();
+        }
+
+        @Override
+        public T removeLast() {
+            return RingBuffer.this.removeLast();
+        }
+
+        @Override
+        public T pollFirst() {
+            return size == 0 ? null : removeFirst();
+        }
+
+        @Override
+        public T pollLast() {
+            return size == 0 ? null : removeLast();
+        }
+
+        @Override
+        public T getFirst() {
+            return RingBuffer.this.getFirst();
+        }
+
+        @Override
+        public T getLast() {
+            return RingBuffer.this.getLast();
+        }
+
+        @Override
+        public T peekFirst() {
+            return size == 0 ? null : (T) elements[head];
+        }
+
+        @Override
+        public T peekLast() {
+            return size == 0 ? null : (T) elements[position(size - 1)];
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object o) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            RingBuffer.this.remove(index);
+            return true;
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object o) {
+            int index = lastIndexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            RingBuffer.this.remove(index);
+            return true;
+        }
+
+        @Override
+        public boolean add(T element) {
+            addLast(element);
+            return true;
+        }
+
+        @Override
+        public boolean offer(T element) {
+            return offerLast(element);
+        }
+
+        @Override
+        public T remove() {
+            return removeFirst();
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return removeFirstOccurrence(o);
+        }
+
+        @Override
+        public T poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public T element() {
+            return getFirst();
+        }
+
+        @Override
+        public T peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(T element) {
+            addFirst(element);
+        }
+
+        @Override
+        public T pop() {
+            return removeFirst();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return RingBuffer.this.contains(o);
+        }
+
+        @Override
+        public void clear() {
+            RingBuffer.this.clear();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return RingBuffer.this.iterator();
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return RingBuffer.this.spliterator();
+        }
+
+        @Override
+        public Iterator<T> descendingIterator() {
+            ListIterator<T> it = listIterator(size);
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasPrevious();
+                }
+
+                @Override
+                public T next() {
+                    return it.previous();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+    }
+
+    /**
+     * Splits the indices of the buffer by halving their range. It binds to the size of the buffer when it is first traversed,
+     * split or sized.
+     */
+    private final class Spl implements Spliterator<T> {
+        private int origin;
+        // -1 until bound
+        private int fence;
+        private int expectedModCount;
+
+        private Spl(int origin, int fence, int expectedModCount) {
+            this.origin = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int hi = fence();
+            int mid = (origin + hi) >>> 1;
+            if (origin >= mid) {
+                return null;
+            }
+            Spl prefix = new Spl(origin, mid, expectedModCount);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = fence();
+            if (origin >= hi) {
+                return false;
+            }
+            checkForComodification();
+            action.accept((T) elements[position(origin++)]);
+            checkForComodification();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int hi = fence();
+            for (; origin < hi; origin++) {
+                checkForComodification();
+                action.accept((T) elements[position(origin)]);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Returns the array position of the element at <code>index</code>, which must be less than the array length.
+     */
+    private int position(int index) {
+        int ret = head + index;
+        return ret >= elements.length ? ret - elements.length : ret;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= elements.length) {
+            return;
+        }
+        int length = Math.max(capacity, Math.max(MIN_CAPACITY, elements.length + (elements.length >> 1)));
+        Object[] grown = toArray();
+        elements = Arrays.copyOf(grown, Math.min(length, Math.max(capacity, maxSize)));
+        head = 0;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package ch.codebulb.lambdaomega;
 
 import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import ch.codebulb.lambdaomega.abstractions.SequentialIFunctions;
 import ch.codebulb.lambdaomega.abstractions.SequentialIS;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedHashSet;
+import java.util.Collections;
 import java.util.Objects;
 
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -29,7 +31,14 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
     public final Set<T> s;
     
     S(Set<T> set) {
-        this.s = new LinkedHashSet<>(set);
+        this.s = new CompactSet<>(set);
+    }
+    
+    /**
+     * Wraps the <code>set</code> provided; it is only copied if <code>copy</code> is <code>true</code>.
+     */
+    S(Set<T> set, boolean copy) {
+        this.s = copy ? new CompactSet<>(set) : set;
     }
     
     /**
@@ -38,14 +47,17 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
      * @see #s(Object...)
      */
     public static <T> S<T> s() {
-        return new S<>(new LinkedHashSet<>());
+        return new S<>(new CompactSet<>(), false);
     }
     
     /**
      * Creates a new {@link S}. Use {@link #S(Collection)} to create a {@link S} out of an existing Collection rather than a nested {@link S}.
      */
     public static <T> S<T> s(T... ts) {
-        return S(C.toStream(ts));
+        // small sets are kept in flat arrays; see CompactMap
+        Set<T> set = new CompactSet<>(ts.length);
+        Collections.addAll(set, ts);
+        return new S<>(set, false);
     }
     
     /**
@@ -59,14 +71,14 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
      * @see #s(Object...)
      */
     public static <T> S<T> S(Stream<T> stream) {
-        return new S(stream.collect(Collectors.toSet()));
+        return new S<>(stream.collect(Collectors.toCollection(CompactSet::new)), false);
     }
     
     /**
      * Turns the collection(s) provided into an {@link S} rather than creating a nested {@link S}.
      */
     public static <T> S<T> S(Collection<T> collection) {
-        return S(C.toStream(collection));
+        return new S<>(new CompactSet<>(collection), false);
     }
     
     /**
@@ -96,7 +108,7 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
      * Creates a {@link S} by invoking the <code>generator</code> function provided <i><code>times</code></i> times with the current index.
      */
     public static <T> S<T> s(int times, Function<Integer, T> generator) {
-        return S(R.r(0).to(times).r.boxed().map(generator));
+        return S(R.r(0).to(times).stream().mapToObj(generator::apply));
     }
     
     /**
@@ -116,13 +128,28 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
         return s;
     }
     
+    /**
+     * Creates a lazy {@link S} with the same mode as this one which is backed by the <code>pipeline</code> provided.
+     * 
+     * @see C#Lazy()
+     */
+    private <N> S<N> lazy(Supplier<Stream<N>> pipeline) {
+        return withModeOf(new S<>(new LazySet<>(pipeline), false));
+    }
+    
     @Override
     public <R> S<R> Map(Function<T, R> function) {
+        if (isLazy()) {
+            return lazy(() -> stream().map(function));
+        }
         return S(map(function));
     }
 
     @Override
     public <N> S<N> Flatten() {
+        if (isLazy()) {
+            return lazy(() -> SequentialIFunctions.<N, T> flatten(stream()));
+        }
         return S(flatten());
     }
 
@@ -133,17 +160,161 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
 
     @Override
     public S<T> FindAll(Predicate<T> predicate) {
+        if (isLazy()) {
+            return lazy(() -> stream().filter(predicate));
+        }
         return S(findAll(predicate));
     }
 
     @Override
     public S<T> Filter(Predicate<T> predicate) {
-        return S(filter(predicate));
+        return FindAll(predicate);
     }
 
     @Override
     public S<T> Reject(Predicate<T> predicate) {
-        return S(reject(predicate));
+        return FindAll(predicate.negate());
+    }
+
+    /**
+     * Returns a read-only live view of the elements contained in this set or in the <code>other</code> collection provided.
+     * Nothing is copied; see {@link SetView}.
+     */
+    public Set<T> union(Collection<? extends T> other) {
+        return new SetView<>(SetView.Operation.UNION, s, asSet(other));
+    }
+
+    /**
+     * @see #union(Collection)
+     */
+    public Set<T> union(S<? extends T> other) {
+        return union(other.s);
+    }
+
+    /**
+     * Returns a new {@link S} with the elements contained in this set or in the <code>other</code> collection provided.
+     *
+     * @see #union(Collection)
+     */
+    public S<T> Union(Collection<? extends T> other) {
+        return materialize((SetView<T>) union(other));
+    }
+
+    /**
+     * @see #Union(Collection)
+     */
+    public S<T> Union(S<? extends T> other) {
+        return Union(other.s);
+    }
+
+    /**
+     * Returns a read-only live view of the elements contained both in this set and in the <code>other</code> collection provided.
+     * Nothing is copied; see {@link SetView}.
+     */
+    public Set<T> intersect(Collection<? extends T> other) {
+        return new SetView<>(SetView.Operation.INTERSECT, s, asSet(other));
+    }
+
+    /**
+     * @see #intersect(Collection)
+     */
+    public Set<T> intersect(S<? extends T> other) {
+        return intersect(other.s);
+    }
+
+    /**
+     * Returns a new {@link S} with the elements contained both in this set and in the <code>other</code> collection provided.
+     *
+     * @see #intersect(Collection)
+     */
+    public S<T> Intersect(Collection<? extends T> other) {
+        return materialize((SetView<T>) intersect(other));
+    }
+
+    /**
+     * @see #Intersect(Collection)
+     */
+    public S<T> Intersect(S<? extends T> other) {
+        return Intersect(other.s);
+    }
+
+    /**
+     * Returns a read-only live view of the elements contained in this set, but not in the <code>other</code> collection provided.
+     * Nothing is copied; see {@link SetView}.
+     */
+    public Set<T> minus(Collection<? extends T> other) {
+        return new SetView<>(SetView.Operation.MINUS, s, asSet(other));
+    }
+
+    /**
+     * @see #minus(Collection)
+     */
+    public Set<T> minus(S<? extends T> other) {
+        return minus(other.s);
+    }
+
+    /**
+     * Returns a new {@link S} with the elements contained in this set, but not in the <code>other</code> collection provided.
+     *
+     * @see #minus(Collection)
+     */
+    public S<T> Minus(Collection<? extends T> other) {
+        return materialize((SetView<T>) minus(other));
+    }
+
+    /**
+     * @see #Minus(Collection)
+     */
+    public S<T> Minus(S<? extends T> other) {
+        return Minus(other.s);
+    }
+
+    /**
+     * Returns a read-only live view of the elements contained either in this set or in the <code>other</code> collection provided,
+     * but not in both. Nothing is copied; see {@link SetView}.
+     */
+    public Set<T> symmetricDiff(Collection<? extends T> other) {
+        return new SetView<>(SetView.Operation.SYMMETRIC_DIFF, s, asSet(other));
+    }
+
+    /**
+     * @see #symmetricDiff(Collection)
+     */
+    public Set<T> symmetricDiff(S<? extends T> other) {
+        return symmetricDiff(other.s);
+    }
+
+    /**
+     * Returns a new {@link S} with the elements contained either in this set or in the <code>other</code> collection provided,
+     * but not in both.
+     *
+     * @see #symmetricDiff(Collection)
+     */
+    public S<T> SymmetricDiff(Collection<? extends T> other) {
+        return materialize((SetView<T>) symmetricDiff(other));
+    }
+
+    /**
+     * @see #SymmetricDiff(Collection)
+     */
+    public S<T> SymmetricDiff(S<? extends T> other) {
+        return SymmetricDiff(other.s);
+    }
+
+    /**
+     * Copies the <code>view</code> provided into a new {@link S} with the same mode as this one; if this set is lazy, the new set
+     * is backed by the view's pipeline.
+     */
+    private S<T> materialize(SetView<T> view) {
+        if (isLazy()) {
+            return lazy(view::stream);
+        }
+        return withModeOf(new S<>(view.materialize(isParallel()), false));
+    }
+
+    private static <T> Set<T> asSet(Collection<? extends T> collection) {
+        // a set is probed as is; any other collection is copied once so that probing it is O(1)
+        return collection instanceof Set ? (Set<T>) collection : new CompactSet<>(collection);
     }
 
     @Override
@@ -262,6 +433,27 @@ public class S<T> extends C<T, Integer, T> implements SequentialIS<T> {
         return (S<T>) super.Parallel();
     }
 
+    /**
+     * Returns a new {@link S} with an immutable snapshot of the elements of this set. The elements are looked up with a minimal perfect
+     * hash function, and the hash code is computed once. Every mutator of the new set throws an {@link UnsupportedOperationException}.
+     * The snapshot {@link #s} may be shared between threads without synchronization;
+     * the returned wrapper itself carries a mutable {@link #Par()} / {@link #Lazy()} mode, so it must be published safely, e.g. through a
+     * <code>final</code> or <code>volatile</code> field.
+     */
+    public S<T> Freeze() {
+        return withModeOf(new S<>(new FrozenSet<>(s), false));
+    }
+
+    @Override
+    public S<T> Lazy() {
+        return (S<T>) super.Lazy();
+    }
+
+    @Override
+    public S<T> Eager() {
+        return (S<T>) super.Eager();
+    }
+
     @Override
     public int hashCode() {
         int hash = 3;
@@ -0,0 +1,562 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A {@link List} which keeps its elements in a sequence of chunks of at most 4096 elements rather than in one big array. No chunk
+ * is big enough to become a humongous object of a region-based garbage collector, and the list grows by adding a chunk rather than
+ * by copying all its elements.<p/>
+ *
+ * Inserting or removing in the middle shifts the elements of a single chunk (a full chunk is split in two) and the chunk offsets.
+ * Appending another segmented list of at least a chunk size links its chunks rather than copying its elements; such shared chunks
+ * are copied before either list modifies them. As long as the list has only been appended to, an index is resolved with a shift;
+ * afterwards with a binary search over the chunk offsets. Its spliterator splits at chunk boundaries, and its iterators are fail-fast.
+ * This class is not thread-safe.
+ *
+ * @see L#Segmented()
+ */
+class SegmentedList<T> extends AbstractList<T> {
+    private static final int SHIFT = 12;
+    static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MIN_CAPACITY = 10;
+
+    private Object[][] chunks = new Object[4][];
+    // per chunk: the number of elements and whether another list links it as well
+    private int[] sizes = new int[4];
+    private boolean[] shared = new boolean[4];
+    // the index of the first element of every chunk, plus the list size at position chunkCount
+    private int[] starts = new int[5];
+    private int chunkCount;
+    // as long as all chunks except the last one are full, the chunk of an index is index >>> SHIFT
+    private boolean uniform = true;
+
+    SegmentedList() {
+    }
+
+    SegmentedList(Collection<? extends T> collection) {
+        addAll(collection);
+    }
+
+    @Override
+    public int size() {
+        return starts[chunkCount];
+    }
+
+    @Override
+    public T get(int index) {
+        checkIndex(index, size());
+        int chunk = chunkOf(index);
+        return (T) chunks[chunk][index - starts[chunk]];
+    }
+
+    @Override
+    public T set(int index, T element) {
+        checkIndex(index, size());
+        int chunk = chunkOf(index);
+        Object[] array = writable(chunk);
+        int offset = index - starts[chunk];
+        T ret = (T) array[offset];
+        array[offset] = element;
+        return ret;
+    }
+
+    @Override
+    public boolean add(T element) {
+        int chunk = chunkCount - 1;
+        if (chunk < 0 || sizes[chunk] == CHUNK_SIZE) {
+            chunk = insertChunks(chunkCount, 1);
+            chunks[chunk] = new Object[MIN_CAPACITY];
+        }
+        else if (sizes[chunk] == chunks[chunk].length || shared[chunk]) {
+            grow(chunk, sizes[chunk] + 1);
+        }
+        chunks[chunk][sizes[chunk]++] = element;
+        starts[chunkCount]++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        checkIndex(index, size() + 1);
+        if (index == size()) {
+            add(element);
+            return;
+        }
+        int chunk = chunkOf(index);
+        int offset = index - starts[chunk];
+        if (sizes[chunk] == CHUNK_SIZE) {
+            split(chunk, CHUNK_SIZE / 2);
+            if (offset >= CHUNK_SIZE / 2) {
+                chunk++;
+                offset -= CHUNK_SIZE / 2;
+            }
+        }
+        else if (sizes[chunk] == chunks[chunk].length || shared[chunk]) {
+            grow(chunk, sizes[chunk] + 1);
+        }
+        Object[] array = chunks[chunk];
+        System.arraycopy(array, offset, array, offset + 1, sizes[chunk] - offset);
+        array[offset] = element;
+        sizes[chunk]++;
+        shiftStarts(chunk + 1, 1);
+        if (chunk < chunkCount - 1) {
+            uniform = false;
+        }
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        checkIndex(index, size());
+        int chunk = chunkOf(index);
+        int offset = index - starts[chunk];
+        Object[] array = writable(chunk);
+        T ret = (T) array[offset];
+        int size = --sizes[chunk];
+        System.arraycopy(array, offset + 1, array, offset, size - offset);
+        array[size] = null;
+        shiftStarts(chunk + 1, -1);
+        if (chunk < chunkCount - 1) {
+            uniform = false;
+        }
+        if (size == 0) {
+            removeChunks(chunk, 1);
+        }
+        modCount++;
+        return ret;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        if (c instanceof SegmentedList && c.size() >= CHUNK_SIZE) {
+            SegmentedList<? extends T> other = (SegmentedList<? extends T>) c;
+            int count = other.chunkCount;
+            int first = insertChunks(chunkCount, count);
+            for (int i = 0; i < count; i++) {
+                other.shared[i] = true;
+                chunks[first + i] = other.chunks[i];
+                sizes[first + i] = other.sizes[i];
+                shared[first + i] = true;
+                starts[first + i + 1] = starts[first + i] + sizes[first + i];
+            }
+            // all chunks but the last one may not be full any more
+            uniform = false;
+            modCount++;
+            return true;
+        }
+        Object[] elements = c.toArray();
+        if (elements.length == 0) {
+            return false;
+        }
+        int from = 0;
+        if (chunkCount > 0 && sizes[chunkCount - 1] < CHUNK_SIZE) {
+            int chunk = chunkCount - 1;
+            int count = Math.min(elements.length, CHUNK_SIZE - sizes[chunk]);
+            grow(chunk, sizes[chunk] + count);
+            System.arraycopy(elements, 0, chunks[chunk], sizes[chunk], count);
+            sizes[chunk] += count;
+            starts[chunkCount] += count;
+            from = count;
+        }
+        appendChunks(elements, from, chunkCount);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        checkIndex(index, size() + 1);
+        if (index == size()) {
+            return addAll(c);
+        }
+        Object[] elements = c.toArray();
+        if (elements.length == 0) {
+            return false;
+        }
+        int chunk = chunkOf(index);
+        int offset = index - starts[chunk];
+        if (sizes[chunk] + elements.length <= CHUNK_SIZE) {
+            grow(chunk, sizes[chunk] + elements.length);
+            Object[] array = chunks[chunk];
+            System.arraycopy(array, offset, array, offset + elements.length, sizes[chunk] - offset);
+            System.arraycopy(elements, 0, array, offset, elements.length);
+            sizes[chunk] += elements.length;
+            shiftStarts(chunk + 1, elements.length);
+        }
+        else {
+            if (offset > 0) {
+                split(chunk, offset);
+                chunk++;
+            }
+            appendChunks(elements, 0, chunk);
+        }
+        uniform = false;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        int first = chunkOf(fromIndex);
+        int last = chunkOf(toIndex - 1);
+        int fromOffset = fromIndex - starts[first];
+        int toOffset = toIndex - starts[last];
+        if (first == last) {
+            Object[] array = writable(first);
+            int size = sizes[first];
+            System.arraycopy(array, toOffset, array, fromOffset, size - toOffset);
+            Arrays.fill(array, size - (toOffset - fromOffset), size, null);
+            sizes[first] = size - (toOffset - fromOffset);
+        }
+        else {
+            // keeps the head of the first chunk and the tail of the last one; drops the chunks in between
+            Object[] array = writable(first);
+            Arrays.fill(array, fromOffset, sizes[first], null);
+            sizes[first] = fromOffset;
+            int size = sizes[last] - toOffset;
+            Object[] tail = new Object[Math.max(size, MIN_CAPACITY)];
+            System.arraycopy(chunks[last], toOffset, tail, 0, size);
+            chunks[last] = tail;
+            sizes[last] = size;
+            shared[last] = false;
+            removeChunks(first + 1, last - first - 1);
+            last = first + 1;
+        }
+        for (int chunk = first; chunk < chunkCount; chunk++) {
+            starts[chunk + 1] = starts[chunk] + sizes[chunk];
+        }
+        for (int chunk = Math.min(last, chunkCount - 1); chunk >= first; chunk--) {
+            if (sizes[chunk] == 0) {
+                removeChunks(chunk, 1);
+            }
+        }
+        if (first < chunkCount - 1) {
+            uniform = false;
+        }
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[4][];
+        sizes = new int[4];
+        shared = new boolean[4];
+        starts = new int[5];
+        chunkCount = 0;
+        uniform = true;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] ret = new Object[size()];
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            System.arraycopy(chunks[chunk], 0, ret, starts[chunk], sizes[chunk]);
+        }
+        return ret;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            Object[] array = chunks[chunk];
+            for (int i = 0; i < sizes[chunk]; i++) {
+                action.accept((T) array[i]);
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ChunkSpliterator(0, 0, chunkCount, modCount);
+    }
+
+    /**
+     * Returns the number of chunks; visible for testing.
+     */
+    int chunkCount() {
+        return chunkCount;
+    }
+
+    private int chunkOf(int index) {
+        if (uniform) {
+            return Math.min(index >>> SHIFT, chunkCount - 1);
+        }
+        // the last chunk whose start is at most index
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= index) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the array of the <code>chunk</code> provided, copying it first if it is shared with another list.
+     */
+    private Object[] writable(int chunk) {
+        if (shared[chunk]) {
+            grow(chunk, sizes[chunk]);
+        }
+        return chunks[chunk];
+    }
+
+    /**
+     * Makes sure the <code>chunk</code> provided is not shared and can hold <code>capacity</code> elements.
+     */
+    private void grow(int chunk, int capacity) {
+        Object[] array = chunks[chunk];
+        if (!shared[chunk] && capacity <= array.length) {
+            return;
+        }
+        int length = capacity <= array.length ? array.length : Math.min(CHUNK_SIZE, Math.max(capacity, array.length + (array.length >> 1)));
+        chunks[chunk] = Arrays.copyOf(array, length);
+        shared[chunk] = false;
+    }
+
+    /**
+     * Moves the elements of the <code>chunk</code> provided from <code>offset</code> on into a new chunk right after it.
+     */
+    private void split(int chunk, int offset) {
+        int size = sizes[chunk] - offset;
+        insertChunks(chunk + 1, 1);
+        Object[] tail = new Object[Math.min(CHUNK_SIZE, Math.max(size + 1, MIN_CAPACITY))];
+        Object[] array = writable(chunk);
+        System.arraycopy(array, offset, tail, 0, size);
+        Arrays.fill(array, offset, sizes[chunk], null);
+        chunks[chunk + 1] = tail;
+        sizes[chunk + 1] = size;
+        sizes[chunk] = offset;
+        starts[chunk + 1] = starts[chunk] + offset;
+        uniform = false;
+    }
+
+    /**
+     * Inserts new chunks holding <code>elements</code> from <code>from</code> on before the chunk at <code>position</code>.
+     */
+    private void appendChunks(Object[] elements, int from, int position) {
+        int count = (elements.length - from + CHUNK_SIZE - 1) >>> SHIFT;
+        if (count == 0) {
+            return;
+        }
+        if (position < chunkCount) {
+            uniform = false;
+        }
+        int first = insertChunks(position, count);
+        for (int i = 0; i < count; i++) {
+            int size = Math.min(CHUNK_SIZE, elements.length - from);
+            chunks[first + i] = Arrays.copyOfRange(elements, from, from + size);
+            sizes[first + i] = size;
+            from += size;
+        }
+        for (int chunk = first; chunk < chunkCount; chunk++) {
+            starts[chunk + 1] = starts[chunk] + sizes[chunk];
+        }
+    }
+
+    /**
+     * Opens up <code>count</code> empty chunks at <code>position</code> and returns <code>position</code>. The starts of the chunks
+     * after them are left unchanged.
+     */
+    private int insertChunks(int position, int count) {
+        if (chunkCount + count > chunks.length) {
+            int length = Math.max(chunkCount + count, chunks.length * 2);
+            chunks = Arrays.copyOf(chunks, length);
+            sizes = Arrays.copyOf(sizes, length);
+            shared = Arrays.copyOf(shared, length);
+            starts = Arrays.copyOf(starts, length + 1);
+        }
+        int moved = chunkCount - position;
+        System.arraycopy(chunks, position, chunks, position + count, moved);
+        System.arraycopy(sizes, position, sizes, position + count, moved);
+        System.arraycopy(shared, position, shared, position + count, moved);
+        System.arraycopy(starts, position, starts, position + count, moved + 1);
+        for (int i = position; i < position + count; i++) {
+            sizes[i] = 0;
+            shared[i] = false;
+            starts[i] = starts[position + count];
+        }
+        chunkCount += count;
+        return position;
+    }
+
+    private void removeChunks(int position, int count) {
+        if (count == 0) {
+            return;
+        }
+        int moved = chunkCount - position - count;
+        System.arraycopy(chunks, position + count, chunks, position, moved);
+        System.arraycopy(sizes, position + count, sizes, position, moved);
+        System.arraycopy(shared, position + count, shared, position, moved);
+        System.arraycopy(starts, position + count, starts, position, moved + 1);
+        chunkCount -= count;
+        Arrays.fill(chunks, chunkCount, chunkCount + count, null);
+        if (position < chunkCount) {
+            uniform = false;
+        }
+    }
+
+    private void shiftStarts(int fromChunk, int delta) {
+        for (int chunk = fromChunk; chunk <= chunkCount; chunk++) {
+            starts[chunk] += delta;
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+
+    private class Itr implements Iterator<T> {
+        private int chunk;
+        private int offset;
+        private int cursor;
+        private int lastReturned = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (offset >= sizes[chunk]) {
+                chunk++;
+                offset = 0;
+            }
+            lastReturned = cursor++;
+            return (T) chunks[chunk][offset++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            SegmentedList.this.remove(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+            if (cursor < size()) {
+                chunk = chunkOf(cursor);
+                offset = cursor - starts[chunk];
+            }
+        }
+    }
+
+    /**
+     * Splits at chunk boundaries first; a single chunk is split in halves as an array.
+     */
+    private class ChunkSpliterator implements Spliterator<T> {
+        private int chunk;
+        private int offset;
+        private final int endChunk;
+        private final int expectedModCount;
+
+        ChunkSpliterator(int chunk, int offset, int endChunk, int expectedModCount) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.endChunk = endChunk;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (chunk < endChunk && offset >= sizes[chunk]) {
+                chunk++;
+                offset = 0;
+            }
+            if (chunk >= endChunk) {
+                return false;
+            }
+            action.accept((T) chunks[chunk][offset++]);
+            checkModCount();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            for (; chunk < endChunk; chunk++, offset = 0) {
+                Object[] array = chunks[chunk];
+                int size = sizes[chunk];
+                for (; offset < size; offset++) {
+                    action.accept((T) array[offset]);
+                }
+            }
+            checkModCount();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (endChunk - chunk >= 2) {
+                int mid = (chunk + endChunk) >>> 1;
+                Spliterator<T> ret = new ChunkSpliterator(chunk, offset, mid, expectedModCount);
+                chunk = mid;
+                offset = 0;
+                return ret;
+            }
+            if (chunk < endChunk && sizes[chunk] - offset >= 2) {
+                int mid = (offset + sizes[chunk]) >>> 1;
+                Spliterator<T> ret = Spliterators.spliterator(chunks[chunk], offset, mid, characteristics());
+                offset = mid;
+                return ret;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return chunk >= endChunk ? 0 : starts[endChunk] - starts[chunk] - offset;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
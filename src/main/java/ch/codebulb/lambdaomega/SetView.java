@@ -0,0 +1,134 @@
+package ch.codebulb.lambdaomega;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A read-only live view of the result of a set operation on two sets, which is never copied unless it is materialized.
+ * Membership is tested by probing both sets. Wherever the result allows it, the smaller set is iterated and the larger one probed:
+ * the intersection is iterated on the smaller set, and its size, which is needed for all sizes, is counted on the smaller set.<p/>
+ *
+ * If either set is big, materializing the view iterates and probes in parallel; the sets must not be modified meanwhile.
+ *
+ * @see S#Union(java.util.Collection)
+ * @see S#Intersect(java.util.Collection)
+ * @see S#Minus(java.util.Collection)
+ * @see S#SymmetricDiff(java.util.Collection)
+ */
+class SetView<T> extends AbstractSet<T> {
+    // from this set size on, materializing is parallel
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    enum Operation {UNION, INTERSECT, MINUS, SYMMETRIC_DIFF}
+
+    private final Operation operation;
+    private final Set<T> a;
+    private final Set<T> b;
+
+    SetView(Operation operation, Set<T> a, Set<T> b) {
+        this.operation = operation;
+        this.a = a;
+        this.b = b;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        switch (operation) {
+            case UNION:
+                return a.contains(o) || b.contains(o);
+            case INTERSECT:
+                return a.contains(o) && b.contains(o);
+            case MINUS:
+                return a.contains(o) && !b.contains(o);
+            default:
+                return a.contains(o) != b.contains(o);
+        }
+    }
+
+    @Override
+    public int size() {
+        int intersection = intersectionSize();
+        switch (operation) {
+            case UNION:
+                return a.size() + b.size() - intersection;
+            case INTERSECT:
+                return intersection;
+            case MINUS:
+                return a.size() - intersection;
+            default:
+                return a.size() + b.size() - 2 * intersection;
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !stream().findAny().isPresent();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return stream(false);
+    }
+
+    @Override
+    public Stream<T> parallelStream() {
+        return stream(true);
+    }
+
+    /**
+     * Returns a copy of this view as a {@link CompactSet}. It is built in parallel if <code>parallel</code> is set or either set is big.
+     */
+    Set<T> materialize(boolean parallel) {
+        if (parallel || Math.max(a.size(), b.size()) >= PARALLEL_THRESHOLD) {
+            return stream(true).collect(Collectors.toCollection(CompactSet::new));
+        }
+        // the union is at least as big as the bigger set; the other results may be much smaller than their operands
+        Set<T> ret = new CompactSet<>(operation == Operation.UNION ? Math.max(a.size(), b.size()) : 0);
+        stream(false).forEach(ret::add);
+        return ret;
+    }
+
+    private Stream<T> stream(boolean parallel) {
+        if (parallel) {
+            // lets lazy sets materialize before they are probed concurrently
+            a.size();
+            b.size();
+        }
+        switch (operation) {
+            case UNION:
+                return Stream.concat(stream(a, parallel), stream(b, parallel).filter(it -> !a.contains(it)));
+            case INTERSECT:
+                Set<T> smaller = a.size() <= b.size() ? a : b;
+                Set<T> larger = smaller == a ? b : a;
+                return stream(smaller, parallel).filter(larger::contains);
+            case MINUS:
+                return stream(a, parallel).filter(it -> !b.contains(it));
+            default:
+                return Stream.concat(stream(a, parallel).filter(it -> !b.contains(it)), stream(b, parallel).filter(it -> !a.contains(it)));
+        }
+    }
+
+    private static <T> Stream<T> stream(Set<T> set, boolean parallel) {
+        return parallel ? set.parallelStream() : set.stream();
+    }
+
+    private int intersectionSize() {
+        Set<T> smaller = a.size() <= b.size() ? a : b;
+        Set<T> larger = smaller == a ? b : a;
+        int ret = 0;
+        for (T it : smaller) {
+            if (larger.contains(it)) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+}
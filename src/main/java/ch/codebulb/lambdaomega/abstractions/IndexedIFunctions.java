@@ -1,12 +1,12 @@
 package ch.codebulb.lambdaomega.abstractions;
 
 import ch.codebulb.lambdaomega.C;
+import ch.codebulb.lambdaomega.KeyComparator;
 import static ch.codebulb.lambdaomega.F.*;
 import ch.codebulb.lambdaomega.M;
 import ch.codebulb.lambdaomega.M.E;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -84,7 +84,7 @@ public interface IndexedIFunctions<K, V> extends IndexedI<K, V>, FunctionsI {
      * on every element.
      */
     public default M.E<K, V> min(BiFunction<K, V, Comparable>... keyExtractors) {
-        return Collections.min(getEntries(), compareAsc(C.map(keyExtractors, it -> function(it))));
+        return KeyComparator.min(getEntries().stream(), compareAsc(C.map(keyExtractors, it -> function(it))));
     }
     
     /**
@@ -92,7 +92,7 @@ public interface IndexedIFunctions<K, V> extends IndexedI<K, V>, FunctionsI {
      * on every element.
      */
     public default M.E<K, V> max(BiFunction<K, V, Comparable>... keyExtractors) {
-        return Collections.max(getEntries(), compareAsc(C.map(keyExtractors, it -> function(it))));
+        return KeyComparator.max(getEntries().stream(), compareAsc(C.map(keyExtractors, it -> function(it))));
     }
     
     /**
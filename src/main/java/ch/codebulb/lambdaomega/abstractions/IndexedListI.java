@@ -1,13 +1,10 @@
 package ch.codebulb.lambdaomega.abstractions;
 
-import ch.codebulb.lambdaomega.C;
 import ch.codebulb.lambdaomega.M;
 import static ch.codebulb.lambdaomega.M.e;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Adds a contract to work with sequential access to a {@link IndexedIS}. This interface makes no assumptions about the data structure's ordering.
@@ -61,26 +58,51 @@ public interface IndexedListI<K, V> extends IndexedIS<K, V> {
     }
     
     default M.E<K, V> findDuplicateKeyInclThis(List<Map<? extends K, ? extends V>> maps) {
-        List<Map<? extends K, ? extends V>> thisAndOtherMaps = Stream.concat(Stream.of(toMap()), C.toStream(maps)).collect(Collectors.toList());
-        return findDuplicateKey(thisAndOtherMaps);
+        return findDuplicateKey(toMap(), maps);
     }
     
+    /**
+     * Returns the first key of the <code>maps</code> provided which is already present in the <code>target</code> map provided,
+     * or which is present in more than one of the <code>maps</code> provided, together with its previous value;
+     * or <code>null</code> if there are no duplicate keys.<p/>
+     * 
+     * This runs in time linear in the total size of the <code>maps</code>; the <code>target</code> is queried, but not copied.
+     */
+    static <K, V> M.E<K, V> findDuplicateKey(Map<? extends K, ? extends V> target, List<Map<? extends K, ? extends V>> maps) {
+        for (Map<? extends K, ? extends V> map : maps) {
+            for (K key : map.keySet()) {
+                if (target.containsKey(key)) {
+                    return e(key, target.get(key));
+                }
+            }
+        }
+        return findDuplicateKey(maps);
+    }
+    
+    /**
+     * Returns the first key which is present in more than one of the <code>maps</code> provided, together with its value in the
+     * first of these maps; or <code>null</code> if there are no duplicate keys. This is a single pass over all keys.
+     */
     static <K, V> M.E<K, V> findDuplicateKey(List<Map<? extends K, ? extends V>> maps) {
+        if (maps.size() < 2) {
+            return null;
+        }
+        int size = 0;
         for (Map<? extends K, ? extends V> map : maps) {
-            HashMap<K, V> copy = new HashMap<>(map);
-            for (Map<? extends K, ? extends V> otherMap : maps) {
-                if (map != otherMap) {
-                    for (K key : otherMap.keySet()) {
-                        V previousValue = copy.replace(key, null);
-                        if (previousValue != null) {
-                            return e(key, previousValue);
-                        }
-                    }
+            size += map.size();
+        }
+        Map<K, V> seen = new HashMap<>(size * 4 / 3 + 1);
+        for (Map<? extends K, ? extends V> map : maps) {
+            for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+                K key = entry.getKey();
+                if (seen.containsKey(key)) {
+                    return e(key, seen.get(key));
                 }
+                seen.put(key, entry.getValue());
             }
         }
         return null;
-    }  
+    }
     
     /**
      * Signals that an attempt to {@link IndexedListI#insert(Object, Object)} an object with an already existing index / key
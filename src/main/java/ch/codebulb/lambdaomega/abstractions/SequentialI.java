@@ -1,8 +1,8 @@
 package ch.codebulb.lambdaomega.abstractions;
 
 import ch.codebulb.lambdaomega.C;
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -126,7 +126,8 @@ public interface SequentialI<T> {
      * @see Collection#retainAll(Collection)
      */
     public default Collection<T> retainAll(Collection<? extends T>... c) {
-        List<T> all = new ArrayList<>();
+        // a hash set rather than a list so that the retainAll(...) lookups are O(1)
+        Set<T> all = new HashSet<>();
         C.toStream(c).forEach(it -> all.addAll(it));
         
         toCollection().retainAll(all);
@@ -2,6 +2,8 @@ package ch.codebulb.lambdaomega.abstractions;
 
 import static ch.codebulb.lambdaomega.F.compare;
 import static ch.codebulb.lambdaomega.F.compareAsc;
+import ch.codebulb.lambdaomega.C;
+import ch.codebulb.lambdaomega.KeyComparator;
 import ch.codebulb.lambdaomega.M;
 import ch.codebulb.lambdaomega.M.E;
 import ch.codebulb.lambdaomega.V2;
@@ -153,7 +155,7 @@ public interface SequentialIFunctions<T> extends SequentialI<T>, FunctionsI {
      * @see {@link #sortDescBy(Function)}, {@link #sortBy(Function...)}
      */
     public default List<T> sortAscBy(Function<T, Comparable>... keyExtractors) {
-        return stream().sorted(compareAsc(keyExtractors)).collect(Collectors.toList());
+        return KeyComparator.sort(stream(), compareAsc(keyExtractors));
     }
     
     /**
@@ -163,7 +165,7 @@ public interface SequentialIFunctions<T> extends SequentialI<T>, FunctionsI {
      * @see {@link #sortAscBy(Function...)}, {@link #sortBy(Function...)}
      */
     public default List<T> sortDescBy(Function<T, Comparable>... keyExtractors) {
-        return stream().sorted(compareAsc(keyExtractors).reversed()).collect(Collectors.toList());
+        return KeyComparator.sort(stream(), compareAsc(keyExtractors).reversed());
     }
     
     /**
@@ -175,7 +177,7 @@ public interface SequentialIFunctions<T> extends SequentialI<T>, FunctionsI {
      * @see {@link #sortAscBy(Function...)}, {@link #sortBy(Function...)}
      */
     public default List<T> sortBy(Function<T, V2<Function<? super T, Comparable>, Boolean>>... keyExtractors) {
-        return stream().sorted(compare(keyExtractors)).collect(Collectors.toList());
+        return KeyComparator.sort(stream(), compare(keyExtractors));
     }
     
     /**
@@ -194,7 +196,7 @@ public interface SequentialIFunctions<T> extends SequentialI<T>, FunctionsI {
      * on every element.
      */
     public default T min(Function<T, Comparable>... keyExtractors) {
-        return Collections.min(toCollection(), compareAsc(keyExtractors));
+        return KeyComparator.min(stream(), compareAsc(keyExtractors));
     }
     
     /**
@@ -202,7 +204,29 @@ public interface SequentialIFunctions<T> extends SequentialI<T>, FunctionsI {
      * on every element.
      */
     public default T max(Function<T, Comparable>... keyExtractors) {
-        return Collections.max(toCollection(), compareAsc(keyExtractors));
+        return KeyComparator.max(stream(), compareAsc(keyExtractors));
+    }
+    
+    /**
+     * Returns a {@link List} of the <code>n</code> elements with the minimum values <i>in ascending order</i>, using the
+     * <code>keyExtractors</code> provided in order as a comparator on every element. This is the same as the first <code>n</code>
+     * elements of {@link #sortAscBy(Function...)}, but it doesn't sort all elements: it keeps a heap of <code>n</code> elements only,
+     * and if streamed in parallel, every chunk selects its own <code>n</code> elements.
+     * 
+     * @see C#smallest(int, java.util.Comparator)
+     */
+    public default List<T> minN(int n, Function<T, Comparable>... keyExtractors) {
+        return stream().collect(C.smallest(n, compareAsc(keyExtractors)));
+    }
+    
+    /**
+     * Returns a {@link List} of the <code>n</code> elements with the maximum values <i>in descending order</i>; the same as the first
+     * <code>n</code> elements of {@link #sortDescBy(Function...)}.
+     * 
+     * @see #minN(int, Function...)
+     */
+    public default List<T> maxN(int n, Function<T, Comparable>... keyExtractors) {
+        return stream().collect(C.smallest(n, compareAsc(keyExtractors).reversed()));
     }
     
     /**
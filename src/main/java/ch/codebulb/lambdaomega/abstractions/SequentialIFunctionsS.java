@@ -71,6 +71,20 @@ public interface SequentialIFunctionsS<T> extends SequentialIFunctions<T> {
         return L(sortBy(keyExtractors));
     }
     
+    /**
+     * @see #minN(int, Function...)
+     */
+    public default L<T> MinN(int n, Function<T, Comparable>... keyExtractors) {
+        return L(minN(n, keyExtractors));
+    }
+    
+    /**
+     * @see #maxN(int, Function...)
+     */
+    public default L<T> MaxN(int n, Function<T, Comparable>... keyExtractors) {
+        return L(maxN(n, keyExtractors));
+    }
+    
     /**
      * @see #groupBy(Function)
      */
@@ -0,0 +1,25 @@
+package ch.codebulb.lambdaomega.abstractions.functions;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Represents an operation that accepts two {@code int}-valued arguments, and returns no result.
+ * This is the {@code (int, int)} specialization of {@link BiConsumer}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #accept(int, int)}.
+ *
+ * @see BiConsumer
+ */
+@FunctionalInterface
+public interface IntIntConsumer {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param t the first input argument
+     * @param u the second input argument
+     */
+    void accept(int t, int u);
+    
+}
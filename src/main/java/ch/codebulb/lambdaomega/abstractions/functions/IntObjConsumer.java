@@ -0,0 +1,27 @@
+package ch.codebulb.lambdaomega.abstractions.functions;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Represents an operation that accepts an {@code int}-valued and an object-valued argument, and returns no result.
+ * This is the {@code (int, reference)} specialization of {@link BiConsumer}.
+ *
+ * <p>This is a functional interface
+ * whose functional method is {@link #accept(int, Object)}.
+ *
+ * @param <T> the type of the object argument to the operation
+ *
+ * @see BiConsumer
+ */
+@FunctionalInterface
+public interface IntObjConsumer<T> {
+
+    /**
+     * Performs this operation on the given arguments.
+     *
+     * @param i the first input argument
+     * @param t the second input argument
+     */
+    void accept(int i, T t);
+    
+}
@@ -0,0 +1,170 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.AsyncCache.asyncCache;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class AsyncCacheTest {
+    @Test
+    public void testSharedLoad() {
+        List<Promise<Integer>> loads = new ArrayList<>();
+        AsyncCache<String, Integer> cache = asyncCache(it -> {
+            Promise<Integer> ret = new Promise<>();
+            loads.add(ret);
+            return ret;
+        }, CacheMap.builder().maximumSize(10));
+
+        Promise<Integer> first = cache.get("a");
+        Promise<Integer> second = cache.get("a");
+        assertTrue(first == second);
+        assertEquals(1, loads.size());
+        assertFalse(first.isDone());
+
+        loads.get(0).complete(1);
+        assertEquals(1, first.join(), second.join(), cache.get("a").join());
+        assertEquals(1, loads.size());
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    public void testConcurrentLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        AsyncCache<String, Integer> cache = asyncCache(it -> Promise.completeAsync(() -> {
+            loads.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return it.length();
+        }), CacheMap.builder().maximumSize(10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Promise<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            results.add(Promise.completeAsync(() -> cache.get("abc").join(), executor));
+        }
+        for (Promise<Integer> result : results) {
+            assertEquals(3, result.join());
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testFailure() {
+        AtomicInteger loads = new AtomicInteger();
+        AsyncCache<String, Integer> cache = asyncCache(it -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            Promise<Integer> ret = new Promise<>();
+            ret.complete(it.length());
+            return ret;
+        }, CacheMap.builder());
+
+        assertTrue(cache.get("a").isCompletedExceptionally());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.get("a").join());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testRefresh() {
+        AtomicLong time = new AtomicLong();
+        AtomicInteger version = new AtomicInteger();
+        List<Promise<Integer>> loads = new ArrayList<>();
+        AsyncCache<String, Integer> cache = asyncCache(it -> {
+            Promise<Integer> ret = new Promise<>();
+            loads.add(ret);
+            return ret;
+        }, CacheMap.builder().refreshAfterWrite(10, TimeUnit.NANOSECONDS).ticker(time::get));
+
+        cache.get("a");
+        loads.get(0).complete(version.incrementAndGet());
+        time.set(5);
+        assertEquals(1, cache.get("a").join());
+        assertEquals(1, loads.size());
+
+        // serves the current value while reloading
+        time.set(10);
+        assertEquals(1, cache.get("a").join(), cache.get("a").join());
+        assertEquals(2, loads.size());
+        loads.get(1).complete(version.incrementAndGet());
+        assertEquals(2, cache.get("a").join());
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void testUnbounded() {
+        AtomicLong time = new AtomicLong();
+        AsyncCache<Integer, Integer> refreshing = asyncCache(it -> Promise.wrap(CompletableFuture.completedFuture(it * 2)),
+                CacheMap.builder().refreshAfterWrite(10, TimeUnit.NANOSECONDS).ticker(time::get));
+        AsyncCache<Integer, Integer> expiring = asyncCache(it -> Promise.wrap(CompletableFuture.completedFuture(it * 2)),
+                CacheMap.builder().expireAfterWrite(10, TimeUnit.NANOSECONDS).ticker(time::get));
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i * 2, refreshing.get(i).join(), expiring.get(i).join());
+        }
+        assertEquals(1_000, refreshing.size(), expiring.size());
+        // without a maximum size, the cache doesn't allocate a frequency sketch
+        assertEquals(0, refreshing.sketchLength(), expiring.sketchLength(),
+                asyncCache(it -> Promise.wrap(CompletableFuture.completedFuture(it)), CacheMap.builder()).sketchLength());
+        assertEquals(16, asyncCache(it -> Promise.wrap(CompletableFuture.completedFuture(it)),
+                CacheMap.builder().maximumSize(1_000_000)).sketchLength());
+    }
+
+    @Test
+    public void testLoadCountedOnce() {
+        AsyncCache<String, Integer> cache = asyncCache((String it) -> Promise.wrap(CompletableFuture.completedFuture(it.length())),
+                CacheMap.builder().maximumSize(100));
+        // a miss and the insert of the entry which is loaded count as one use
+        assertEquals(1, cache.get("a").join());
+        assertEquals(1, cache.frequency("a"));
+        assertEquals(1, cache.get("a").join());
+        assertEquals(2, cache.frequency("a"));
+        assertEquals(m("bb", 2).i("ccc", 3).m, cache.getAll("bb", "ccc").join());
+        assertEquals(1, cache.frequency("bb"), cache.frequency("ccc"));
+    }
+
+    @Test
+    public void testGetAll() {
+        List<List<String>> bulkLoads = new ArrayList<>();
+        AsyncCache<String, Integer> cache = asyncCache((String it) -> {
+            Promise<Integer> ret = new Promise<>();
+            ret.complete(it.length());
+            return ret;
+        }, CacheMap.builder().maximumSize(10));
+
+        assertEquals(m("a", 1).i("bb", 2).m, cache.getAll("a", "bb", "a").join());
+
+        cache.WithBulkLoader(keys -> {
+            bulkLoads.add(keys);
+            Promise<Map<String, Integer>> ret = new Promise<>();
+            ret.complete(m("ccc", 30).i("dddd", 40).m);
+            return ret;
+        });
+        Map<String, Integer> all = cache.getAll(list("bb", "ccc", "dddd")).join();
+        assertEquals(m("bb", 2).i("ccc", 30).i("dddd", 40).m, all);
+        assertEquals(list("bb", "ccc", "dddd"), new ArrayList<>(all.keySet()));
+        assertEquals(list(list("ccc", "dddd")), bulkLoads);
+        assertEquals(30, cache.get("ccc").join());
+
+        assertTrue(cache.getAll("e").isCompletedExceptionally());
+        assertNull(cache.getIfPresent("e"));
+    }
+}
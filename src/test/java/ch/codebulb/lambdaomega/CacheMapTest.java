@@ -0,0 +1,227 @@
+package ch.codebulb.lambdaomega;
+
+import ch.codebulb.lambdaomega.CacheMap.Eviction;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class CacheMapTest {
+    @Test
+    public void testLoader() {
+        AtomicInteger loads = new AtomicInteger();
+        M<Integer, Integer> cache = M.<Integer, Integer> m(it -> {
+            loads.incrementAndGet();
+            return it * 2;
+        }).Cache(CacheMap.builder().maximumSize(2).eviction(Eviction.LRU));
+        assertTrue(cache.m instanceof CacheMap);
+
+        assertEquals(2, cache.get(1));
+        assertEquals(4, cache.get(2));
+        assertEquals(2, cache.get(1));
+        assertEquals(2, loads.get());
+        assertEquals(6, cache.get(3));
+        assertEquals(m(1, 2).i(3, 6).m, new HashMap<>(cache.m));
+        assertEquals(4, cache.get(2));
+        assertEquals(4, loads.get());
+
+        CacheMap.Stats stats = ((CacheMap<Integer, Integer>) cache.m).stats();
+        assertEquals(1L, stats.hitCount);
+        assertEquals(4L, stats.missCount);
+        assertEquals(2L, stats.evictionCount);
+        assertEquals(0.2, stats.hitRate());
+
+        assertEquals(m("a", 0).i("b", 1).m, m("a", 0).i("b", 1).Cache(CacheMap.builder().maximumSize(5)).toMap());
+    }
+
+    @Test
+    public void testLfu() {
+        CacheMap<String, Integer> cache = CacheMap.builder().maximumSize(2).eviction(Eviction.LFU).build();
+        cache.put("a", 0);
+        cache.put("b", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", 2);
+        assertEquals(m("a", 0).i("c", 2).m, new HashMap<>(cache));
+        cache.put("d", 3);
+        assertEquals(m("a", 0).i("d", 3).m, new HashMap<>(cache));
+    }
+
+    @Test
+    public void testTinyLfu() {
+        CacheMap<Integer, Integer> cache = CacheMap.builder().maximumSize(100).build();
+        // a frequently used working set...
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.put(i, i);
+                cache.get(i);
+            }
+        }
+        // ...survives a scan of entries used once only
+        for (int i = 1_000; i < 11_000; i++) {
+            cache.put(i, i);
+            cache.get(i % 50);
+            assertTrue(cache.size() <= 100);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, cache.get(i));
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void testTinyLfuAdmission() {
+        CacheMap<String, Integer> cache = CacheMap.builder().maximumWeight(10, (String k, Integer v) -> v).build();
+        // fills the main space with 9 entries, the window with 1
+        for (int i = 1; i <= 10; i++) {
+            cache.put("k" + i, 1);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertNull(cache.get("hot"));
+        }
+        cache.put("hot", 1);
+        assertFalse(cache.containsKey("k10"));
+
+        // the heavy entry pushes the hot entry out of the window; it is admitted by evicting exactly one main entry
+        cache.put("heavy", 3);
+        assertTrue(cache.containsKey("hot"));
+        assertFalse(cache.containsKey("k1"));
+        for (int i = 2; i <= 9; i++) {
+            assertTrue(cache.containsKey("k" + i));
+        }
+        // the heavy entry itself is used less frequently than the main entries, so it is not admitted
+        assertFalse(cache.containsKey("heavy"));
+        assertEquals(9, cache.size());
+    }
+
+    @Test
+    public void testTinyLfuLoadCountedOnce() {
+        M<Integer, Integer> cache = M.<Integer, Integer> m(it -> it * 2).Cache(CacheMap.builder().maximumSize(100));
+        CacheMap<Integer, Integer> map = (CacheMap<Integer, Integer>) cache.m;
+        assertEquals(2, cache.get(1));
+        assertEquals(1, map.frequency(1));
+        assertEquals(2, cache.get(1));
+        assertEquals(2, map.frequency(1));
+        // a plain put is counted as well
+        map.put(2, 4);
+        assertEquals(1, map.frequency(2));
+    }
+
+    @Test
+    public void testSketchSize() {
+        // an unbounded map never evicts, so it falls back to LRU without a sketch
+        CacheMap<Integer, Integer> unbounded = CacheMap.builder().build();
+        for (int i = 0; i < 1_000; i++) {
+            unbounded.put(i, i);
+        }
+        assertEquals(0, unbounded.sketchLength(),
+                CacheMap.builder().expireAfterWrite(1, TimeUnit.MINUTES).build().sketchLength(),
+                CacheMap.builder().softValues().build().sketchLength());
+
+        // the sketch grows with the number of entries rather than with the maximum size or weight
+        CacheMap<Integer, Integer> bySize = CacheMap.builder().maximumSize(1_000_000_000).build();
+        CacheMap<Integer, Integer> byWeight = CacheMap.builder().maximumWeight(Long.MAX_VALUE - 1, (Integer k, Integer v) -> 1_000).build();
+        assertEquals(16, bySize.sketchLength(), byWeight.sketchLength());
+        for (int i = 0; i < 100; i++) {
+            bySize.put(i, i);
+            byWeight.put(i, i);
+        }
+        assertEquals(128, bySize.sketchLength(), byWeight.sketchLength());
+        assertEquals(100, bySize.size(), byWeight.size());
+    }
+
+    @Test
+    public void testWeight() {
+        CacheMap<String, String> cache = CacheMap.builder().maximumWeight(5, (String k, String v) -> v.length())
+                .eviction(Eviction.LRU).build();
+        cache.put("a", "aa");
+        cache.put("b", "bb");
+        cache.put("c", "c");
+        assertEquals(3, cache.size());
+        cache.put("d", "dd");
+        assertEquals(m("b", "bb").i("c", "c").i("d", "dd").m, new HashMap<>(cache));
+        cache.put("c", "cccc");
+        assertEquals(m("c", "cccc").m, new HashMap<>(cache));
+    }
+
+    @Test
+    public void testWeightChanges() {
+        // re-putting keys with other weights keeps the weight accounting of every policy consistent
+        for (Eviction eviction : Eviction.values()) {
+            CacheMap<Integer, Integer> cache = CacheMap.builder().maximumWeight(20, (Integer k, Integer v) -> v)
+                    .eviction(eviction).build();
+            Random random = new Random(42);
+            for (int i = 0; i < 10_000; i++) {
+                cache.put(random.nextInt(10), random.nextInt(6));
+                assertTrue(cache.values().stream().mapToInt(it -> it).sum() <= 20);
+            }
+            // all keys fit once they are light
+            for (int key = 0; key < 10; key++) {
+                cache.put(key, 1);
+            }
+            assertEquals(10, cache.size());
+        }
+    }
+
+    @Test
+    public void testExpiry() {
+        AtomicLong time = new AtomicLong();
+        CacheMap<String, Integer> ttl = CacheMap.builder().expireAfterWrite(10, TimeUnit.NANOSECONDS).ticker(time::get).build();
+        CacheMap<String, Integer> tti = CacheMap.builder().expireAfterAccess(10, TimeUnit.NANOSECONDS).ticker(time::get).build();
+        ttl.put("a", 0);
+        tti.put("a", 0);
+        time.set(5);
+        ttl.put("b", 1);
+        tti.put("b", 1);
+        time.set(9);
+        assertEquals(0, ttl.get("a"), tti.get("a"));
+        time.set(12);
+        assertFalse(ttl.containsKey("a"));
+        assertTrue(tti.containsKey("a"));
+        assertEquals(m("b", 1).m, new HashMap<>(ttl));
+        assertEquals(m("a", 0).i("b", 1).m, new HashMap<>(tti));
+        time.set(18);
+        assertEquals(m("a", 0).m, new HashMap<>(tti));
+        time.set(100);
+        assertEquals(0, ttl.size(), tti.size());
+        assertEquals(2L, ttl.stats().evictionCount);
+        assertEquals(2L, tti.stats().evictionCount);
+    }
+
+    @Test
+    public void testSoftValues() {
+        CacheMap<String, Integer> cache = CacheMap.builder().softValues().build();
+        cache.put("a", 0);
+        assertEquals(0, cache.get("a"));
+        assertEquals(0, cache.remove("a"));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        try {
+            CacheMap.builder().maximumSize(-1);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {}
+        try {
+            CacheMap.builder().maximumSize(1).maximumWeight(1, (String k, String v) -> 1);
+            fail();
+        }
+        catch (IllegalStateException ex) {}
+        try {
+            CacheMap.builder().build().put("a", null);
+            fail();
+        }
+        catch (NullPointerException ex) {}
+    }
+}
@@ -0,0 +1,196 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.S.s;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class CompactMapTest {
+    @Test
+    public void testDefaultBacking() {
+        assertTrue(m().m instanceof CompactMap);
+        assertTrue(m("a", 0).m instanceof CompactMap);
+        assertTrue(s().s instanceof CompactSet);
+        assertTrue(s(1, 2).s instanceof CompactSet);
+        assertEquals(list(3, 1, 2), new ArrayList<>(s(3, 1, 2, 1).s));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        CompactMap<String, Integer> map = new CompactMap<>();
+        map.put("c", 0);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("a", 3);
+        assertEquals(list("c", "a", "b"), new ArrayList<>(map.keySet()));
+        assertEquals(list(0, 3, 2), new ArrayList<>(map.values()));
+
+        assertEquals(3, map.remove("a"));
+        assertNull(map.remove("a"));
+        map.put("a", 4);
+        assertEquals(list("c", "b", "a"), new ArrayList<>(map.keySet()));
+        assertEquals(m("c", 0).i("b", 2).i("a", 4).m, map);
+    }
+
+    @Test
+    public void testNulls() {
+        CompactMap<String, Integer> map = new CompactMap<>();
+        map.put(null, null);
+        map.put("a", null);
+        assertTrue(map.containsKey(null));
+        assertTrue(map.containsValue(null));
+        assertEquals(2, map.size());
+        assertNull(map.get(null));
+        assertEquals(1, map.getOrDefault("b", 1));
+        map.remove(null);
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void testViews() {
+        CompactMap<String, Integer> map = new CompactMap<>(m("a", 0).i("b", 1).i("c", 2).m);
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        iterator.next().setValue(10);
+        iterator.next();
+        iterator.remove();
+        assertEquals(m("a", 10).i("c", 2).m, map);
+
+        map.keySet().remove("a");
+        map.values().clear();
+        assertTrue(map.isEmpty());
+
+        map.put("d", 3);
+        map.put("e", 4);
+        try {
+            for (String key : map.keySet()) {
+                map.remove(key);
+            }
+            fail();
+        }
+        catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testChurn() {
+        // compares against LinkedHashMap while the entry arrays are repeatedly compacted and grown
+        CompactMap<Integer, Integer> map = new CompactMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void testSmall() {
+        // "Aa" and "BB" have the same hash code
+        CompactMap<String, Integer> map = new CompactMap<>(1);
+        map.put("Aa", 0);
+        map.put("BB", 1);
+        assertEquals(0, map.get("Aa"));
+        assertEquals(1, map.get("BB"));
+        assertEquals(0, map.remove("Aa"));
+        assertEquals(m("BB", 1).m, map);
+
+        // grows from the flat arrays into an indexed table and is compacted again
+        CompactMap<Integer, Integer> small = new CompactMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int key = random.nextInt(i % 1_000 < 500 ? 6 : 14);
+            if (random.nextBoolean()) {
+                assertEquals(expected.remove(key), small.remove(key));
+            }
+            else {
+                assertEquals(expected.put(key, i), small.put(key, i));
+            }
+            assertEquals(expected.size(), small.size());
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(small.entrySet()));
+    }
+
+    @Test
+    public void testSet() {
+        CompactSet<String> set = new CompactSet<>(list("b", "a", "b"));
+        assertEquals(2, set.size());
+        assertFalse(set.add("a"));
+        assertTrue(set.add("c"));
+        assertTrue(set.remove("b"));
+        assertFalse(set.remove("b"));
+        assertEquals(list("a", "c"), new ArrayList<>(set));
+        assertEquals(s("c", "a").s, set);
+    }
+
+    @Test
+    public void testSpliterator() {
+        CompactMap<Integer, Integer> map = new CompactMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, -i);
+            expected.put(i, -i);
+        }
+        for (int i = 0; i < 10_000; i += 3) {
+            map.remove(i);
+            expected.remove(i);
+        }
+        Spliterator<Integer> keys = map.keySet().spliterator();
+        assertTrue(keys.hasCharacteristics(Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED));
+        assertEquals((long) expected.size(), keys.estimateSize());
+        assertTrue(map.entrySet().spliterator().hasCharacteristics(Spliterator.ORDERED | Spliterator.DISTINCT));
+        assertTrue(map.values().spliterator().hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(s(3, 1, 2).s.spliterator().hasCharacteristics(Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SIZED));
+
+        // splits by position, skipping removed entries
+        Spliterator<Integer> prefix = keys.trySplit();
+        assertFalse(keys.hasCharacteristics(Spliterator.SIZED));
+        List<Integer> traversed = new ArrayList<>();
+        prefix.forEachRemaining(traversed::add);
+        assertTrue(keys.tryAdvance(traversed::add));
+        keys.forEachRemaining(traversed::add);
+        assertEquals(new ArrayList<>(expected.keySet()), traversed);
+
+        assertEquals(new ArrayList<>(expected.keySet()), map.keySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(expected.values()), map.values().parallelStream().collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(expected.entrySet()), map.entrySet().parallelStream().collect(Collectors.toList()));
+        assertEquals(1, map.keySet().stream().findFirst().get(), S.S(map.keySet()).Par().stream().findFirst().get());
+        assertEquals(list(1, 2), map.keySet().parallelStream().limit(2).collect(Collectors.toList()));
+
+        try {
+            map.keySet().stream().forEach(it -> map.put(-it, it));
+            fail();
+        }
+        catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+}
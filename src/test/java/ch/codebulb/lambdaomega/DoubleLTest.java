@@ -0,0 +1,28 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.DoubleL.dl;
+import static ch.codebulb.lambdaomega.L.*;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import static org.junit.Assert.assertArrayEquals;
+import org.junit.Test;
+
+public class DoubleLTest {
+    @Test
+    public void testConvert() {
+        assertEquals(dl(0, 0.5, 1), dl(list(0.0, 0.5, 1.0)), dl(3, it -> it / 2.0));
+        assertEquals(l(0.0, 0.5), dl(0, 0.5).toL());
+        assertEquals("DoubleL[0.0, 0.5]", dl(0, 0.5).toString());
+    }
+    
+    @Test
+    public void testFunctions() {
+        assertArrayEquals(new double[] {1, 2}, dl(0.5, 1).map(it -> it * 2), 0);
+        assertEquals(dl(1.5), dl(0.5, 1.5).Filter(it -> it > 1));
+        assertEquals(2.0, dl(0.5, 1.5).sum());
+        assertEquals(-0.5, dl(0.5, -0.5).min());
+        assertEquals(dl(Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 2.5, Double.NaN), 
+                dl(0.0, Double.NaN, -1.5, 2.5, -0.0, Double.NEGATIVE_INFINITY).SortAscBy(it -> it),
+                dl(0.0, Double.NaN, -1.5, 2.5, -0.0, Double.NEGATIVE_INFINITY).SortAsc());
+        assertEquals(dl(2.5, 0.0, -1.5), dl(0.0, -1.5, 2.5).SortDesc());
+    }
+}
@@ -0,0 +1,128 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.S.s;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class FreezeTest {
+    @Test
+    public void testL() {
+        L<Integer> frozen = l(0, 1, 2).Freeze();
+        assertEquals(l(0, 1, 2), frozen);
+        assertEquals(l(0, 1, 2).hashCode(), frozen.hashCode());
+        assertEquals(1, frozen.get(1));
+        assertEquals(l(2, 3), frozen.Map(it -> it + 1).Filter(it -> it > 0).Get(1, 2));
+        try {
+            frozen.Add(3);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        try {
+            frozen.Set(0, 3);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        assertEquals(l(0, 1, 2), frozen);
+
+        // a frozen list is a cheap composite key
+        M<L<String>, Integer> map = m(l("a", "b").Freeze(), 0).i(l("c").Freeze(), 1);
+        assertEquals(0, map.get(l("a", "b").Freeze()));
+        assertEquals(1, map.get(l("c")));
+    }
+
+    @Test
+    public void testS() {
+        S<String> frozen = s("a", "b", "c").Freeze();
+        assertEquals(s("a", "b", "c"), frozen);
+        assertEquals(s("a", "b", "c").hashCode(), frozen.hashCode());
+        assertEquals(list("a", "b", "c"), new ArrayList<>(frozen.s));
+        assertTrue(frozen.contains("b"));
+        assertFalse(frozen.contains("d"));
+        assertTrue(s().Freeze().isEmpty());
+        assertFalse(s().Freeze().contains("a"));
+        try {
+            frozen.Add("d");
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        try {
+            frozen.Remove("a");
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testM() {
+        M<String, Integer> frozen = m("a", 0).i("b", 1).i(null, 2).Freeze();
+        assertEquals(m("a", 0).i("b", 1).i(null, 2), frozen);
+        assertEquals(m("a", 0).i("b", 1).i(null, 2).hashCode(), frozen.hashCode());
+        assertEquals(list("a", "b", null), new ArrayList<>(frozen.m.keySet()));
+        assertEquals(1, frozen.get("b"));
+        assertEquals(2, frozen.m.get(null));
+        assertNull(frozen.m.get("c"));
+        assertEquals(3, frozen.getOrDefault("c", 3));
+        try {
+            frozen.Insert("c", 2);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        try {
+            frozen.DeleteKey("a");
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        try {
+            frozen.m.entrySet().iterator().remove();
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testPerfectHash() {
+        Map<String, Integer> expected = new HashMap<>();
+        M<String, Integer> map = m();
+        for (int i = 0; i < 100_000; i++) {
+            expected.put("key" + i, i);
+            map.i("key" + i, i);
+        }
+        M<String, Integer> frozen = map.Freeze();
+        assertEquals(expected, frozen.m);
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i, frozen.get("key" + i));
+            assertFalse(frozen.m.containsKey("other" + i));
+        }
+
+        // "Aa" and "BB" have the same hash code
+        M<String, Integer> colliding = m("Aa", 0).i("BB", 1).i("C", 2).Freeze();
+        assertEquals(0, colliding.get("Aa"));
+        assertEquals(1, colliding.get("BB"));
+        assertFalse(colliding.m.containsKey("Ab"));
+        assertTrue(s("Aa", "BB").Freeze().contains("BB"));
+    }
+}
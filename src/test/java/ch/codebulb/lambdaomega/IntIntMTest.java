@@ -0,0 +1,60 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.IntIntM.iim;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class IntIntMTest {
+    @Test
+    public void testIndexed() {
+        IntIntM map = iim(0, 10).i(1, 11).i(2, 12);
+        assertEquals(m(0, 10).i(1, 11).i(2, 12).m, map.toMap());
+        assertEquals(iim(m(0, 10).i(1, 11).i(2, 12).m), map);
+        assertEquals(11, map.get(1), map.g(1));
+        assertEquals(-1, map.getOrDefault(3, -1));
+        try {
+            map.get(3);
+            fail();
+        }
+        catch (NoSuchElementException ex) {}
+        
+        assertEquals(15, map.addTo(1, 4));
+        assertEquals(4, map.addTo(3, 4));
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertEquals(iim(1, 15).i(2, 12).i(3, 4), map);
+        assertEquals(9, iim(it -> it * 3).get(3));
+        assertEquals("IntIntM{0=1}", iim(0, 1).toString());
+        
+        StringBuilder visited = new StringBuilder();
+        iim(5, 6).forEach((key, value) -> visited.append(key).append(value));
+        assertEquals("56", visited.toString());
+    }
+    
+    @Test
+    public void testLarge() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        IntIntM actual = iim();
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 2_500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, actual.remove(key));
+            }
+            else {
+                expected.merge(key, i, Integer::sum);
+                actual.addTo(key, i);
+            }
+        }
+        assertEquals(expected, actual.toMap());
+        assertEquals(expected.hashCode(), actual.hashCode());
+    }
+}
@@ -0,0 +1,122 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.IntL.il;
+import static ch.codebulb.lambdaomega.L.*;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class IntLTest {
+    @Test
+    public void testObject() {
+        assertEquals(il(0, 1, 2), il(0, 1, 2));
+        assertEquals(il(0, 1, 2).hashCode(), il(0, 1).a(2).hashCode());
+        assertFalse(il(0, 1, 2).equals(il(0, 1)));
+        assertEquals("IntL[0, 1, 2]", il(0, 1, 2).toString());
+    }
+    
+    @Test
+    public void testConvert() {
+        assertEquals(il(0, 1, 2), il(list(0, 1, 2)), il(l(0, 1, 2)), il(IntStream.range(0, 3)), il(3, it -> it));
+        assertEquals(l(0, 1, 2), il(0, 1, 2).toL());
+        assertEquals(list(0, 1, 2), il(0, 1, 2).toList());
+        assertArrayEquals(new int[] {0, 1, 2}, il(0, 1, 2).toArray());
+        
+        int[] source = {0, 1, 2};
+        IntL copy = il(source);
+        source[0] = 5;
+        assertEquals(0, copy.get(0));
+    }
+    
+    @Test
+    public void testAccess() {
+        IntL list = il();
+        assertTrue(list.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            list.a(i);
+        }
+        assertEquals(100, list.size());
+        assertEquals(42, list.get(42), list.g(42));
+        assertEquals(il(1, 3), list.Get(1, 3));
+        assertEquals(42, list.set(42, -1));
+        assertEquals(-1, list.get(42));
+        assertEquals(il(0, -2), il(0, 1).s(1, -2));
+        assertEquals(il(0, 1, 2, 3, 4), il(0).Add(1, 2).A(il(3), il(4)));
+        assertEquals(il(), il(0, 1).Clear());
+        
+        assertTrue(list.contains(99));
+        assertFalse(list.contains(100));
+        assertEquals(99, list.indexOf(99));
+        assertEquals(-1, list.indexOf(100));
+        
+        try {
+            list.get(100);
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex) {
+        }
+    }
+    
+    @Test
+    public void testFunctions() {
+        assertArrayEquals(new int[] {2, 4, 6}, il(0, 1, 2).Map(it -> it + 1).map(it -> it * 2));
+        assertEquals(list("0", "1"), il(0, 1).mapToObj(it -> "" + it));
+        assertEquals(l("0", "1"), il(0, 1).MapToObj(it -> "" + it));
+        assertArrayEquals(new int[] {1, 2}, il(0, 1, 2).filter(it -> it > 0));
+        assertEquals(il(0), il(0, 1, 2).Reject(it -> it > 0));
+        assertEquals(3, il(0, 1, 2).reduce(0, (a, b) -> a + b));
+        assertEquals(2, il(0, 1, 2, -1).count(it -> it > 0));
+        assertTrue(il(1, 2).every(it -> it > 0));
+        assertTrue(il(0, 1).some(it -> it > 0));
+        assertTrue(il(0, -1).none(it -> it > 0));
+        
+        List<Integer> actual = new ArrayList<>();
+        il(0, 1, 2).forEach(it -> actual.add(it));
+        assertEquals(EXPECTED_LIST, actual);
+    }
+    
+    @Test
+    public void testAggregate() {
+        assertEquals(3L, il(0, 1, 2).sum());
+        assertEquals(2L * Integer.MAX_VALUE, il(Integer.MAX_VALUE, Integer.MAX_VALUE).sum());
+        assertEquals(-1, il(0, 1, 2, -1).min());
+        assertEquals(2, il(0, 1, 2, -1).max());
+        try {
+            il().min();
+            fail();
+        }
+        catch (NoSuchElementException ex) {
+        }
+    }
+    
+    @Test
+    public void testSort() {
+        assertArrayEquals(new int[] {-1, 0, 1, 2}, il(2, 0, -1, 1).sortAsc());
+        assertArrayEquals(new int[] {2, 1, 0, -1}, il(2, 0, -1, 1).sortDesc());
+        assertEquals(il(-1, 0, 1, 2), il(2, 0, -1, 1).SortAsc(), il(2, 0, -1, 1).Par().SortAsc());
+        assertEquals(il(2, 1, 0, -1), il(2, 0, -1, 1).SortDesc());
+        // stable by key
+        assertArrayEquals(new int[] {4, 2, 3, 1}, il(3, 4, 1, 2).sortAscBy(it -> it % 2));
+        assertArrayEquals(new int[] {3, 1, 4, 2}, il(3, 4, 1, 2).sortDescBy(it -> it % 2));
+        assertEquals(il(Integer.MIN_VALUE, -5, 0, Integer.MAX_VALUE), il(0, Integer.MAX_VALUE, -5, Integer.MIN_VALUE).SortAscBy(it -> it));
+        assertEquals(il(Integer.MAX_VALUE, 0, -5, Integer.MIN_VALUE), il(0, Integer.MAX_VALUE, -5, Integer.MIN_VALUE).SortDescBy(it -> it));
+    }
+    
+    @Test
+    public void testParallel() {
+        IntL big = il(1_000_000, it -> it % 1000);
+        assertTrue(big.Par().isParallel());
+        assertTrue(big.Map(it -> it + 1).isParallel());
+        assertEquals(499_500_000L, big.sum());
+        assertEquals(999, big.max());
+        assertEquals(1000, big.count(it -> it == 0));
+        assertFalse(big.Seq().isParallel());
+    }
+}
@@ -0,0 +1,84 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.IntL.il;
+import static ch.codebulb.lambdaomega.IntM.im;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class IntMTest {
+    @Test
+    public void testConvert() {
+        assertEquals(im(0, "a").i(1, "b").i(2, "c"), im(m(0, "a").i(1, "b").i(2, "c").m), 
+                IntM.<String> im().p(2, "c").p(1, "b").p(0, "a"));
+        assertEquals(m(0, "a").i(1, "b").i(2, "c").m, im(0, "a").i(1, "b").i(2, "c").toMap());
+        assertEquals(m(0, "a").i(1, "b"), im(0, "a").i(1, "b").toM());
+        assertEquals("IntM{0=a}", im(0, "a").toString());
+    }
+    
+    @Test
+    public void testIndexed() {
+        IntM<String> map = im(0, "a").i(-1, "b").i(Integer.MIN_VALUE, "c");
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(0), map.g(0));
+        assertEquals("c", map.get(Integer.MIN_VALUE));
+        assertNull(map.get(5));
+        assertEquals("x", map.getOrDefault(5, "x"));
+        assertTrue(map.containsKey(-1));
+        assertFalse(map.containsKey(5));
+        
+        try {
+            map.i(-1, "d");
+            fail();
+        }
+        catch (IndexAlreadyPresentException ex) {
+            assertEquals(-1, ex.key);
+            assertEquals("b", ex.previousValue);
+        }
+        assertEquals("b", map.put(-1, "d"));
+        assertEquals("d", map.remove(-1));
+        assertEquals(im(Integer.MIN_VALUE, "c"), map.d(0, 7));
+        assertTrue(map.Clear().isEmpty());
+        
+        IntM<String> defaults = im(it -> "#" + it);
+        assertEquals("#3", defaults.get(3));
+        assertTrue(defaults.containsKey(3));
+        
+        StringBuilder visited = new StringBuilder();
+        im(0, "a").forEach((key, value) -> visited.append(key).append(value));
+        assertEquals("0a", visited.toString());
+        assertEquals(il(0), im(0, "a").keys());
+        assertEquals(list("a"), im(0, "a").values());
+    }
+    
+    @Test
+    public void testLarge() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        IntM<Integer> actual = im();
+        for (int i = 0; i < 200_000; i++) {
+            // a small key range forces many collisions, removals and re-insertions
+            int key = random.nextInt(5_000) * (random.nextBoolean() ? 1 : 1 << 20);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key));
+            }
+            else {
+                assertEquals(expected.put(key, i), actual.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, actual.toMap());
+        expected.forEach((key, value) -> assertEquals(value, actual.get(key)));
+        assertEquals(im(expected), actual);
+        assertEquals(im(expected).hashCode(), actual.hashCode(), expected.hashCode());
+    }
+}
@@ -0,0 +1,176 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.IntL.il;
+import static ch.codebulb.lambdaomega.IntS.is;
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.R.r;
+import static ch.codebulb.lambdaomega.S.s;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class IntSTest {
+    @Test
+    public void testBasics() {
+        IntS set = is(3, 1, -5, 3, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertEquals(5, set.size());
+        assertEquals(list(Integer.MIN_VALUE, -5, 1, 3, Integer.MAX_VALUE), set.toList());
+        assertTrue(set.contains(-5));
+        assertFalse(set.contains(2));
+        assertEquals(Integer.MIN_VALUE, set.min());
+        assertEquals(Integer.MAX_VALUE, set.max());
+
+        assertTrue(set.add(2));
+        assertFalse(set.add(2));
+        assertTrue(set.remove(Integer.MIN_VALUE));
+        assertFalse(set.remove(Integer.MIN_VALUE));
+        assertEquals(is(-5, 1, 2, 3, Integer.MAX_VALUE), set);
+        assertEquals(s(-5, 1, 2, 3, Integer.MAX_VALUE).s.hashCode(), set.hashCode());
+        assertEquals("IntS[-5, 1, 2, 3, 2147483647]", set.toString());
+
+        assertEquals(is(1, 2), is().a(1).Add(2, 3).Remove(3));
+        assertTrue(is(1).Remove(1).isEmpty());
+        assertTrue(set.Clear().isEmpty());
+        try {
+            set.min();
+            fail();
+        }
+        catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(is(1, 2, 3), is(s(3, 2, 1)), is(l(2, 3, 1, 2)), is(il(1, 2, 3)), is(r(1).to(4)),
+                is(list(1, 2, 3)), is(r(1).to(4).stream()));
+        assertEquals(s(1, 2, 3), is(3, 1, 2).toS());
+        assertEquals(l(1, 2, 3), is(3, 1, 2).toL());
+        assertEquals(il(1, 2, 3), is(3, 1, 2).toIntL());
+        assertEquals(6, is(3, 1, 2).stream().sum());
+        assertEquals(list(r(-2).incl(0), r(5).incl(5), r(7).incl(9)), is(-2, -1, 0, 5, 7, 8, 9).toRanges().l);
+        assertEquals(l(), is().toRanges());
+    }
+
+    @Test
+    public void testRanges() {
+        IntS set = is(r(-100_000).to(100_000));
+        assertEquals(200_000, set.size());
+        assertEquals(-100_000, set.min());
+        assertEquals(99_999, set.max());
+        assertEquals(list(r(-100_000).to(100_000)), set.toRanges().l);
+
+        set.Remove(0);
+        set.Add(r(200_000).to(300_000).Step(2));
+        assertEquals(249_999, set.size());
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(200_001));
+        assertEquals(list(r(-100_000).to(0), r(1).to(100_000)), set.toRanges().l.subList(0, 2));
+
+        set.a(0).a(r(99_000).to(150_000));
+        assertEquals(r(-100_000).to(150_000), set.toRanges().get(0));
+
+        IntS all = is(r(Integer.MIN_VALUE).incl(Integer.MAX_VALUE));
+        assertEquals(1L << 32, all.cardinality());
+        assertEquals(Integer.MAX_VALUE, all.size());
+        assertTrue(all.contains(12345));
+        assertEquals(1L << 32, all.union(set).cardinality());
+        assertEquals(set, all.intersection(set));
+        assertEquals((1L << 32) - set.cardinality(), all.difference(set).cardinality());
+    }
+
+    @Test
+    public void testRunsBrokenUp() {
+        IntS set = is().Add(r(0).to(100));
+        assertEquals("RunContainer", set.containerType(0));
+        for (int value = 1; value < 50; value += 2) {
+            set.remove(value);
+        }
+        // 26 runs still take fewer bytes than 75 values
+        assertEquals("RunContainer", set.containerType(0));
+        for (int value = 51; value < 100; value += 2) {
+            set.remove(value);
+        }
+        // 50 runs of a single value each
+        assertEquals("ArrayContainer", set.containerType(0));
+        assertEquals(r(0).to(100).Step(2).toList(), set.toList());
+        assertEquals("ArrayContainer", is().Add(r(1 << 20).to((1 << 20) + 1)).containerType(1 << 20));
+        assertEquals(null, set.containerType(1 << 20));
+    }
+
+    @Test
+    public void testAlgebra() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> a = new TreeSet<>();
+            TreeSet<Integer> b = new TreeSet<>();
+            IntS intA = randomSet(random, a);
+            IntS intB = randomSet(random, b);
+
+            assertAlgebra(a, b, intA, intB, (x, y) -> x.union(y), (x, y) -> {
+                x.addAll(y);
+                return x;
+            });
+            assertAlgebra(a, b, intA, intB, (x, y) -> x.intersection(y), (x, y) -> {
+                x.retainAll(y);
+                return x;
+            });
+            assertAlgebra(a, b, intA, intB, (x, y) -> x.difference(y), (x, y) -> {
+                x.removeAll(y);
+                return x;
+            });
+            // the operands are left unchanged
+            assertEquals(new ArrayList<>(a), intA.toList());
+            assertEquals(new ArrayList<>(b), intB.toList());
+
+            IntS copy = is().A(intA);
+            assertEquals(intA, copy);
+            copy.A(intB).R(intA);
+            assertEquals(intB.difference(intA), copy);
+            copy.RetainAll(intA);
+            assertTrue(copy.isEmpty());
+        }
+        assertFalse(is(1, 2).equals(is(1, 3)));
+    }
+
+    private static IntS randomSet(Random random, TreeSet<Integer> expected) {
+        IntS ret = is();
+        // mixes sparse chunks, dense chunks and runs
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(200_000) - 100_000;
+            ret.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 5; i++) {
+            int from = random.nextInt(300_000) - 150_000;
+            int to = from + random.nextInt(70_000);
+            ret.Add(r(from).to(to));
+            for (int value = from; value < to; value++) {
+                expected.add(value);
+            }
+        }
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(300_000) - 150_000;
+            assertEquals(expected.remove(value), ret.remove(value));
+        }
+        assertEquals(expected.size(), ret.size());
+        return ret;
+    }
+
+    private static void assertAlgebra(TreeSet<Integer> a, TreeSet<Integer> b, IntS intA, IntS intB,
+            BiFunction<IntS, IntS, IntS> operation, BiFunction<TreeSet<Integer>, TreeSet<Integer>, TreeSet<Integer>> expected) {
+        IntS actual = operation.apply(intA, intB);
+        TreeSet<Integer> expectedSet = expected.apply(new TreeSet<>(a), b);
+        assertEquals(expectedSet.size(), actual.size());
+        assertEquals(new ArrayList<>(expectedSet), actual.toList());
+        assertEquals(is(expectedSet), actual);
+    }
+}
@@ -0,0 +1,112 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import static ch.codebulb.lambdaomega.V2.v;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class KeyComparatorTest {
+    @Test
+    public void testPrimitiveKeys() {
+        assertEquals(list(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE),
+                KeyComparator.sort(Stream.of(1, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 0), F.<Integer>compareAsc()));
+        assertEquals(list(Long.MAX_VALUE, 1L, -1L, Long.MIN_VALUE),
+                KeyComparator.sort(Stream.of(-1L, Long.MIN_VALUE, 1L, Long.MAX_VALUE), F.<Long>compareAsc().reversed()));
+        assertEquals(list(Double.NEGATIVE_INFINITY, -1.5, -0.0, 0.0, 2.5, Double.NaN),
+                KeyComparator.sort(Stream.of(Double.NaN, 0.0, 2.5, -0.0, Double.NEGATIVE_INFINITY, -1.5), F.<Double>compareAsc()));
+        assertEquals(list('a', 'b', 'c'), KeyComparator.sort(Stream.of('c', 'a', 'b'), F.<Character>compareAsc()));
+    }
+
+    @Test
+    public void testMixedKeys() {
+        // a primitive and a String key
+        assertEquals(list("Bob Miller", "Tim Adams", "John Smith", "Anna Smith"), l("John Smith", "Tim Adams", "Bob Miller", "Anna Smith")
+                .sortBy(it -> v(name -> name.split(" ")[0].length(), true), it -> v(name -> name.split(" ")[1], false)));
+        assertEquals(list(), KeyComparator.sort(Stream.empty(), F.compareAsc()));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        List<V2<Integer, String>> rows = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            rows.add(v(random.nextInt(20) - 10, "k" + random.nextInt(30)));
+        }
+        Function<V2<Integer, String>, Comparable> number = V2::get0;
+        Function<V2<Integer, String>, Comparable> text = V2::get1;
+        Function<V2<Integer, String>, Comparable> parity = it -> it.get0() % 2 == 0;
+        Comparator<V2<Integer, String>> expected = Comparator.comparing((V2<Integer, String> it) -> it.get0() % 2 == 0)
+                .thenComparing(V2::get0, Comparator.reverseOrder()).thenComparing(V2::get1);
+
+        // Comparator.comparing and stream sorting are stable as well, so the results are identical
+        List<V2<Integer, String>> sorted = rows.stream().sorted(expected).collect(Collectors.toList());
+        Comparator<V2<Integer, String>> comparator = F.compare(it -> v(parity, true), it -> v(number, false), it -> v(text, true));
+        assertEquals(sorted, KeyComparator.sort(rows.stream(), comparator), KeyComparator.sort(rows.parallelStream(), comparator), L.L(rows).Par().sortBy(
+                it -> v(parity, true), it -> v(number, false), it -> v(text, true)));
+        assertEquals(rows.stream().sorted(expected.reversed()).collect(Collectors.toList()), KeyComparator.sort(rows.parallelStream(), comparator.reversed()));
+        assertEquals(0, comparator.compare(sorted.get(0), sorted.get(0)));
+        assertEquals(-1, (int) Math.signum(comparator.compare(sorted.get(0), sorted.get(sorted.size() - 1))));
+
+        // all keys primitive
+        Comparator<V2<Integer, String>> byNumbers = Comparator.comparing((V2<Integer, String> it) -> it.get0() % 3)
+                .thenComparing(V2::get0, Comparator.reverseOrder());
+        assertEquals(rows.stream().sorted(byNumbers).collect(Collectors.toList()),
+                L.L(rows).sortBy(it -> v(x -> x.get0() % 3, true), it -> v(number, false)),
+                L.L(rows).Par().sortBy(it -> v(x -> x.get0() % 3, true), it -> v(number, false)));
+    }
+
+    @Test
+    public void testKeyExtractedOncePerElement() {
+        AtomicInteger invocations = new AtomicInteger();
+        Function<String, Comparable> lastName = it -> {
+            invocations.incrementAndGet();
+            return it.split(" ")[1];
+        };
+        L<String> names = l("John Smith", "Bob Miller", "Tim Miller", "Anna Smith");
+        assertEquals(list("Bob Miller", "Tim Miller", "John Smith", "Anna Smith"), names.sortAscBy(lastName));
+        assertEquals(4, invocations.get());
+
+        invocations.set(0);
+        assertEquals("Bob Miller", names.min(lastName));
+        assertEquals("John Smith", names.max(lastName));
+        // the keys of the smallest element found so far are cached
+        assertEquals(8, invocations.get());
+    }
+
+    @Test
+    public void testMinMax() {
+        Comparator<V2<Integer, String>> comparator = F.compareAsc(V2::get1, V2::get0);
+        List<V2<Integer, String>> rows = list(v(2, "b"), v(1, "a"), v(3, "a"), v(1, "a"), v(3, "b"));
+        assertEquals(v(1, "a"), KeyComparator.min(rows.stream(), comparator), KeyComparator.min(rows.parallelStream(), comparator));
+        assertEquals(v(3, "b"), KeyComparator.max(rows.stream(), comparator), KeyComparator.max(rows.parallelStream(), comparator));
+        // the first of equal elements wins
+        assertEquals("a", KeyComparator.min(Stream.of("ab", "a", "b"), F.<String>compareAsc(String::length)));
+        assertEquals("ab", KeyComparator.max(Stream.of("a", "ab", "cd"), F.<String>compareAsc(String::length)));
+        // any other comparator is used as it is
+        Comparator<String> byLength = Comparator.comparing(String::length);
+        assertEquals(list("a", "b", "ab"), KeyComparator.sort(Stream.of("ab", "a", "b"), byLength));
+        assertEquals("a", KeyComparator.min(Stream.of("ab", "a", "b"), byLength));
+        assertEquals("ab", KeyComparator.max(Stream.of("a", "ab", "cd"), byLength));
+        assertTrue(F.compareAsc() instanceof KeyComparator);
+        assertTrue(F.compare() instanceof KeyComparator);
+        try {
+            KeyComparator.min(Stream.empty(), F.compareAsc());
+            fail();
+        }
+        catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+}
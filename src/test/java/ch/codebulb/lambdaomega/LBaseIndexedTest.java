@@ -10,7 +10,13 @@ import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_LIST;
 import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
 import ch.codebulb.lambdaomega.abstractions.IndexedI;
 import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 import org.junit.AfterClass;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -250,6 +256,34 @@ public class LBaseIndexedTest {
         assertEquals(EXPECTED_LIST, l(3, 4, 5, 0, 1, 2).D(l(0), l(1, 2)).l);
         assertEquals(m(0, 0).i(1, 1).i(2, 2).m, l(3, 4, 5, 0, 1, 2).deleteAllKeys(l(0), l(1, 2)));
         
+        assertEquals(EXPECTED_LIST, l(3, 0, 4, 1, 5, 2).DeleteAllKeys(0, 2, 4).l);
+        assertEquals(EXPECTED_LIST, l(3, 0, 4, 1, 5, 2).D(4, 0, 2, 2).l);
+        assertEquals(m(0, 0).i(1, 1).i(2, 2).m, l(0, 3, 4, 5, 1, 2).deleteAllKeys(1, 2, 3));
+        
+        assertEquals(EXPECTED_LIST, l(0, 3, 4, 5, 1, 2).DeleteAllKeys(r(1).to(4)).l);
+        assertEquals(EXPECTED_LIST, l(0, 3, 1, 4, 2, 5).D(r(1).to(6).Step(2)).l);
+        assertEquals(EXPECTED_LIST, l(0, 1, 2, 3, 4).D(r(3).with(4).Reverse()).l);
+        assertEquals(EXPECTED_LIST, l(0, 1, 2).D(r(0).to(0)).l);
+        
+        BitSet mask = new BitSet();
+        mask.set(0);
+        mask.set(4);
+        assertEquals(EXPECTED_LIST, l(3, 0, 1, 2, 4).DeleteAllKeys(mask).l);
+        assertEquals(EXPECTED_LIST, l(3, 0, 1, 2, 4).D(mask).l);
+        assertEquals(EXPECTED_LIST, new L<>(new LinkedList<>(list(3, 0, 1, 2, 4)), false).D(mask).l);
+        assertEquals(EXPECTED_LIST, l(0, 1, 2).D(new BitSet()).l);
+        
+        try {
+            l(0, 1, 2).D(1, 3);
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex) {}
+        try {
+            l(0, 1, 2).D(r(2).to(4));
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex) {}
+        
         assertEquals(EXPECTED_LIST, l(3, 4, 5, 0, 1, 2).DeleteAllValues(list(3), list(4, 5)).l);
         assertEquals(m(0, 0).i(1, 1).i(2, 2).m, l(3, 4, 5, 0, 1, 2).deleteAllValues(list(3), list(4, 5)));
         
@@ -277,6 +311,18 @@ public class LBaseIndexedTest {
         assertEquals(set(0, 1, 2), l("a", "b", "c").getKeys());
         assertEquals(set(e(0, "a"), e(1, "b"), e(2, "c")), l("a", "b", "c").getEntries());
         
+        // live views
+        L<String> viewed = l("a", "b", "c");
+        Map<Integer, String> map = viewed.put(0, "x");
+        Set<Integer> keys = viewed.getKeys();
+        Set<M.E<Integer, String>> entries = viewed.getEntries();
+        viewed.a("d").set(1, "y");
+        assertEquals(m(0, "x").i(1, "y").i(2, "c").i(3, "d").m, map);
+        assertEquals(set(0, 1, 2, 3), keys);
+        assertTrue(entries.contains(e(3, "d")));
+        assertFalse(entries.contains(e(1, "b")));
+        assertFalse(keys.contains(4));
+        
         assertEquals("a", l("a", "b", "c").getOrDefault(0, "d"));
         assertEquals("d", l("a", "b", "c").getOrDefault(4, "d"));
         assertEquals("d", l("a", "b", "c").getOrDefault(-1, "d"));
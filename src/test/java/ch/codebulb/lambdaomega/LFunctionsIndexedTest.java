@@ -7,6 +7,7 @@ import static ch.codebulb.lambdaomega.S.set;
 import static ch.codebulb.lambdaomega.TestUtil.*;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.AfterClass;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -58,6 +59,28 @@ public class LFunctionsIndexedTest {
         assertEquals(explicitResut, actualResult);
     }
     
+    @Test
+    public void testParallelWithDuplicates() {
+        List<String> explicitList = list("a0", "a1", "b2", "a3");
+        List<String> actualList = l("a", "a", "b", "a").Parallel().map((k, v) -> v + k);
+        assertEquals(explicitList, actualList);
+        
+        assertEquals(m(1, "a").i(3, "a").m, l("a", "a", "b", "a").Parallel().findAll((k, v) -> k % 2 == 1));
+        assertEquals(e(1, "a"), l("a", "a", "b", "a").Parallel().find((k, v) -> k > 0 && v.equals("a")));
+        assertEquals(2, l("a", "a", "b", "a").Parallel().count((k, v) -> k % 2 == 1));
+        assertEquals(6, (int) l("a", "a", "b", "a").Parallel().sum((k, v) -> k));
+        assertTrue(l("a", "a", "b", "a").Parallel().every((k, v) -> k < 4));
+        assertTrue(l("a", "a").Parallel().some((k, v) -> k == 1));
+        assertTrue(l("a", "a").Parallel().none((k, v) -> k == 2));
+        
+        Map<String, Integer> actualMap = new ConcurrentHashMap<>();
+        l("a", "a", "b").Parallel().forEach((k, v) -> actualMap.put(v + k, k));
+        assertEquals(m("a0", 0).i("a1", 1).i("b2", 2).m, actualMap);
+        
+        List<Integer> big = L.list(100_000, it -> it % 10);
+        assertEquals(L.list(100_000, it -> it), L.L(big).Parallel().map((k, v) -> k));
+    }
+    
     @Test
     public void testMapEntries() {
         Map<String, Integer> explicitMap = m("a", 0).i("b", 1).i("c", 2).m;
@@ -90,6 +113,9 @@ public class LFunctionsIndexedTest {
         
         assertEquals(-1, l(0, 1, 2, -1).min((k, v) -> v).v);
         assertEquals(2, l(0, 1, 2, -1).max((k, v) -> v).v);
+        assertEquals(e(1, 2), l(0, 2, 2, -1).max((k, v) -> v));
+        assertEquals(e(3, -1), l(0, 2, 2, -1).min((k, v) -> v / 2, (k, v) -> v));
+        assertEquals(e(0, 0), l(0, 2, 2, -1).min((k, v) -> k));
     }
     
     @Test
@@ -63,6 +63,35 @@ public class LFunctionsSequentialTest {
         assertEquals(explicitResut, expectedResult, actualResult);
     }
     
+    @Test
+    public void testLazy() {
+        List<Integer> invocations = list();
+        L<Integer> lazy = l(0, 1, 2, 3).Lazy().Map(it -> {
+            invocations.add(it);
+            return it + 1;
+        }).Filter(it -> it % 2 == 0).Reject(it -> it > 3);
+        assertTrue(lazy.isLazy());
+        assertEquals(0, invocations.size());
+        
+        assertEquals(l(4).l, lazy.map(it -> it * 2));
+        assertEquals(l(0, 1, 2, 3).l, invocations);
+        assertEquals(l(2).l, lazy.l);
+        assertEquals(1, lazy.size());
+        
+        assertEquals(l(0, 1, 2, 0, 1).l, l(0, l(1, 2), l(0, 1)).Lazy().<Integer> Flatten().l);
+        assertEquals(l(2, 4, 6).l, l(0, 1, 2).Lazy().Map(it -> it + 1).Par().map(it -> it * 2));
+        assertFalse(l(0, 1, 2).Lazy().Eager().Map(it -> it + 1).isLazy());
+        
+        // the source is read when the pipeline is executed, up to materialization
+        L<Integer> source = l(0, 1);
+        L<Integer> mapped = source.Lazy().Map(it -> it + 1);
+        source.l.add(2);
+        assertEquals(l(1, 2, 3).l, mapped.map(it -> it));
+        assertEquals(3, mapped.size());
+        source.l.add(3);
+        assertEquals(l(1, 2, 3).l, mapped.l);
+    }
+    
     @Test
     public void testMapEntries() {
         Map<String, Integer> explicitMap = m().i("1", 2).i("2", 4).i("3", 6).m;
@@ -148,6 +177,7 @@ public class LFunctionsSequentialTest {
         
         assertEquals(-1, l(0, -1, 1, 2).min(it -> it));
         assertEquals(2, l(0, -1, 1, 2).max(it -> it));
+        assertEquals(-1, l(0, -1, 1, 2).Par().min(it -> it));
         
         L<Integer> shuffleList = l(0, 1, 2);
         List<Integer> shuffledList = shuffleList.shuffle();
@@ -158,6 +188,27 @@ public class LFunctionsSequentialTest {
         assertTrue(shuffledList.contains(2));
     }
     
+    @Test
+    public void testMinN() {
+        assertEquals(list(-1, 0), l(0, -1, 1, 2).minN(2));
+        assertEquals(list(2, 1), l(0, -1, 1, 2).maxN(2));
+        assertEquals(list(2, 1, 0, -1), l(0, -1, 1, 2).maxN(5, it -> it));
+        assertEquals(list(), l(0, -1, 1, 2).minN(0));
+        assertEquals(l(-1, 0, 1), l(0, -1, 1, 2).MinN(3, it -> it));
+        assertEquals(l(2), l(0, -1, 1, 2).MaxN(1, it -> it));
+        
+        // equal elements keep their order, like with sortAscBy
+        assertEquals(v(2, "x").a(0, "y").a(-1, "y").l, 
+                v(0, "y").a(-1, "y").a(1, "y").a(2, "x").minN(3, V2::get1, it -> 0));
+        assertEquals(v(0, "y").a(-1, "y").l, 
+                v(0, "y").a(-1, "y").a(1, "y").a(2, "x").maxN(2, V2::get1));
+        
+        L<Integer> big = l(100_000, it -> (it * 7919) % 1000);
+        assertEquals(big.sortAscBy(it -> it).subList(0, 100), big.minN(100, it -> it), big.Par().minN(100, it -> it));
+        assertEquals(big.sortDescBy(it -> it % 10).subList(0, 100), big.Seq().maxN(100, it -> it % 10), 
+                big.Par().maxN(100, it -> it % 10));
+    }
+    
     @Test
     public void testGroupBy() {
         assertEquals(m().i(true, list(-1, -2)).i(false, list(0, 1)).m, l(-1, 0, 1, -2).groupBy(it -> it < 0));
@@ -0,0 +1,27 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.*;
+import static ch.codebulb.lambdaomega.LongL.ll;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import static org.junit.Assert.assertArrayEquals;
+import org.junit.Test;
+
+public class LongLTest {
+    @Test
+    public void testConvert() {
+        assertEquals(ll(0, 1, 2), ll(list(0L, 1L, 2L)), ll(3, it -> it));
+        assertEquals(l(0L, 1L, 2L), ll(0, 1, 2).toL());
+        assertEquals("LongL[0, 1, 2]", ll(0, 1, 2).toString());
+    }
+    
+    @Test
+    public void testFunctions() {
+        assertArrayEquals(new long[] {2, 4, 6}, ll(0, 1, 2).Map(it -> it + 1).map(it -> it * 2));
+        assertEquals(ll(1, 2), ll(0, 1, 2).Filter(it -> it > 0));
+        assertEquals(2L * Long.MAX_VALUE, ll(Long.MAX_VALUE, Long.MAX_VALUE).sum());
+        assertEquals(Long.MIN_VALUE, ll(0, Long.MIN_VALUE).min());
+        assertEquals(ll(Long.MIN_VALUE, 0, Long.MAX_VALUE), ll(Long.MAX_VALUE, 0, Long.MIN_VALUE).SortAsc(), 
+                ll(Long.MAX_VALUE, 0, Long.MIN_VALUE).SortAscBy(it -> it));
+        assertArrayEquals(new long[] {3, 1, 4, 2}, ll(3, 4, 1, 2).sortDescBy(it -> it % 2));
+    }
+}
@@ -0,0 +1,43 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.LongL.ll;
+import static ch.codebulb.lambdaomega.LongM.lm;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.TestUtil.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public class LongMTest {
+    @Test
+    public void testIndexed() {
+        LongM<String> map = lm(0L, "a").i(Long.MAX_VALUE, "b").i(1L << 40, "c");
+        assertEquals(m(0L, "a").i(Long.MAX_VALUE, "b").i(1L << 40, "c").m, map.toMap());
+        assertEquals("b", map.get(Long.MAX_VALUE));
+        assertNull(map.get(1));
+        assertEquals(lm(0L, "a"), map.d(Long.MAX_VALUE, 1L << 40));
+        assertEquals(ll(0), map.keys());
+        assertEquals("#5", lm(it -> "#" + it).get(5));
+        assertEquals("LongM{0=a}", lm(0L, "a").toString());
+    }
+    
+    @Test
+    public void testLarge() {
+        Random random = new Random(42);
+        Map<Long, Integer> expected = new HashMap<>();
+        LongM<Integer> actual = lm();
+        for (int i = 0; i < 100_000; i++) {
+            long key = (long) random.nextInt(5_000) << 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key));
+            }
+            else {
+                assertEquals(expected.put(key, i), actual.put(key, i));
+            }
+        }
+        assertEquals(expected, actual.toMap());
+        assertEquals(lm(expected), actual);
+    }
+}
@@ -10,7 +10,16 @@ import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_MAP;
 import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_MAP_2_ELEMENTS;
 import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
 import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 
@@ -198,6 +207,35 @@ public class MBaseIndexedTest {
         assertEquals(EXPECTED_MAP, replaceMapExpected, replaceMap.m);
     }
     
+    @Test
+    public void testInsertAllDuplicates() {
+        // duplicate keys are detected even if their value is null
+        try {
+            m("a", 0).I(m("b", (Integer) null).m, m("b", 1).m);
+            fail();
+        }
+        catch (IndexAlreadyPresentException ex) {
+            assertEquals("b", ex.key);
+            assertEquals(null, ex.previousValue);
+        }
+        
+        Map<Integer, Integer> large = new HashMap<>();
+        Map<Integer, Integer> largeOther = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            large.put(i, i);
+            largeOther.put(i + 100_000, i + 100_000);
+        }
+        assertEquals(200_001, m(-1, -1).I(large, largeOther).size());
+        try {
+            m(-1, -1).I(large, largeOther, m(150_000, 0).m);
+            fail();
+        }
+        catch (IndexAlreadyPresentException ex) {
+            assertEquals(150_000, ex.key);
+            assertEquals(150_000, ex.previousValue);
+        }
+    }
+    
     @Test
     public void testRemove() {
         // Remove individual entries at index
@@ -275,4 +313,93 @@ public class MBaseIndexedTest {
         assertEquals(null, m(0, "a").i(1, "b").i(2, "c").indexOf("d"));
         assertEquals(null, m(0, "a").i(1, "b").i(2, "c").getKey("d"));
     }
+    
+    @Test
+    public void testConcurrent() throws Exception {
+        M<String, Integer> concurrent = m("a", 0).i("b", 1).Concurrent();
+        assertEquals(true, concurrent.m instanceof ConcurrentMap);
+        assertEquals(EXPECTED_MAP, concurrent.i("c", 2).m);
+        try {
+            concurrent.i("c", 3);
+            fail();
+        }
+        catch (IndexAlreadyPresentException ex) {
+            assertEquals("c", ex.key);
+            assertEquals(2, ex.previousValue);
+        }
+        
+        AtomicInteger loads = new AtomicInteger();
+        M<Integer, Integer> cache = M.<Integer, Integer> m(it -> {
+            loads.incrementAndGet();
+            return it * 2;
+        }).Concurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int key = i % 100;
+            results.add(executor.submit(() -> cache.get(key)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 100 * 2, results.get(i).get());
+        }
+        executor.shutdown();
+        assertEquals(100, loads.get(), cache.size());
+    }
+    
+    @Test
+    public void testBidirectional() {
+        M<String, Integer> bidirectional = m("a", 0).i("b", 1).i("c", 2).i("d", 1).Bidirectional();
+        assertEquals("b", bidirectional.getKey(1), bidirectional.indexOf(1));
+        assertEquals(null, bidirectional.getKey(3));
+        assertEquals(true, bidirectional.containsAnyValue(2));
+        assertEquals(m("a", 0).i("c", 2).i("d", 1).m, bidirectional.deleteValue(1));
+        assertEquals("d", bidirectional.getKey(1));
+        
+        bidirectional.p("c", 5).p("e", 0);
+        assertEquals(false, bidirectional.containsAnyValue(2));
+        assertEquals("c", bidirectional.getKey(5));
+        assertEquals(m("c", 5).i("d", 1).m, bidirectional.deleteAllValues(list(0, 7)));
+        
+        bidirectional.m.entrySet().iterator().next().setValue(6);
+        bidirectional.m.keySet().remove("d");
+        assertEquals(m("c", 6).m, bidirectional.m);
+        assertEquals("c", bidirectional.getKey(6));
+        assertEquals(null, bidirectional.getKey(5), bidirectional.getKey(1));
+        assertEquals(list("c"), list(bidirectional.m.keySet().toArray()));
+        
+        M<Integer, Integer> loaded = M.<Integer, Integer> m(it -> it * 2).Bidirectional();
+        assertEquals(4, loaded.get(2));
+        assertEquals(2, loaded.getKey(4));
+    }
+    
+    @Test
+    public void testBidirectionalRePut() {
+        // a re-put key keeps its position in the map, so it is found before keys which come later
+        M<String, Integer> bidirectional = m("a", 0).i("b", 1).i("c", 1).Bidirectional();
+        bidirectional.p("a", 1);
+        assertEquals("a", bidirectional.getKey(1));
+        bidirectional.p("a", 1).p("b", 2).p("b", 1);
+        assertEquals("a", bidirectional.getKey(1));
+        bidirectional.m.entrySet().iterator().next().setValue(3);
+        assertEquals("b", bidirectional.getKey(1));
+        
+        // the same key as the scan of a plain map
+        M<Integer, Integer> expected = m();
+        M<Integer, Integer> actual = M.<Integer, Integer> m().Bidirectional();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            int key = random.nextInt(50);
+            if (random.nextInt(4) == 0) {
+                expected.m.remove(key);
+                actual.m.remove(key);
+            }
+            else {
+                int value = random.nextInt(5);
+                expected.p(key, value);
+                actual.p(key, value);
+            }
+            int value = random.nextInt(5);
+            assertEquals(expected.getKey(value), actual.getKey(value));
+        }
+    }
 }
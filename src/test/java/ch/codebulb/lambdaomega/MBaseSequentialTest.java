@@ -7,6 +7,10 @@ import static ch.codebulb.lambdaomega.M.m;
 import static ch.codebulb.lambdaomega.S.set;
 import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_MAP;
 import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import ch.codebulb.lambdaomega.M.E;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.stream.Collectors;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
@@ -20,6 +24,18 @@ public class MBaseSequentialTest {
         assertEquals(set(e("a", 0), e("b", 1), e("c", 2)), m("a", 0).i("b", 1).i("c", 2).toSet());
         
         assertEquals(m("a", 0).i("b", 1).i("c", 2).m, m("a", 0).i("b", 1).i("c", 2).toMap());
+        
+        // entries are a live view in insertion order
+        M<String, Integer> map = m("c", 2).i("a", 0).i("b", 1);
+        Set<E<String, Integer>> entries = map.toCollection();
+        assertEquals(list(e("c", 2), e("a", 0), e("b", 1)), new ArrayList<>(entries), map.stream().collect(Collectors.toList()));
+        assertTrue(entries.contains(e("a", 0)));
+        assertFalse(entries.contains(e("a", 1)));
+        map.i("d", 3);
+        assertEquals(4, entries.size());
+        entries.remove(e("c", 2));
+        assertEquals(m("a", 0).i("b", 1).i("d", 3).m, map.m);
+        assertTrue(entries == map.getEntries());
     }
     
     @Test
@@ -61,6 +61,13 @@ public class MFunctionsSequentialTest {
         assertEquals(explicitResut, expectedResult, actualResult);
     }
     
+    @Test
+    public void testLazy() {
+        L<String> lazy = m("a", 0).i("b", 1).i("c", 2).Lazy().Filter(it -> it.v > 0).Map(it -> it.k);
+        assertTrue(lazy.isLazy());
+        assertEquals(set("b", "c"), lazy.toSet());
+    }
+    
     @Test
     public void testMapEntries() {
         Map<Integer, String> explicitMap = m(0, "a").i(1, "b").i(2, "c").m;
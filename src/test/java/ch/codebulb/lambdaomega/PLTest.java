@@ -0,0 +1,118 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.PL.pl;
+import static ch.codebulb.lambdaomega.R.r;
+import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_LIST;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PLTest {
+    @Test
+    public void testCreate() {
+        assertEquals(EXPECTED_LIST, pl(0, 1, 2).l, PL.PL(list(0, 1, 2)).l, l(0, 1, 2).Persistent().l);
+        assertEquals(list(), pl().l);
+        assertEquals(pl(0, 1, 2), l(0, 1, 2).Persistent());
+        assertEquals("PL[0, 1, 2]", pl(0, 1, 2).toString());
+
+        PL<Integer> persistent = pl(0, 1, 2);
+        assertTrue(persistent == persistent.Persistent());
+        assertTrue(l(0, 1, 2).Par().Persistent().isParallel());
+    }
+
+    @Test
+    public void testVersions() {
+        PL<Integer> v1 = pl(0, 1);
+        PL<Integer> v2 = v1.a(2);
+        PL<Integer> v3 = v2.s(0, 5);
+        PL<Integer> v4 = v3.A(l(6, 7));
+        PL<Integer> v5 = v4.d(1);
+
+        assertEquals(list(0, 1), v1.l);
+        assertEquals(EXPECTED_LIST, v2.l);
+        assertEquals(list(5, 1, 2), v3.l);
+        assertEquals(list(5, 1, 2, 6, 7), v4.l);
+        assertEquals(list(5, 2, 6, 7), v5.l);
+
+        assertEquals(list(1, 2, 6), v4.Slice(1, 4).l);
+        assertEquals(list(1, 2, 6), v4.Slice(r(1).to(4)).l);
+        assertEquals(list(7, 2, 5), v4.Slice(r(0).to(5).Step(-2)).l);
+        assertEquals(list(1, 2, 3), v4.Slice(1, 3).a(3).l);
+        assertEquals(list(5, 1, 2, 6, 7), v4.l);
+
+        assertEquals(list(5, 9, 2, 6, 7), v4.S(m(1, 9)).l);
+        assertEquals(list(5, 6, 7), v4.D(r(1).to(3)).l);
+        assertEquals(list(5, 1, 2, 6), v4.r(7).l);
+        assertEquals(list(5, 1, 2, 6, 7, 4), v4.i(5, 4).l);
+        assertEquals(list(5, 1, 2, 6, 7), v4.l);
+
+        assertEquals(list(10, 2, 4, 12, 14), v4.Map(it -> it * 2).l);
+        assertEquals(list(6, 7), v4.Filter(it -> it > 5).l);
+        assertTrue(v4.Filter(it -> it > 5) instanceof PL);
+    }
+
+    @Test
+    public void testImmutable() {
+        try {
+            pl(0, 1, 2).add(3);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {}
+        try {
+            pl(0, 1, 2).l.set(0, 3);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {}
+        try {
+            pl(0, 1, 2).s(3, 3);
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex) {}
+    }
+
+    @Test
+    public void testLarge() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        PL<Integer> actual = pl();
+        List<PL<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expectedVersions = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            expected.add(i);
+            actual = actual.a(i);
+            if (i % 997 == 0) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, -i);
+                actual = actual.s(index, -i);
+                versions.add(actual);
+                expectedVersions.add(new ArrayList<>(expected));
+            }
+        }
+        assertEquals(expected, actual.l);
+        for (int i = 0; i < versions.size(); i++) {
+            assertEquals(expectedVersions.get(i), versions.get(i).l);
+        }
+
+        assertEquals(expected.subList(1_000, 35_000), actual.Slice(1_000, 35_000).l);
+        List<Integer> sliced = new ArrayList<>(expected.subList(100, 2_000));
+        sliced.addAll(expected.subList(5_000, 6_000));
+        assertEquals(sliced, actual.Slice(100, 2_000).A(actual.Slice(5_000, 6_000).l).l);
+
+        List<Integer> appended = new ArrayList<>(expected.subList(0, 1_000));
+        appended.add(-1);
+        assertEquals(appended, actual.Slice(0, 1_000).a(-1).l);
+        assertEquals(expected, actual.l);
+        
+        List<Integer> deleted = new ArrayList<>(expected);
+        deleted.subList(20_000, 30_000).clear();
+        assertEquals(deleted, actual.D(r(20_000).to(30_000)).l);
+        assertEquals(expected, actual.l);
+    }
+}
@@ -0,0 +1,129 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.M.e;
+import static ch.codebulb.lambdaomega.M.m;
+import static ch.codebulb.lambdaomega.PM.pm;
+import static ch.codebulb.lambdaomega.TestUtil.EXPECTED_MAP;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import ch.codebulb.lambdaomega.abstractions.IndexedListI.IndexAlreadyPresentException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PMTest {
+    @Test
+    public void testCreate() {
+        assertEquals(EXPECTED_MAP, pm("a", 0).i("b", 1).i("c", 2).m, pm(e("a", 0), e("b", 1), e("c", 2)).m,
+                pm(EXPECTED_MAP).m, m("a", 0).i("b", 1).i("c", 2).Persistent().m);
+        assertEquals(new HashMap<>(), pm().m);
+        assertEquals(pm("a", 0), m("a", 0).Persistent());
+        assertEquals("PM{a=0}", pm("a", 0).toString());
+
+        PM<String, Integer> persistent = pm("a", 0);
+        assertTrue(persistent == persistent.Persistent());
+    }
+
+    @Test
+    public void testVersions() {
+        PM<String, Integer> v1 = pm("a", 0);
+        PM<String, Integer> v2 = v1.i("b", 1).i("c", 2);
+        PM<String, Integer> v3 = v2.p("a", 5);
+        PM<String, Integer> v4 = v3.d("b");
+
+        assertEquals(m("a", 0).m, v1.m);
+        assertEquals(EXPECTED_MAP, v2.m);
+        assertEquals(m("a", 5).i("b", 1).i("c", 2).m, v3.m);
+        assertEquals(m("a", 5).i("c", 2).m, v4.m);
+
+        assertEquals(m("a", 0).i("c", 2).m, v2.DeleteValue(1).m);
+        assertEquals(m("a", 0).m, v2.D(l("b", "c")).m);
+        assertEquals(EXPECTED_MAP, v2.a(e("b", 1)).m);
+        assertEquals(m("a", 0).i("c", 2).m, v2.r(e("b", 1)).m);
+        assertEquals(EXPECTED_MAP, v2.m);
+
+        assertEquals(0, v2.get("a"));
+        assertTrue(v2.containsAnyKey("c"));
+        assertFalse(v4.containsAnyKey("b"));
+        assertEquals(3, v2.WithDefault(it -> 3).get("d"));
+        assertFalse(v2.containsAnyKey("d"));
+
+        try {
+            v2.i("a", 1);
+            fail();
+        }
+        catch (IndexAlreadyPresentException ex) {}
+        try {
+            v2.put("d", 3);
+            fail();
+        }
+        catch (UnsupportedOperationException ex) {}
+        assertEquals(EXPECTED_MAP, v2.m);
+    }
+
+    @Test
+    public void testTransient() {
+        PM<String, Integer> base = pm("a", 0);
+        M<String, Integer> batch = base.Transient();
+        batch.i("b", 1).i("c", 2);
+        PM<String, Integer> loaded = batch.Persistent();
+        assertEquals(EXPECTED_MAP, loaded.m);
+        assertEquals(m("a", 0).m, base.m);
+
+        // the transient map may still be modified without affecting the version returned
+        batch.d("a");
+        assertEquals(m("b", 1).i("c", 2).m, batch.m);
+        assertEquals(EXPECTED_MAP, loaded.m);
+
+        batch.m.values().remove(1);
+        assertEquals(m("c", 2).m, batch.m);
+    }
+
+    @Test
+    public void testCollisions() {
+        // "Aa" and "BB" have the same hash code
+        PM<String, Integer> collisions = pm("Aa", 0).i("BB", 1).i("C#", 2);
+        assertEquals(m("Aa", 0).i("BB", 1).i("C#", 2).m, collisions.m);
+        assertEquals(m("Aa", 0).i("C#", 2).m, collisions.d("BB").m);
+        assertEquals(m("C#", 2).m, collisions.d("BB", "Aa").m);
+        assertEquals(m("Aa", 0).i("BB", 5).i("C#", 2).m, collisions.p("BB", 5).m);
+    }
+
+    @Test
+    public void testLarge() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PM<Integer, Integer> actual = pm();
+        M<Integer, Integer> batch = actual.Transient();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(20_000) - 10_000;
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                batch.m.remove(key);
+                if (i % 100 == 0) {
+                    actual = actual.d(key);
+                    assertFalse(actual.containsAnyKey(key));
+                }
+            }
+            else {
+                expected.put(key, i);
+                batch.m.put(key, i);
+                if (i % 100 == 0) {
+                    actual = actual.p(key, i);
+                    assertEquals(i, actual.get(key));
+                }
+            }
+        }
+        assertEquals(expected, batch.m, batch.Persistent().m);
+        assertEquals(expected.size(), batch.Persistent().size());
+
+        PM<Integer, Integer> snapshot = batch.Persistent();
+        expected.keySet().forEach(it -> batch.m.remove(it));
+        assertEquals(new HashMap<>(), batch.m);
+        assertEquals(expected, snapshot.m);
+    }
+}
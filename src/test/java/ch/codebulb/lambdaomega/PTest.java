@@ -0,0 +1,148 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.P.p;
+import static ch.codebulb.lambdaomega.S.s;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class PTest {
+    @Test
+    public void testBasics() {
+        P<Integer> queue = p();
+        assertNull(queue.peek());
+        assertNull(queue.poll());
+        queue.a(5, 1, 4).Add(2, 3);
+        assertEquals(5, queue.size());
+        assertEquals(1, queue.peek());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(l(3, 4), queue.poll(2));
+        assertEquals("P[5]", queue.toString());
+        assertEquals(l(5), queue.poll(3));
+        assertTrue(queue.isEmpty());
+
+        P<String> byLength = p(String::length, it -> it);
+        byLength.a("ccc", "b", "aa", "a");
+        assertEquals(list("a", "b", "aa", "ccc"), byLength.toList());
+        assertTrue(byLength.contains("aa"));
+        assertTrue(byLength.remove("aa"));
+        assertFalse(byLength.remove("aa"));
+        assertEquals(l("a", "b", "ccc"), byLength.poll(5));
+
+        assertEquals(l(3, 2, 1), P.<Integer>p(Comparator.reverseOrder()).a(1, 3, 2).poll(3));
+        try {
+            p().a((Object) null);
+            fail();
+        }
+        catch (NullPointerException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(l(1, 2, 3), P.P(l(3, 1, 2)).toL(), P.P(s(2, 3, 1)).toL(), P.P(list(3, 2, 1)).toL(),
+                P.P(l(2, 1, 3).stream()).toL(), p().A(l(3, 2)).a(1).toL());
+        assertEquals(s(1, 2, 3), P.P(l(3, 1, 2, 1)).Indexed().toS());
+        assertEquals(list(1, 2, 3), P.P(l(3, 1, 2, 1)).Indexed().toList());
+        assertEquals(list(1, 1, 2, 3), P.P(l(3, 1, 2, 1)).toList());
+        assertEquals(6, P.P(l(3, 1, 2)).stream().mapToInt(it -> it).sum());
+        assertEquals(l(1, -2, 3), P.P(l(3, 1, -2), it -> Math.abs(it)).toL());
+    }
+
+    @Test
+    public void testHeapify() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextInt(1_000));
+        }
+        P<Integer> queue = P.P(values);
+        PriorityQueue<Integer> expected = new PriorityQueue<>(values);
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals(expected.poll(), queue.poll());
+        }
+        // adding a few elements sifts them in; adding many rebuilds the heap
+        queue.A(values.subList(0, 100));
+        expected.addAll(values.subList(0, 100));
+        queue.A(values);
+        expected.addAll(values);
+        assertEquals(expected.size(), queue.size());
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll(), queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDecreaseKey() {
+        Map<String, Integer> priorities = new HashMap<>();
+        P<String> queue = P.<String>p(priorities::get).Indexed();
+        priorities.put("a", 3);
+        priorities.put("b", 2);
+        priorities.put("c", 1);
+        queue.a("a", "b", "c");
+        assertTrue(queue.isIndexed());
+        assertEquals("c", queue.peek());
+
+        priorities.put("a", 0);
+        queue.Update("a");
+        assertEquals("a", queue.peek());
+        priorities.put("a", 5);
+        assertFalse(queue.add("a"));
+        assertEquals(3, queue.size());
+        assertEquals(list("c", "b", "a"), queue.toList());
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.contains("b"));
+        assertEquals(l("c", "a"), queue.poll(2));
+    }
+
+    @Test
+    public void testDijkstra() {
+        // a grid of nodes with random edge weights to the right and downwards
+        Random random = new Random(42);
+        int width = 30;
+        int[][] weights = new int[width * width][];
+        for (int node = 0; node < weights.length; node++) {
+            weights[node] = new int[]{1 + random.nextInt(9), 1 + random.nextInt(9)};
+        }
+
+        int[] distances = new int[weights.length];
+        Arrays.fill(distances, Integer.MAX_VALUE);
+        distances[0] = 0;
+        P<Integer> queue = P.<Integer>p(it -> distances[it]).Indexed().a(0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] neighbors = {node % width < width - 1 ? node + 1 : -1, node + width < weights.length ? node + width : -1};
+            for (int i = 0; i < 2; i++) {
+                if (neighbors[i] >= 0 && distances[node] + weights[node][i] < distances[neighbors[i]]) {
+                    distances[neighbors[i]] = distances[node] + weights[node][i];
+                    queue.Update(neighbors[i]);
+                }
+            }
+        }
+
+        // on a DAG, the shortest distances can be computed in index order as well
+        int[] expected = new int[weights.length];
+        for (int node = 1; node < weights.length; node++) {
+            int fromLeft = node % width > 0 ? expected[node - 1] + weights[node - 1][0] : Integer.MAX_VALUE;
+            int fromTop = node >= width ? expected[node - width] + weights[node - width][1] : Integer.MAX_VALUE;
+            expected[node] = Math.min(fromLeft, fromTop);
+        }
+        assertTrue(Arrays.equals(expected, distances));
+    }
+}
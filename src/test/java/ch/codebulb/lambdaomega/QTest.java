@@ -0,0 +1,244 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.L.list;
+import static ch.codebulb.lambdaomega.Q.q;
+import static ch.codebulb.lambdaomega.R.r;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class QTest {
+    @Test
+    public void testBasics() {
+        Q<Integer> queue = q(1, 2, 3);
+        assertEquals(list(1, 2, 3), queue.l);
+        assertEquals("Q[1, 2, 3]", queue.toString());
+        assertEquals(list(0, 1, 2, 3, 4), queue.a(4).AddFirst(0).l);
+        assertEquals(0, queue.peekFirst());
+        assertEquals(4, queue.peekLast());
+        assertEquals(0, queue.removeFirst());
+        assertEquals(4, queue.removeLast());
+        assertEquals(list(1, 2, 3), queue.l);
+        assertEquals(list(3, 2, 1, 2), q(2).AddFirst(1, 2, 3).l);
+
+        // the full L API, with index arithmetic on the ring
+        assertEquals(2, queue.get(1));
+        assertEquals(l(2, 4, 6), queue.Map(it -> it * 2));
+        assertEquals(list(1, 5, 3), queue.s(1, 5).l);
+        assertEquals(list(5, 3), queue.d(0).l);
+        assertEquals(list(3), queue.DeleteKey(0).l);
+        assertEquals(list(3, 7, 8), queue.A(l(7, 8)).l);
+        assertEquals(list(3, 8), queue.D(r(1).to(2)).l);
+        assertEquals(list(3, 9, 8), queue.addAt(1, 9));
+
+        Q<Integer> empty = q();
+        assertNull(empty.pollFirst());
+        assertNull(empty.pollLast());
+        assertNull(empty.peekFirst());
+        try {
+            empty.removeFirst();
+            fail();
+        }
+        catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFifo() {
+        Q<Integer> queue = q();
+        List<Integer> out = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            queue.a(i);
+            if (i % 3 == 2) {
+                out.add(queue.removeFirst());
+                out.add(queue.pollFirst());
+            }
+        }
+        assertEquals(33_334, queue.size());
+        assertEquals(66_666, out.size());
+        assertEquals(list(0, 1, 2, 3), out.subList(0, 4));
+        assertEquals(66_666, queue.peekFirst());
+        assertEquals(L.L(r(66_666).to(100_000).stream().boxed()), L.L(queue.stream()));
+        assertEquals(L.L(r(66_666).to(100_000).stream().boxed()), L.L(queue.Par().stream()));
+    }
+
+    @Test
+    public void testSpliterator() {
+        // moves the head so that the elements wrap around the end of the array
+        Q<Integer> queue = q();
+        for (int i = 0; i < 1_000; i++) {
+            queue.a(i);
+        }
+        queue.RemoveFirst(600);
+        for (int i = 1_000; i < 1_400; i++) {
+            queue.a(i);
+        }
+        List<Integer> expected = new ArrayList<>(queue.l);
+
+        Spliterator<Integer> spliterator = queue.l.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        // late-binding: sees the elements added after its creation
+        queue.a(1_400);
+        expected.add(1_400);
+        assertEquals(801L, spliterator.estimateSize());
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(400L, prefix.estimateSize());
+        assertEquals(401L, spliterator.estimateSize());
+        List<Integer> traversed = new ArrayList<>();
+        assertTrue(prefix.tryAdvance(traversed::add));
+        prefix.forEachRemaining(traversed::add);
+        spliterator.forEachRemaining(traversed::add);
+        assertFalse(spliterator.tryAdvance(traversed::add));
+        assertEquals(expected, traversed);
+        assertEquals(expected, queue.Par().stream().collect(Collectors.toList()));
+        assertEquals(600, queue.Par().stream().findFirst().get());
+
+        try {
+            queue.stream().forEach(it -> queue.removeFirst());
+            fail();
+        }
+        catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBounded() {
+        Q<Integer> buffer = q(1, 2, 3, 4).Bounded(3);
+        assertEquals(list(2, 3, 4), buffer.l);
+        assertEquals(3, buffer.capacity());
+        assertTrue(buffer.isFull());
+        assertEquals(list(4, 5, 6), buffer.a(5, 6).Bounded(4).l);
+        assertFalse(buffer.isFull());
+        assertEquals(list(4, 5, 6, 7), buffer.a(7).l);
+        assertEquals(list(0, 4, 5, 6), buffer.AddFirst(0).l);
+        assertEquals(list(9, 4, 5, 6), buffer.addAt(1, 9));
+        assertEquals(list(9), buffer.RemoveLast(3).l);
+        assertEquals(list(), buffer.RemoveFirst(5).l);
+        assertEquals(list(), q(1).Bounded(0).a(2).l);
+        assertEquals(Integer.MAX_VALUE, q().capacity());
+    }
+
+    @Test
+    public void testDeque() {
+        Q<Integer> queue = q(2, 3);
+        Deque<Integer> deque = queue.toDeque();
+        assertFalse(deque instanceof List);
+        assertTrue(deque.offerFirst(1));
+        assertTrue(deque.offer(4));
+        deque.push(0);
+        assertTrue(deque.add(5));
+        assertEquals(list(0, 1, 2, 3, 4, 5), queue.l, new ArrayList<>(deque));
+        assertEquals(6, deque.size());
+        assertEquals(0, deque.pop(), deque.poll() - 1);
+        assertEquals(2, deque.peek(), deque.element(), deque.getFirst());
+        assertEquals(5, deque.peekLast(), deque.getLast(), deque.pollLast());
+        assertEquals(list(2, 3, 4), queue.l);
+
+        deque.addAll(list(3, 2));
+        assertTrue(deque.contains(3));
+        assertTrue(deque.removeLastOccurrence(2));
+        assertTrue(deque.remove((Object) 3));
+        assertFalse(deque.removeFirstOccurrence(9));
+        assertEquals(list(2, 4, 3), queue.l);
+        List<Integer> reversed = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(reversed::add);
+        assertEquals(list(3, 4, 2), reversed);
+        assertEquals(list(2, 4, 3), deque.stream().collect(Collectors.toList()));
+        assertEquals(2, deque.remove(), deque.removeFirst() - 2);
+        assertEquals(3, deque.removeLast());
+        assertTrue(queue.isEmpty());
+        assertNull(deque.poll());
+        assertNull(deque.peek());
+        try {
+            deque.pop();
+            fail();
+        }
+        catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        Q<Integer> queue = q(Integer.class).Bounded(1_000);
+        Deque<Integer> deque = queue.toDeque();
+        List<Integer> list = queue.l;
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(8);
+            if (op < 2) {
+                deque.addLast(i);
+                expected.add(i);
+                if (expected.size() > 1_000) {
+                    expected.remove(0);
+                }
+            }
+            else if (op < 4) {
+                deque.addFirst(i);
+                expected.add(0, i);
+                if (expected.size() > 1_000) {
+                    expected.remove(expected.size() - 1);
+                }
+            }
+            else if (op < 5 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                list.add(index, i);
+                if (expected.size() == 1_000) {
+                    // adding at the head evicts the last element, any other insertion the first one
+                    expected.remove(index == 0 ? expected.size() - 1 : 0);
+                    index = Math.max(0, index - 1);
+                }
+                expected.add(index, i);
+            }
+            else if (op < 6 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            else if (op < 7) {
+                assertEquals(expected.isEmpty() ? null : expected.remove(0), deque.pollFirst());
+            }
+            else {
+                assertEquals(expected.isEmpty() ? null : expected.remove(expected.size() - 1), deque.pollLast());
+            }
+            assertEquals(expected.size(), deque.size());
+        }
+        assertEquals(expected, list);
+        assertEquals(expected, list.stream().collect(Collectors.toList()));
+
+        List<Integer> reversed = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(reversed::add);
+        assertEquals(expected.size(), reversed.size());
+        assertEquals(expected.get(0), reversed.get(reversed.size() - 1));
+
+        Iterator<Integer> it = list.iterator();
+        Iterator<Integer> expectedIt = expected.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+            if (expectedIt.next() % 2 == 0) {
+                expectedIt.remove();
+            }
+        }
+        assertEquals(expected, list);
+        list.subList(1, list.size() - 1).clear();
+        expected.subList(1, expected.size() - 1).clear();
+        assertEquals(expected, list);
+    }
+}
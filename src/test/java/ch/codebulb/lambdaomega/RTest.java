@@ -1,11 +1,15 @@
 package ch.codebulb.lambdaomega;
 
+import static ch.codebulb.lambdaomega.IntL.il;
 import static ch.codebulb.lambdaomega.L.*;
 import static ch.codebulb.lambdaomega.R.r;
 import static ch.codebulb.lambdaomega.TestUtil.*;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 public class RTest {
@@ -44,4 +48,76 @@ public class RTest {
         assertEquals(2, r(0).with(2).endExclusive, r(0).incl(2).endExclusive);
         assertEquals(2, r(0).to(3).endExclusive, r(0).excl(3).endExclusive);
     }
+    
+    @Test
+    public void testLazy() {
+        R large = r(0).to(Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE, large.size(), large.list.size());
+        assertEquals(12345, large.get(12345), large.list.get(12345));
+        assertTrue(large.contains(Integer.MAX_VALUE - 1));
+        assertFalse(large.contains(Integer.MAX_VALUE));
+        assertEquals(42, large.indexOf(42), large.list.indexOf(42));
+        assertEquals(-1, large.indexOf(-1));
+        
+        R range = r(0).to(3);
+        assertEquals(list(0, 1, 2), range.stream().boxed().collect(Collectors.toList()));
+        // can be streamed repeatedly
+        assertEquals(list(0, 1, 2), range.stream().boxed().collect(Collectors.toList()));
+        assertEquals(il(0, 1, 2), range.toIntL());
+        assertEquals(l(0, 1, 2, 3), range.toL().a(3));
+        
+        assertTrue(r(0).to(0).isEmpty());
+        assertEquals(list(), r(0).to(0).list);
+        assertEquals(list(), r(5).to(2).list);
+    }
+    
+    @Test
+    public void testStep() {
+        R even = r(0).to(10).Step(2);
+        assertEquals(list(0, 2, 4, 6, 8), even.list);
+        assertEquals(5, even.size());
+        assertEquals(8, even.endExclusive);
+        assertTrue(even.contains(4));
+        assertFalse(even.contains(5));
+        assertEquals(3, even.indexOf(6));
+        assertEquals(r(0).with(8).Step(2), even);
+        assertEquals("[0..<9] step 2", even.toString());
+        
+        assertEquals(list(9, 7, 5, 3, 1), r(0).to(10).Step(-2).list);
+        assertEquals(list(2, 1, 0), r(0).to(3).Reverse().list);
+        assertEquals(list(8, 6, 4, 2, 0), even.Reverse().list);
+        assertEquals(even, even.Reverse().Reverse());
+        assertEquals(1, r(0).to(10).Step(-2).indexOf(7));
+        
+        try {
+            r(0).to(10).Step(0);
+            fail();
+        }
+        catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+    
+    @Test
+    public void testSlice() {
+        assertEquals(r(3).to(6), r(0).to(10).Slice(3, 6));
+        assertEquals(list(4, 6), r(0).to(10).Step(2).Slice(2, 4).list);
+        assertEquals(list(7, 5), r(0).to(10).Step(-2).Slice(1, 3).list);
+        assertTrue(r(0).to(10).Slice(4, 4).isEmpty());
+        
+        try {
+            r(0).to(10).Slice(5, 11);
+            fail();
+        }
+        catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+    }
+    
+    @Test
+    public void testParallel() {
+        assertEquals(100_000L * 99_999 / 2, r(0).to(100_000).parallelStream().asLongStream().sum());
+        assertEquals(list(0, 3, 6, 9), r(0).to(10).Step(3).parallelStream().boxed().collect(Collectors.toList()));
+        assertEquals(50L, r(0).to(100).spliterator().trySplit().estimateSize());
+    }
 }
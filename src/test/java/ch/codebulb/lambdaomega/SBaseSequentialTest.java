@@ -3,6 +3,7 @@ package ch.codebulb.lambdaomega;
 import static ch.codebulb.lambdaomega.S.*;
 import static ch.codebulb.lambdaomega.TestUtil.*;
 import ch.codebulb.lambdaomega.abstractions.SequentialI;
+import java.util.Set;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
@@ -94,6 +95,44 @@ public class SBaseSequentialTest {
         assertEquals(EXPECTED_SET, s(3, 4, 5, 0, 1, 2).retainAll(set(0), set(1, 2)));
     }
     
+    @Test
+    public void testSetAlgebra() {
+        assertEquals(s(0, 1, 2, 3), s(0, 1, 2).Union(set(1, 3)), s(0, 1, 2).Union(s(3)));
+        assertEquals(s(1, 2), s(0, 1, 2).Intersect(set(1, 2, 3)), s(0, 1, 2).Intersect(L.list(2, 1, 2)));
+        assertEquals(s(0), s(0, 1, 2).Minus(set(1, 2, 3)), s(0, 1, 2).Minus(s(1, 2)));
+        assertEquals(s(0, 3), s(0, 1, 2).SymmetricDiff(set(1, 2, 3)), s(0, 1, 2).SymmetricDiff(s(1, 2, 3)));
+        
+        assertEquals(set(0, 1, 2, 3), s(0, 1, 2).union(set(1, 3)));
+        assertEquals(set(1, 2), s(0, 1, 2).intersect(s(1, 2, 3)));
+        assertEquals(set(0), s(0, 1, 2).minus(set(1, 2, 3)));
+        assertEquals(set(0, 3), s(0, 1, 2).symmetricDiff(set(1, 2, 3)));
+        assertEquals(4, s(0, 1, 2).union(set(1, 3)).size());
+        assertEquals(2, s(0, 1, 2).symmetricDiff(set(1, 2, 3)).size());
+        assertTrue(s(0, 1).intersect(set(2)).isEmpty());
+        
+        // the lowercase forms are live views
+        S<Integer> source = s(0, 1, 2);
+        Set<Integer> view = source.minus(set(1));
+        assertEquals(set(0, 2), view);
+        source.a(3);
+        assertEquals(set(0, 2, 3), view);
+        assertTrue(view.contains(3));
+        assertFalse(view.contains(1));
+        
+        // the UpperCase forms keep the mode
+        S<Integer> lazy = source.Lazy().Intersect(set(1, 2));
+        assertTrue(lazy.isLazy());
+        assertEquals(set(1, 2), lazy.s);
+        assertTrue(source.Eager().Par().Union(set(4)).isParallel());
+        
+        // big sets are combined in parallel
+        Set<Integer> big = S.set(100_000, it -> it);
+        assertEquals(50_000, s(100_000, it -> it * 2).Intersect(big).size());
+        assertEquals(50_000, s(100_000, it -> it * 2).Minus(big).size());
+        assertEquals(150_000, s(100_000, it -> it * 2).Union(big).size());
+        assertEquals(100_000, s(100_000, it -> it * 2).SymmetricDiff(big).size());
+    }
+    
     @Test
     public void testGet() {
         assertEquals(true, s("a", "b", "c").contains("a"));
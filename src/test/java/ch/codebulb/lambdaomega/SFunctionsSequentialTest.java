@@ -59,6 +59,16 @@ public class SFunctionsSequentialTest {
         assertEquals(explicitResut, expectedResult, actualResult);
     }
     
+    @Test
+    public void testLazy() {
+        S<Integer> lazy = s(0, 1, 2, 3).Lazy().Map(it -> it / 2).Filter(it -> it >= 0);
+        assertTrue(lazy.isLazy());
+        assertEquals(2, lazy.count(it -> true));
+        assertEquals(2, (int) lazy.sum(it -> 1));
+        assertEquals(s(0, 1).s, lazy.s);
+        assertEquals(s(1, 2).s, lazy.Map(it -> it + 1).s);
+    }
+    
     @Test
     public void testMapEntries() {
         Map<String, Integer> explicitMap = m().i("1", 2).i("2", 4).i("3", 6).m;
@@ -144,6 +154,8 @@ public class SFunctionsSequentialTest {
         
         assertEquals(-1, s(0, -1, 1, 2).min(it -> it));
         assertEquals(2, s(0, -1, 1, 2).max(it -> it));
+        assertEquals(list(-1, 0), s(0, -1, 1, 2).minN(2, it -> it));
+        assertEquals(l(2, 1, 0), s(0, -1, 1, 2).MaxN(3, it -> it));
         
         S<Integer> shuffleSet = s(0, 1, 2);
         List<Integer> shuffledSet = shuffleSet.shuffle();
@@ -0,0 +1,167 @@
+package ch.codebulb.lambdaomega;
+
+import static ch.codebulb.lambdaomega.L.l;
+import static ch.codebulb.lambdaomega.R.r;
+import static ch.codebulb.lambdaomega.TestUtil.assertEquals;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public class SegmentedListTest {
+    private static final int CHUNK = SegmentedList.CHUNK_SIZE;
+
+    @Test
+    public void testL() {
+        L<Integer> list = l(0, 1, 2).Segmented();
+        assertTrue(list.l instanceof SegmentedList);
+        assertEquals(l(0, 1, 2), list);
+        list.a(3).addAt(1, 5);
+        assertEquals(l(0, 5, 1, 2, 3), list);
+        assertEquals(l(2, 1), list.Filter(it -> it > 0 && it < 3).Get(1, 0));
+        assertEquals(l(0, 3), list.D(r(1).to(3)).Remove(2));
+
+        L<Integer> big = l(3 * CHUNK, i -> i).Segmented();
+        assertEquals(l(3 * CHUNK, i -> i).Par().Map(i -> i * 2), big.Par().Map(i -> i * 2));
+        assertEquals((long) 3 * CHUNK * (3 * CHUNK - 1) / 2, (long) big.Par().stream().mapToLong(i -> i).sum());
+    }
+
+    @Test
+    public void testGrowAndInsert() {
+        SegmentedList<Integer> list = new SegmentedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 3 * CHUNK + 5; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        assertEquals(4, list.chunkCount());
+        assertEquals(expected, list);
+
+        // inserting into a full chunk splits it
+        list.add(CHUNK + 7, -1);
+        expected.add(CHUNK + 7, -1);
+        assertEquals(5, list.chunkCount());
+        assertEquals(expected, list);
+        assertEquals(-1, list.get(CHUNK + 7));
+        assertEquals(3 * CHUNK + 4, list.get(list.size() - 1));
+
+        list.addAll(5, list.subList(0, 10));
+        expected.addAll(5, expected.subList(0, 10));
+        list.addAll(2 * CHUNK, new ArrayList<>(expected));
+        expected.addAll(2 * CHUNK, new ArrayList<>(expected));
+        assertEquals(expected, list);
+
+        list.subList(100, 3 * CHUNK).clear();
+        expected.subList(100, 3 * CHUNK).clear();
+        assertEquals(expected, list);
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(0, list.chunkCount());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        SegmentedList<Integer> list = new SegmentedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int op = random.nextInt(10);
+            if (op < 4 || expected.isEmpty()) {
+                list.add(i);
+                expected.add(i);
+            }
+            else if (op < 7) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, i);
+                expected.add(index, i);
+            }
+            else if (op < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), list.set(index, -i));
+            }
+        }
+        assertEquals(expected, list);
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertEquals(expected, new ArrayList<>(list));
+        assertEquals(expected, list.parallelStream().collect(Collectors.toList()));
+
+        Iterator<Integer> it = list.iterator();
+        Iterator<Integer> expectedIt = expected.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 3 == 0) {
+                it.remove();
+            }
+            if (expectedIt.next() % 3 == 0) {
+                expectedIt.remove();
+            }
+        }
+        assertEquals(expected, list);
+    }
+
+    @Test
+    public void testSharedChunks() {
+        SegmentedList<Integer> a = new SegmentedList<>(l(2 * CHUNK, i -> i).l);
+        SegmentedList<Integer> b = new SegmentedList<>(l(CHUNK + 1, i -> -i).l);
+        List<Integer> expectedA = new ArrayList<>(a);
+        List<Integer> expectedB = new ArrayList<>(b);
+
+        // b's chunks are linked, not copied
+        a.addAll(b);
+        expectedA.addAll(expectedB);
+        assertEquals(4, a.chunkCount());
+        assertEquals(expectedA, a);
+
+        // changes to either list don't leak into the other
+        a.set(2 * CHUNK, 100);
+        expectedA.set(2 * CHUNK, 100);
+        b.add(200);
+        expectedB.add(200);
+        b.remove(0);
+        expectedB.remove(0);
+        a.add(2 * CHUNK + 3, 300);
+        expectedA.add(2 * CHUNK + 3, 300);
+        a.add(400);
+        expectedA.add(400);
+        assertEquals(expectedA, a);
+        assertEquals(expectedB, b);
+
+        a.addAll(a);
+        expectedA.addAll(new ArrayList<>(expectedA));
+        a.set(0, 500);
+        expectedA.set(0, 500);
+        assertEquals(expectedA, a);
+    }
+
+    @Test
+    public void testSpliterator() {
+        SegmentedList<Integer> list = new SegmentedList<>(l(4 * CHUNK, i -> i).l);
+        Spliterator<Integer> first = list.spliterator();
+        assertEquals(4L * CHUNK, first.estimateSize());
+        Spliterator<Integer> prefix = first.trySplit();
+        assertEquals(2L * CHUNK, prefix.estimateSize(), first.estimateSize());
+        prefix.trySplit();
+        Spliterator<Integer> half = prefix.trySplit();
+        assertEquals((long) CHUNK / 2, half.estimateSize(), prefix.estimateSize());
+        half.tryAdvance(it -> assertEquals(CHUNK, it));
+
+        Iterator<Integer> it = list.iterator();
+        list.add(0);
+        try {
+            it.next();
+            fail();
+        }
+        catch (ConcurrentModificationException ex) {
+            // expected
+        }
+    }
+}